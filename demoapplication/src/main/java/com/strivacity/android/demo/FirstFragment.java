@@ -86,7 +86,7 @@ public class FirstFragment extends Fragment {
 
         nativeSDK.isAuthenticated(authenticated -> {
             if (authenticated) {
-                showProfileScreen(nativeSDK.getIdTokenClaims());
+                nativeSDK.getIdTokenClaims(this::showProfileScreen);
             } else {
                 showLoginScreen();
             }
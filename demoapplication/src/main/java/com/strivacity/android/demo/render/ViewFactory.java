@@ -15,6 +15,7 @@ import com.strivacity.android.demo.render.widgets.select.simple.DropdownWidget;
 import com.strivacity.android.demo.render.widgets.select.simple.RadioWidget;
 import com.strivacity.android.native_sdk.render.models.BrandingModel;
 import com.strivacity.android.native_sdk.render.models.WidgetModel;
+import com.strivacity.android.native_sdk.render.widgets.select.searchable.SearchableSelectWidget;
 import com.strivacity.android.native_sdk.render.widgets.select.simple.SelectWidget;
 
 public class ViewFactory extends com.strivacity.android.native_sdk.render.ViewFactory {
@@ -95,6 +96,8 @@ public class ViewFactory extends com.strivacity.android.native_sdk.render.ViewFa
                 return new RadioWidget(getContext(), selectWidgetModel);
             case "dropdown":
                 return new DropdownWidget(getContext(), selectWidgetModel);
+            case SearchableSelectWidget.RENDER_TYPE:
+                return new SearchableSelectWidget(getContext(), selectWidgetModel);
             default:
                 throw new RuntimeException();
         }
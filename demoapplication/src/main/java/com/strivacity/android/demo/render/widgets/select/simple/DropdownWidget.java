@@ -18,9 +18,11 @@ import androidx.annotation.NonNull;
 import com.strivacity.android.demo.render.constants.Colors;
 import com.strivacity.android.demo.render.constants.Dimensions;
 import com.strivacity.android.demo.render.constants.Drawables;
+import com.strivacity.android.native_sdk.render.models.OptionIndex;
 import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel;
 import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel.Option;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -43,20 +45,15 @@ public class DropdownWidget extends com.strivacity.android.native_sdk.render.wid
         dropdownGroup.setPopupBackgroundDrawable(Drawables.getSelectDropdownDrawable());
         dropdownGroup.setBackground(Drawables.focusableInputBackgroundDrawable());
 
-        List<Option> widgetOptions = widgetModel.getOptions();
-        if (!widgetModel.getOptions().isEmpty()) {
-            boolean hasGroup = widgetModel.getOptions().stream().anyMatch(option -> option.getType().equals("group"));
-            if (hasGroup) {
-                flattenedOptions = DropdownWidget.flatten(widgetOptions);
-            } else {
-                flattenedOptions = widgetModel.getOptions();
-            }
-        } else {
+        OptionIndex<Option> optionIndex = widgetModel.getOptionIndex();
+        if (optionIndex.isEmpty()) {
             throw new RuntimeException(OPTIONS_ARE_EMPTY);
         }
 
-        Option selectLabelOption = new Option("item", widgetModel.getLabel(), null, null);
-        flattenedOptions.add(0, selectLabelOption);
+        // The label is shown as the first, unselected option
+        flattenedOptions = new ArrayList<>(optionIndex.size() + 1);
+        flattenedOptions.add(new Option("item", widgetModel.getLabel(), null, null));
+        flattenedOptions.addAll(optionIndex.getOptions());
 
         ArrayAdapter<Option> adapter = new ArrayAdapter<Option>(context, 0, flattenedOptions) {
             @NonNull
@@ -125,7 +122,7 @@ public class DropdownWidget extends com.strivacity.android.native_sdk.render.wid
         };
 
         dropdownGroup.setAdapter(adapter);
-        setDefaultValue(flattenedOptions);
+        setDefaultValue(optionIndex);
 
         dropdownGroup.setOnTouchListener((v, event) -> {
             dropdownGroup.requestFocusFromTouch();
@@ -243,20 +240,9 @@ public class DropdownWidget extends com.strivacity.android.native_sdk.render.wid
         return parentLayoutView;
     }
 
-    private void setDefaultValue(List<Option> flattenedOptions) {
-        String initValue = widgetModel.getValue();
-        if (initValue == null) {
-            // Note: always have a selected item to avoid null
-            dropdownGroup.setSelection(0);
-            return;
-        }
-
-        for (int i = 0; i < flattenedOptions.size(); i++) {
-            if (Objects.equals(flattenedOptions.get(i).getValue(), initValue)) {
-                dropdownGroup.setSelection(i);
-                break;
-            }
-        }
+    private void setDefaultValue(OptionIndex<Option> optionIndex) {
+        // Note: always have a selected item to avoid null, the label is selected when there is no value
+        dropdownGroup.setSelection(optionIndex.indexOf(widgetModel.getValue()) + 1);
     }
 
     @Override
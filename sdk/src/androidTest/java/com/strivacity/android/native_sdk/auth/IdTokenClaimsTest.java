@@ -0,0 +1,70 @@
+package com.strivacity.android.native_sdk.auth;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+
+public class IdTokenClaimsTest {
+
+    private static String token(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return (
+            encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8)) +
+            "." +
+            encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) +
+            ".signature"
+        );
+    }
+
+    @Test
+    public void readsClaimsFromToken() {
+        IdTokenClaims claims = IdTokenClaims.of(
+            token(
+                "{\"sub\":\"user\",\"iss\":\"https://example.com\",\"nonce\":\"n\",\"aud\":[\"a\",\"b\"]," +
+                "\"exp\":1700000000,\"iat\":1690000000,\"auth_time\":1690000000,\"email\":\"é@example.com\"}"
+            )
+        );
+
+        Assert.assertEquals("user", claims.getSubject());
+        Assert.assertEquals("https://example.com", claims.getIssuer());
+        Assert.assertEquals("n", claims.getNonce());
+        Assert.assertEquals(Arrays.asList("a", "b"), claims.getAudience());
+        Assert.assertEquals(Instant.ofEpochSecond(1700000000), claims.getExpirationTime());
+        Assert.assertEquals("é@example.com", claims.getString("email"));
+        Assert.assertNull(claims.getString("missing"));
+    }
+
+    @Test
+    public void acceptsSingleAudience() {
+        IdTokenClaims claims = IdTokenClaims.of(token("{\"aud\":\"client\"}"));
+
+        Assert.assertEquals(Collections.singletonList("client"), claims.getAudience());
+        Assert.assertNull(claims.getAuthenticationTime());
+    }
+
+    @Test
+    public void decodesTokenWhenStoredPayloadDoesNotMatch() {
+        String idToken = token("{\"sub\":\"user\"}");
+
+        IdTokenClaims stored = IdTokenClaims.of(idToken, "{\"sub\":\"user\"}".getBytes(StandardCharsets.UTF_8));
+        IdTokenClaims tampered = IdTokenClaims.of(idToken, "{\"sub\":\"admin\"}".getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals("user", stored.getSubject());
+        Assert.assertEquals("user", tampered.getSubject());
+    }
+
+    @Test
+    public void keepsClaimsPerInstance() {
+        String idToken = token("{\"sub\":\"cached\"}");
+        IdTokenClaims claims = IdTokenClaims.of(idToken);
+
+        Assert.assertSame(claims.getJsonObject(), claims.getJsonObject());
+        Assert.assertNotSame(claims, IdTokenClaims.of(idToken));
+        Assert.assertEquals(claims, IdTokenClaims.of(new String(idToken.toCharArray())));
+    }
+}
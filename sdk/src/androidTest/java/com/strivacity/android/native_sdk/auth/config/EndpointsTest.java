@@ -0,0 +1,41 @@
+package com.strivacity.android.native_sdk.auth.config;
+
+import android.net.Uri;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EndpointsTest {
+
+    private final TenantConfiguration tenantConfiguration = new TenantConfiguration(
+        Uri.parse("https://example.strivacity.com"),
+        "client id",
+        Uri.parse("android://native/callback?x=1&y=2"),
+        Uri.parse("android://native/logout")
+    );
+
+    @Test
+    public void endpointsMatchIssuerPaths() {
+        Endpoints endpoints = tenantConfiguration.getEndpoints();
+
+        Assert.assertEquals("https://example.strivacity.com/oauth2/token", endpoints.getToken().getUrl().toString());
+        Assert.assertEquals(
+            Uri.parse("https://example.strivacity.com").buildUpon().path("/flow/api/v1/form/login").build(),
+            endpoints.form("login").getUri()
+        );
+        Assert.assertSame(endpoints.form("login"), endpoints.form("login"));
+        Assert.assertSame(endpoints, tenantConfiguration.getEndpoints());
+    }
+
+    @Test
+    public void formBodiesAreEncoded() {
+        Uri body = Uri.parse(
+            "body:///?" + tenantConfiguration.getEndpoints().authorizationCodeBody("verifier", "a+b&c")
+        );
+
+        Assert.assertEquals("authorization_code", body.getQueryParameter("grant_type"));
+        Assert.assertEquals("client id", body.getQueryParameter("client_id"));
+        Assert.assertEquals("android://native/callback?x=1&y=2", body.getQueryParameter("redirect_uri"));
+        Assert.assertEquals("a+b&c", body.getQueryParameter("code"));
+    }
+}
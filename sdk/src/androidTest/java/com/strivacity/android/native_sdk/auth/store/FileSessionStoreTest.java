@@ -0,0 +1,62 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.strivacity.android.native_sdk.auth.Session;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.time.Instant;
+
+public class FileSessionStoreTest {
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(InstrumentationRegistry.getInstrumentation().getTargetContext().getCacheDir(), "session-test");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    static Session session(String accessToken) {
+        Session session = new Session();
+        session.setAccessToken(accessToken);
+        session.setRefreshToken("refresh-" + accessToken);
+        session.setExpiration(Instant.ofEpochSecond(1700000000));
+        return session;
+    }
+
+    @Test
+    public void savedSessionIsReadBackByANewStore() {
+        FileSessionStore store = new FileSessionStore(file);
+        Assert.assertNull(store.load());
+
+        store.save(session("first"));
+        store.save(session("second"));
+        Assert.assertEquals("second", store.load().getAccessToken());
+        store.flush();
+
+        Session restored = new FileSessionStore(file).load();
+        Assert.assertEquals(session("second"), restored);
+    }
+
+    @Test
+    public void savingNullRemovesTheSession() {
+        FileSessionStore store = new FileSessionStore(file);
+        store.save(session("first"));
+        store.save(null);
+        store.flush();
+
+        Assert.assertNull(store.load());
+        Assert.assertNull(new FileSessionStore(file).load());
+    }
+}
@@ -0,0 +1,109 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import androidx.annotation.NonNull;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.strivacity.android.native_sdk.auth.FlowCheckpoint;
+import com.strivacity.android.native_sdk.auth.config.OidcParams;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.security.GeneralSecurityException;
+import java.security.KeyStoreException;
+import java.time.Instant;
+
+import javax.crypto.KeyGenerator;
+
+public class FlowCheckpointStoreTest {
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(InstrumentationRegistry.getInstrumentation().getTargetContext().getCacheDir(), "checkpoint");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    static FlowCheckpoint checkpoint(String screen) {
+        return new FlowCheckpoint(
+            FlowCheckpoint.Type.LOGIN,
+            "session-id",
+            new OidcParams("verifier", "challenge", "state", "nonce"),
+            screen,
+            Instant.ofEpochMilli(1700000000000L)
+        );
+    }
+
+    static AesGcmSessionCipher cipher() throws GeneralSecurityException {
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256);
+        return new AesGcmSessionCipher(keyGenerator.generateKey());
+    }
+
+    @Test
+    public void savedCheckpointIsReadBackByANewStore() throws Exception {
+        AesGcmSessionCipher cipher = cipher();
+
+        FlowCheckpointStore store = new FlowCheckpointStore(file, cipher);
+        Assert.assertNull(store.load());
+
+        store.save(checkpoint("{\"screen\":\"identification\"}"));
+        store.save(checkpoint("{\"screen\":\"password\"}"));
+
+        Assert.assertEquals(checkpoint("{\"screen\":\"password\"}"), new FlowCheckpointStore(file, cipher).load());
+    }
+
+    @Test
+    public void checkpointOfAnotherKeyIsDropped() throws Exception {
+        new FlowCheckpointStore(file, cipher()).save(checkpoint("{}"));
+
+        Assert.assertNull(new FlowCheckpointStore(file, cipher()).load());
+        Assert.assertFalse(file.exists());
+    }
+
+    @Test
+    public void checkpointIsDroppedWithoutKey() throws Exception {
+        AesGcmSessionCipher cipher = cipher();
+        new FlowCheckpointStore(file, cipher).save(checkpoint("{\"screen\":\"identification\"}"));
+
+        FlowCheckpointStore store = new FlowCheckpointStore(
+            file,
+            new SessionCipher() {
+                @NonNull
+                @Override
+                public byte[] encrypt(@NonNull byte[] plaintext) throws GeneralSecurityException {
+                    throw new KeyStoreException("No key");
+                }
+
+                @NonNull
+                @Override
+                public byte[] decrypt(@NonNull byte[] ciphertext) throws GeneralSecurityException {
+                    throw new KeyStoreException("No key");
+                }
+            }
+        );
+        store.save(checkpoint("{\"screen\":\"password\"}"));
+
+        Assert.assertFalse(file.exists());
+        Assert.assertNull(new FlowCheckpointStore(file, cipher).load());
+    }
+
+    @Test
+    public void savingNullRemovesTheCheckpoint() throws Exception {
+        FlowCheckpointStore store = new FlowCheckpointStore(file, cipher());
+        store.save(checkpoint("{}"));
+        store.save(null);
+
+        Assert.assertNull(store.load());
+        Assert.assertFalse(file.exists());
+    }
+}
@@ -0,0 +1,126 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import android.util.Log;
+
+import com.strivacity.android.native_sdk.auth.Session;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+public class SessionCodecTest {
+
+    private static final int ROUNDS = 2000;
+
+    static Session sessionWithIdToken() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload =
+            "{\"sub\":\"0f0b6c1e-3f1c-4a5e-9b55-7d2f4a1c8e21\",\"iss\":\"https://example.strivacity.com\"," +
+            "\"aud\":[\"client\"],\"nonce\":\"nonce\",\"exp\":1700003600,\"iat\":1700000000,\"auth_time\":1700000000," +
+            "\"email\":\"user@example.com\"}";
+
+        Session session = FileSessionStoreTest.session("access-token-" + System.nanoTime());
+        session.setExpiration(Instant.ofEpochMilli(1700000000123L));
+        session.setIdToken(
+            encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8)) +
+            "." +
+            encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) +
+            ".c2lnbmF0dXJl"
+        );
+        return session;
+    }
+
+    @Test
+    public void roundTrips() {
+        Session session = sessionWithIdToken();
+
+        for (boolean includeClaims : new boolean[] { false, true }) {
+            SessionCodec codec = new SessionCodec(includeClaims);
+            Session decoded = codec.decode(codec.encode(session));
+
+            Assert.assertEquals(session, decoded);
+            Assert.assertEquals("user@example.com", decoded.getIdTokenClaims().getString("email"));
+        }
+    }
+
+    @Test
+    public void roundTripsMissingFields() {
+        Session session = new Session();
+        session.setAccessToken("access-token");
+
+        SessionCodec codec = new SessionCodec(true);
+        Assert.assertEquals(session, codec.decode(codec.encode(session)));
+    }
+
+    @Test
+    public void readsLegacyJson() {
+        Session session = sessionWithIdToken();
+
+        Session decoded = new SessionCodec(false).decode(session.toString().getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals(session, decoded);
+    }
+
+    @Test
+    public void storesMalformedIdTokenWithoutClaims() {
+        Session session = new Session();
+        session.setAccessToken("access-token");
+        session.setIdToken("not a jwt");
+
+        SessionCodec codec = new SessionCodec(true);
+        Assert.assertEquals("not a jwt", codec.decode(codec.encode(session)).getIdToken());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void rejectsLengthsPastTheEnd() {
+        SessionCodec codec = new SessionCodec(true);
+        byte[] data = codec.encode(sessionWithIdToken());
+        // The length of the access token, right after the header
+        data[3] = 0x7f;
+
+        codec.decode(data);
+    }
+
+    @Test
+    public void benchmark() {
+        Session session = sessionWithIdToken();
+        SessionCodec binary = new SessionCodec(false);
+        SessionCodec binaryWithClaims = new SessionCodec(true);
+
+        report("json", session, s -> s.toString().getBytes(StandardCharsets.UTF_8), binary::decode);
+        report("binary", session, binary::encode, binary::decode);
+        // The stored claims are checked against the token when they are read, this row shows what storing them costs
+        report("binary+checked claims", session, binaryWithClaims::encode, binaryWithClaims::decode);
+    }
+
+    private static void report(
+        String name,
+        Session session,
+        Function<Session, byte[]> encode,
+        Function<byte[], Session> decode
+    ) {
+        byte[] data = encode.apply(session);
+
+        long encodeStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            data = encode.apply(session);
+        }
+        long encodeNanos = (System.nanoTime() - encodeStart) / ROUNDS;
+
+        long decodeStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            // Reading a claim forces the ID token to be decoded when the payload was not stored
+            decode.apply(data).getIdTokenClaims().getSubject();
+        }
+        long decodeNanos = (System.nanoTime() - decodeStart) / ROUNDS;
+
+        Log.i(
+            "SessionCodecTest",
+            String.format("%s: %d bytes, encode %d ns, decode %d ns", name, data.length, encodeNanos, decodeNanos)
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.strivacity.android.native_sdk.auth.Session;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+/**
+ * Compares how long restoring a session takes from the plain {@link SharedPreferencesSessionStore} and from an
+ * {@link EncryptedSessionStore} backed by the Android Keystore. Cold reads resolve the Keystore key first, warm reads
+ * reuse the cipher (and its key) with a fresh store, so the file is read and decrypted again.
+ */
+public class SessionStoreBenchmark {
+
+    private static final String TAG = "SessionStoreBenchmark";
+    private static final int ROUNDS = 50;
+    private static final String KEY_ALIAS = "native_sdk_benchmark";
+
+    private Context context;
+    private File file;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        file = new File(context.getCacheDir(), "session-benchmark");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+        context.getSharedPreferences(TAG, Context.MODE_PRIVATE).edit().clear().commit();
+    }
+
+    @Test
+    public void readLatency() {
+        Session session = FileSessionStoreTest.session("access-token");
+
+        SharedPreferences sharedPreferences = context.getSharedPreferences(TAG, Context.MODE_PRIVATE);
+        new SharedPreferencesSessionStore(sharedPreferences, TAG).save(session);
+        long plain = averageNanos(() -> new SharedPreferencesSessionStore(sharedPreferences, TAG).load(), session);
+
+        EncryptedSessionStore writer = EncryptedSessionStore.withAndroidKeyStore(file, KEY_ALIAS);
+        writer.save(session);
+        writer.flush();
+
+        long cold = averageNanos(() -> EncryptedSessionStore.withAndroidKeyStore(file, KEY_ALIAS).load(), session);
+
+        AesGcmSessionCipher cipher = AesGcmSessionCipher.androidKeyStore(KEY_ALIAS);
+        new EncryptedSessionStore(file, cipher).load();
+        long warm = averageNanos(() -> new EncryptedSessionStore(file, cipher).load(), session);
+
+        Log.i(
+            TAG,
+            String.format("plain %d µs, encrypted cold %d µs, warm %d µs", plain / 1000, cold / 1000, warm / 1000)
+        );
+    }
+
+    private static long averageNanos(Supplier<Session> load, Session expected) {
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            Session loaded = load.get();
+            total += System.nanoTime() - start;
+
+            Assert.assertEquals(expected, loaded);
+        }
+
+        return total / ROUNDS;
+    }
+}
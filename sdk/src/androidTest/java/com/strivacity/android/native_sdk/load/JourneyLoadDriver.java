@@ -0,0 +1,255 @@
+package com.strivacity.android.native_sdk.load;
+
+import android.net.Uri;
+import android.os.Debug;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.NativeSDK;
+import com.strivacity.android.native_sdk.auth.Flow;
+import com.strivacity.android.native_sdk.auth.config.LoginParameters;
+import com.strivacity.android.native_sdk.auth.config.TenantConfiguration;
+import com.strivacity.android.native_sdk.render.models.BrandingModel;
+import com.strivacity.android.native_sdk.render.models.FormModel;
+import com.strivacity.android.native_sdk.render.models.LayoutModel;
+import com.strivacity.android.native_sdk.util.HttpClient;
+import com.strivacity.android.native_sdk.util.JSON;
+import com.strivacity.android.native_sdk.util.Logging;
+
+import org.json.JSONObject;
+
+import java.net.CookieManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Headless driver that runs complete login journeys (session start, every screen, every submit) on many threads and
+ * measures the cost of the SDK's HTTP, parsing and model layers. No views are built.
+ */
+public class JourneyLoadDriver {
+
+    /**
+     * Form values with multi-byte characters, so request bodies are longer in bytes than in characters
+     */
+    private static final String FORM_BODY = "{\"identifier\":\"\u00e9l\u00e9onore@example.org\"}";
+
+    private final TenantConfiguration tenantConfiguration;
+    private final Logging logging = new SilentLogging();
+    private final HttpClient httpClient;
+    private final LoginParameters loginParameters;
+
+    public JourneyLoadDriver(@NonNull String issuer) {
+        this.tenantConfiguration =
+            new TenantConfiguration(
+                Uri.parse(issuer),
+                "load-test",
+                Uri.parse("android://native-flow"),
+                Uri.parse("android://native-flow")
+            );
+        this.httpClient = new HttpClient(logging);
+        this.loginParameters = LoginParameters.builder().scopes(Arrays.asList("openid", "profile")).build();
+    }
+
+    @NonNull
+    public Report run(int threads, int journeys) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            long allocatedBefore = bytesAllocated();
+            long startedAt = System.nanoTime();
+
+            List<Future<Long>> results = new ArrayList<>(journeys);
+            for (int i = 0; i < journeys; i++) {
+                results.add(executor.submit(this::runJourney));
+            }
+
+            long[] latencies = new long[journeys];
+            int failures = 0;
+            for (int i = 0; i < journeys; i++) {
+                try {
+                    latencies[i] = results.get(i).get();
+                } catch (Exception e) {
+                    latencies[i] = -1;
+                    failures++;
+                }
+            }
+
+            long elapsedNanos = System.nanoTime() - startedAt;
+            long allocatedAfter = bytesAllocated();
+
+            long[] succeeded = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+            int completed = succeeded.length;
+
+            return new Report(
+                threads,
+                journeys,
+                failures,
+                completed / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)),
+                percentile(succeeded, 0.50),
+                percentile(succeeded, 0.99),
+                allocatedBefore < 0 || completed == 0 ? -1 : (allocatedAfter - allocatedBefore) / completed
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs one journey and returns its latency in nanoseconds.
+     */
+    private long runJourney() {
+        long startedAt = System.nanoTime();
+        Flow flow = new Flow(tenantConfiguration, new CookieManager(), logging, httpClient, NativeSDK.SdkMode.Android);
+
+        if (flow.startSession(loginParameters) != null) {
+            throw new IllegalStateException("Journey finished without showing a screen");
+        }
+
+        HttpClient.HttpResponse response = flow.initForm();
+        while (true) {
+            Screen screen = parseScreen(response);
+            if (screen.finalizeUrl != null) {
+                return System.nanoTime() - startedAt;
+            }
+
+            response = flow.submitForm(screen.forms.get(0).getId(), FORM_BODY);
+        }
+    }
+
+    /**
+     * Mirrors the model building steps of {@link com.strivacity.android.native_sdk.render.ScreenRenderer}.
+     */
+    private static Screen parseScreen(HttpClient.HttpResponse response) {
+        if (response.getResponseCode() != 200) {
+            throw new IllegalStateException("Unexpected status code " + response.getResponseCode());
+        }
+
+        try {
+            JSON json = new JSON(new JSONObject(response.getBody()));
+            Screen screen = new Screen();
+            if (!json.isNull("finalizeUrl")) {
+                screen.finalizeUrl = json.string("finalizeUrl");
+                return screen;
+            }
+
+            if (!json.isNull("branding")) {
+                screen.branding = new BrandingModel(json.object("branding"));
+            }
+            screen.layout = new LayoutModel.SingleLayoutModel(json.object("layout"));
+            screen.forms = json.list("forms").stream().map(FormModel::new).collect(Collectors.toList());
+            return screen;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static long percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return -1;
+        }
+
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, index)]);
+    }
+
+    private static long bytesAllocated() {
+        String value = Debug.getRuntimeStat("art.gc.bytes-allocated");
+        try {
+            return value == null ? -1 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static class Screen {
+
+        @Nullable
+        String finalizeUrl;
+
+        @Nullable
+        BrandingModel branding;
+
+        LayoutModel.SingleLayoutModel layout;
+        List<FormModel> forms;
+    }
+
+    public static class Report {
+
+        public final int threads;
+        public final int journeys;
+        public final int failures;
+        public final double throughputPerSecond;
+        public final long p50Millis;
+        public final long p99Millis;
+        public final long bytesAllocatedPerJourney;
+
+        Report(
+            int threads,
+            int journeys,
+            int failures,
+            double throughputPerSecond,
+            long p50Millis,
+            long p99Millis,
+            long bytesAllocatedPerJourney
+        ) {
+            this.threads = threads;
+            this.journeys = journeys;
+            this.failures = failures;
+            this.throughputPerSecond = throughputPerSecond;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.bytesAllocatedPerJourney = bytesAllocatedPerJourney;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(
+                Locale.ROOT,
+                "threads=%d journeys=%d failures=%d throughput=%.1f/s p50=%dms p99=%dms allocated=%d bytes/journey",
+                threads,
+                journeys,
+                failures,
+                throughputPerSecond,
+                p50Millis,
+                p99Millis,
+                bytesAllocatedPerJourney
+            );
+        }
+    }
+
+    private static class SilentLogging implements Logging {
+
+        @Override
+        public void debug(@NonNull String body) {}
+
+        @Override
+        public void debug(@NonNull String body, @Nullable Throwable exception) {}
+
+        @Override
+        public void info(@NonNull String body) {}
+
+        @Override
+        public void info(@NonNull String body, @Nullable Throwable exception) {}
+
+        @Override
+        public void warn(@NonNull String body) {}
+
+        @Override
+        public void warn(@NonNull String body, @Nullable Throwable exception) {}
+
+        @Override
+        public void error(@NonNull String body) {}
+
+        @Override
+        public void error(@NonNull String body, @Nullable Throwable exception) {}
+    }
+}
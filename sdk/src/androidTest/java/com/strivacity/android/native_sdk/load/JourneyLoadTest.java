@@ -0,0 +1,31 @@
+package com.strivacity.android.native_sdk.load;
+
+import android.util.Log;
+
+import com.strivacity.android.native_sdk.utils.MockJourneyServer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JourneyLoadTest {
+
+    private static final int JOURNEYS = 400;
+
+    @Test
+    public void concurrentJourneysAgainstMockServer() throws Exception {
+        try (MockJourneyServer server = new MockJourneyServer(16)) {
+            JourneyLoadDriver driver = new JourneyLoadDriver(server.getIssuer());
+
+            // Warm up class loading and the connection path before measuring
+            driver.run(2, 20);
+
+            for (int threads : new int[] { 1, 4, 16 }) {
+                JourneyLoadDriver.Report report = driver.run(threads, JOURNEYS);
+                Log.i("JourneyLoadTest", report.toString());
+
+                // A failure means a flow saw another flow's cookies or the pipeline broke under concurrency
+                Assert.assertEquals(0, report.failures);
+            }
+        }
+    }
+}
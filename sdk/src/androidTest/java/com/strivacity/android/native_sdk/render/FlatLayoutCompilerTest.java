@@ -0,0 +1,111 @@
+package com.strivacity.android.native_sdk.render;
+
+import android.content.Context;
+import android.util.Log;
+import android.view.View;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.strivacity.android.native_sdk.render.layout.LayoutMetrics;
+import com.strivacity.android.native_sdk.render.models.BrandingModel;
+import com.strivacity.android.native_sdk.render.models.FormModel;
+import com.strivacity.android.native_sdk.render.models.LayoutModel;
+import com.strivacity.android.native_sdk.render.widgets.LayoutWidget;
+import com.strivacity.android.native_sdk.util.JSON;
+import com.strivacity.android.native_sdk.utils.LoadJsonFromResource;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RunWith(AndroidJUnit4.class)
+public class FlatLayoutCompilerTest {
+
+    private static final int WIDTH = 1080;
+
+    @Test
+    public void flatLayoutIsShallowerAndMeasuredLess() throws Exception {
+        JSON json = LoadJsonFromResource.loadJsonFromResource("mocks/journeys/IdentificationScreenMock.json");
+
+        LayoutMetrics nested = measure(json, false);
+        LayoutMetrics flat = measure(json, true);
+        Log.i("FlatLayoutCompilerTest", "nested: " + nested + ", flat: " + flat);
+
+        Assert.assertTrue(flat.getDepth() < nested.getDepth());
+        Assert.assertTrue(flat.getMeasurePasses() <= nested.getMeasurePasses());
+    }
+
+    @Test
+    public void flatLayoutKeepsEveryWidget() throws Exception {
+        JSON json = LoadJsonFromResource.loadJsonFromResource("mocks/journeys/IdentificationScreenMock.json");
+
+        AtomicReference<Integer> nestedCount = new AtomicReference<>();
+        AtomicReference<Integer> flatCount = new AtomicReference<>();
+        InstrumentationRegistry
+            .getInstrumentation()
+            .runOnMainSync(() -> {
+                nestedCount.set(build(json, false).getItems().size());
+                flatCount.set(build(json, true).getItems().size());
+            });
+
+        // The nested layout lists its direct items, the flat one every widget of the tree
+        Assert.assertTrue(flatCount.get() >= nestedCount.get());
+    }
+
+    @Test
+    public void horizontalRowKeepsTheWidthOfItsViews() throws Exception {
+        JSON json = LoadJsonFromResource.loadJsonFromResource("mocks/journeys/IdentificationScreenMock.json");
+
+        AtomicReference<int[]> widths = new AtomicReference<>();
+        InstrumentationRegistry
+            .getInstrumentation()
+            .runOnMainSync(() -> {
+                LayoutWidget layoutWidget = build(json, true);
+                LayoutMetrics.measure(layoutWidget.getView(), WIDTH);
+
+                // The row holds the remember me checkbox, filling its parent, and the submit button without params
+                View checkbox = layoutWidget.getItems().get(2).getView();
+                View button = layoutWidget.getItems().get(3).getView();
+                int checkboxWidth = checkbox.getMeasuredWidth();
+                int buttonWidth = button.getMeasuredWidth();
+
+                button.measure(View.MeasureSpec.UNSPECIFIED, View.MeasureSpec.UNSPECIFIED);
+                widths.set(new int[] { checkboxWidth, buttonWidth, button.getMeasuredWidth() });
+            });
+
+        // The button wraps its label instead of taking half of the row, the checkbox fills the rest
+        Assert.assertEquals(widths.get()[2], widths.get()[1]);
+        Assert.assertEquals(WIDTH - widths.get()[1], widths.get()[0]);
+    }
+
+    private static LayoutMetrics measure(JSON json, boolean flatLayout) {
+        AtomicReference<LayoutMetrics> metrics = new AtomicReference<>();
+        InstrumentationRegistry
+            .getInstrumentation()
+            .runOnMainSync(() -> metrics.set(LayoutMetrics.measure(build(json, flatLayout).getView(), WIDTH)));
+        return metrics.get();
+    }
+
+    private static LayoutWidget build(JSON json, boolean flatLayout) {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        ViewFactory viewFactory = new ViewFactory(context);
+        viewFactory.setFlatLayout(flatLayout);
+
+        BrandingModel brandingModel = new BrandingModel(json.object("branding"));
+        String screenId = json.string("screen");
+        Map<String, Form> forms = json
+            .list("forms")
+            .stream()
+            .map(FormModel::new)
+            .map(formModel -> new Form(formModel, viewFactory, brandingModel, screenId))
+            .collect(Collectors.toMap(Form::getId, Function.identity()));
+
+        return viewFactory.layoutWidget(forms, brandingModel, new LayoutModel.SingleLayoutModel(json.object("layout")));
+    }
+}
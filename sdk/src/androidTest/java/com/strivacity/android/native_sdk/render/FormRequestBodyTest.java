@@ -0,0 +1,121 @@
+package com.strivacity.android.native_sdk.render;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.strivacity.android.native_sdk.render.models.BrandingModel;
+import com.strivacity.android.native_sdk.render.models.FormModel;
+import com.strivacity.android.native_sdk.util.JSON;
+import com.strivacity.android.native_sdk.utils.LoadJsonFromResource;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
+
+@RunWith(AndroidJUnit4.class)
+public class FormRequestBodyTest {
+
+    @Test
+    public void streamedBodyMatchesJsonTree() throws Exception {
+        JSON json = LoadJsonFromResource.loadJsonFromResource("mocks/journeys/IdentificationScreenMock.json");
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        InstrumentationRegistry
+            .getInstrumentation()
+            .runOnMainSync(() -> {
+                ViewFactory viewFactory = new ViewFactory(context);
+                BrandingModel brandingModel = new BrandingModel(json.object("branding"));
+
+                for (JSON formJson : json.list("forms")) {
+                    Form form = new Form(new FormModel(formJson), viewFactory, brandingModel, json.string("screen"));
+
+                    try {
+                        StringWriter writer = new StringWriter();
+                        form.writeRequestBody(writer);
+                        assertSameJson(form.requestBody(), new JSONObject(writer.toString()));
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+    }
+
+    @Test
+    public void writesDoNotShareState() throws Exception {
+        JSON json = LoadJsonFromResource.loadJsonFromResource("mocks/journeys/IdentificationScreenMock.json");
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        InstrumentationRegistry
+            .getInstrumentation()
+            .runOnMainSync(() -> {
+                ViewFactory viewFactory = new ViewFactory(context);
+                BrandingModel brandingModel = new BrandingModel(json.object("branding"));
+                JSON formJson = json.list("forms").get(0);
+                Form form = new Form(new FormModel(formJson), viewFactory, brandingModel, json.string("screen"));
+
+                try {
+                    StringWriter expected = new StringWriter();
+                    form.writeRequestBody(expected);
+
+                    // A second write starting while the first one is writing must not change what the first writes
+                    StringWriter inner = new StringWriter();
+                    StringWriter outer = new StringWriter() {
+                        boolean started;
+
+                        @Override
+                        public void write(String str) {
+                            if (!started) {
+                                started = true;
+                                try {
+                                    form.writeRequestBody(inner);
+                                } catch (IOException e) {
+                                    throw new RuntimeException(e);
+                                }
+                            }
+                            super.write(str);
+                        }
+                    };
+                    form.writeRequestBody(outer);
+
+                    Assert.assertEquals(expected.toString(), outer.toString());
+                    Assert.assertEquals(expected.toString(), inner.toString());
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+    }
+
+    private static void assertSameJson(Object expected, Object actual) throws Exception {
+        if (expected instanceof JSONObject) {
+            Assert.assertTrue(actual instanceof JSONObject);
+            JSONObject expectedObject = (JSONObject) expected;
+            JSONObject actualObject = (JSONObject) actual;
+            Assert.assertEquals(expectedObject.length(), actualObject.length());
+
+            Iterator<String> keys = expectedObject.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                assertSameJson(expectedObject.get(key), actualObject.get(key));
+            }
+        } else if (expected instanceof JSONArray) {
+            Assert.assertTrue(actual instanceof JSONArray);
+            JSONArray expectedArray = (JSONArray) expected;
+            JSONArray actualArray = (JSONArray) actual;
+            Assert.assertEquals(expectedArray.length(), actualArray.length());
+
+            for (int i = 0; i < expectedArray.length(); i++) {
+                assertSameJson(expectedArray.get(i), actualArray.get(i));
+            }
+        } else {
+            Assert.assertEquals(expected, actual);
+        }
+    }
+}
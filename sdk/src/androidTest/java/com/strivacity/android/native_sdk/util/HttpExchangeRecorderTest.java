@@ -0,0 +1,238 @@
+package com.strivacity.android.native_sdk.util;
+
+import android.content.Context;
+import android.net.Uri;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.strivacity.android.native_sdk.NativeSDK;
+import com.strivacity.android.native_sdk.auth.IdTokenClaims;
+import com.strivacity.android.native_sdk.auth.config.LoginParameters;
+import com.strivacity.android.native_sdk.auth.config.TenantConfiguration;
+import com.strivacity.android.native_sdk.headless.HeadlessFlow;
+import com.strivacity.android.native_sdk.render.ViewFactory;
+import com.strivacity.android.native_sdk.utils.LoadJsonFromResource;
+
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.CookieManager;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class HttpExchangeRecorderTest {
+
+    @Test
+    public void redactsSecretsAndRoundTrips() throws Exception {
+        HttpExchangeRecorder recorder = new HttpExchangeRecorder();
+
+        HttpClient.HttpResponse redirect = response(
+            302,
+            "android://native-flow?code=secret-code&state=secret-state",
+            Map.of("Location", List.of("android://native-flow?code=secret-code&state=secret-state"))
+        );
+        recorder.record(
+            "GET",
+            Uri.parse("https://example.org/oauth2/auth?client_id=client&code_challenge=secret-challenge"),
+            null,
+            redirect,
+            5_000_000
+        );
+
+        HttpClient.HttpResponse tokens = response(
+            200,
+            "{\"access_token\":\"secret-access\",\"expires_in\":3600}",
+            Map.of("Set-Cookie", List.of("session=secret-cookie"))
+        );
+        recorder.record(
+            "POST",
+            Uri.parse("https://example.org/flow/api/v1/form/identifier"),
+            "{\"identifier\":\"user@example.org\",\"remember\":true}",
+            tokens,
+            12_000_000
+        );
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        recorder.writeTo(outputStream);
+        String recording = outputStream.toString("UTF-8");
+
+        Assert.assertFalse(recording.contains("secret"));
+        Assert.assertFalse(recording.contains("user@example.org"));
+
+        List<HttpExchangeRecorder.Exchange> exchanges = HttpExchangeRecorder.readFrom(
+            new ByteArrayInputStream(outputStream.toByteArray())
+        );
+        Assert.assertEquals(2, exchanges.size());
+        Assert.assertEquals("GET", exchanges.get(0).getMethod());
+        Assert.assertEquals(302, exchanges.get(0).getResponseCode());
+        Assert.assertEquals(5, exchanges.get(0).getDurationMillis());
+        Assert.assertEquals("client", Uri.parse(exchanges.get(0).getUrl()).getQueryParameter("client_id"));
+        Assert.assertEquals(
+            HttpExchangeRecorder.REDACTED,
+            Uri.parse(exchanges.get(0).getHeaders().get("location").get(0)).getQueryParameter("code")
+        );
+
+        JSONObject requestBody = new JSONObject(exchanges.get(1).getRequestBody());
+        Assert.assertEquals(HttpExchangeRecorder.REDACTED, requestBody.getString("identifier"));
+        Assert.assertEquals(3600, new JSONObject(exchanges.get(1).getResponseBody()).getInt("expires_in"));
+    }
+
+    @Test
+    public void replayServesExchangesInOrder() throws Exception {
+        HttpExchangeRecorder recorder = new HttpExchangeRecorder();
+        recorder.record(
+            "POST",
+            Uri.parse("https://example.org/flow/api/v1/init"),
+            null,
+            response(200, "{\"screen\":\"identification\"}", Map.of()),
+            1_000_000
+        );
+
+        HttpReplayClient replayClient = new HttpReplayClient(
+            new Logging.DefaultLogging(),
+            recorder.getExchanges(),
+            0
+        );
+
+        HttpClient.HttpResponse response = replayClient.post(
+            Uri.parse("https://example.org/flow/api/v1/init"),
+            new CookieManager(),
+            httpRequest -> {}
+        );
+        Assert.assertEquals(200, response.getResponseCode());
+        Assert.assertEquals("identification", new JSONObject(response.getBody()).getString("screen"));
+        Assert.assertTrue(replayClient.isFinished());
+    }
+
+    @Test
+    public void replaysRecordedLoginToTheEnd() throws Exception {
+        // The journey is recorded with other OIDC parameters than the ones of the replaying flow
+        String idToken = HttpExchangeRecorder.unsignedToken(
+            new JSONObject()
+                .put("iss", "https://example.org")
+                .put("sub", "secret-subject")
+                .put("nonce", "secret-nonce")
+                .put("exp", 1900000000L)
+        );
+
+        HttpExchangeRecorder recorder = new HttpExchangeRecorder();
+        recorder.record(
+            "GET",
+            Uri.parse("https://example.org/oauth2/auth?client_id=client&state=secret-state&nonce=secret-nonce"),
+            null,
+            response(200, "android://native-flow?session_id=secret-session", Map.of()),
+            0
+        );
+        recorder.record(
+            "POST",
+            Uri.parse("https://example.org/flow/api/v1/init"),
+            null,
+            response(
+                200,
+                LoadJsonFromResource.loadStringFromResource("mocks/journeys/IdentificationScreenMock.json"),
+                Map.of()
+            ),
+            0
+        );
+        recorder.record(
+            "POST",
+            Uri.parse("https://example.org/flow/api/v1/form/identifier"),
+            "{\"identifier\":\"user@example.org\"}",
+            response(200, "{\"finalizeUrl\":\"https://example.org/finalize\"}", Map.of()),
+            0
+        );
+        recorder.record(
+            "GET",
+            Uri.parse("https://example.org/finalize"),
+            null,
+            response(200, "android://native-flow?code=secret-code&state=secret-state", Map.of()),
+            0
+        );
+        recorder.record(
+            "POST",
+            Uri.parse("https://example.org/oauth2/token"),
+            "grant_type=authorization_code&code=secret-code&code_verifier=secret-verifier",
+            response(
+                200,
+                new JSONObject()
+                    .put("access_token", "secret-access")
+                    .put("id_token", idToken)
+                    .put("expires_in", 3600)
+                    .toString(),
+                Map.of()
+            ),
+            0
+        );
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        recorder.writeTo(outputStream);
+        Assert.assertFalse(outputStream.toString("UTF-8").contains("secret"));
+
+        HttpReplayClient replayClient = new HttpReplayClient(
+            new Logging.DefaultLogging(),
+            HttpExchangeRecorder.readFrom(new ByteArrayInputStream(outputStream.toByteArray())),
+            0
+        );
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        NativeSDK nativeSDK = NativeSDK.withSessionStore(
+            new TenantConfiguration(
+                Uri.parse("https://example.org"),
+                "client",
+                Uri.parse("android://native-flow"),
+                Uri.parse("android://native-flow")
+            ),
+            new ViewFactory(context),
+            new CookieManager(),
+            null,
+            new Logging.DefaultLogging(),
+            replayClient,
+            NativeSDK.SdkMode.Android
+        );
+
+        CompletableFuture<IdTokenClaims> loggedIn = new CompletableFuture<>();
+        AtomicReference<HeadlessFlow> flow = new AtomicReference<>();
+        InstrumentationRegistry
+            .getInstrumentation()
+            .runOnMainSync(() ->
+                flow.set(
+                    nativeSDK.loginHeadless(
+                        LoginParameters.builder().scopes(Arrays.asList("openid", "profile")).build(),
+                        screen ->
+                            flow.get().submit("identifier", Collections.singletonMap("identifier", "user@example.org")),
+                        loggedIn::complete,
+                        loggedIn::completeExceptionally
+                    )
+                )
+            );
+
+        // Passing the state and nonce checks of completeLogin needs the live values in place of the redacted ones
+        IdTokenClaims claims = loggedIn.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(HttpExchangeRecorder.REDACTED, claims.getSubject());
+        Assert.assertEquals("https://example.org", claims.getIssuer());
+        Assert.assertEquals(HttpExchangeRecorder.REDACTED, nativeSDK.getAccessToken());
+        Assert.assertTrue(replayClient.isFinished());
+
+        CompletableFuture<IdTokenClaims> restoredClaims = new CompletableFuture<>();
+        nativeSDK.getIdTokenClaims(restoredClaims::complete);
+        Assert.assertEquals(claims, restoredClaims.get(10, TimeUnit.SECONDS));
+    }
+
+    private static HttpClient.HttpResponse response(int status, String body, Map<String, List<String>> headers) {
+        HttpClient.HttpResponse response = new HttpClient.HttpResponse();
+        response.setResponseCode(status);
+        response.setBody(body);
+        Map<String, List<String>> caseInsensitiveHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        caseInsensitiveHeaders.putAll(headers);
+        response.setHeaders(caseInsensitiveHeaders);
+        return response;
+    }
+}
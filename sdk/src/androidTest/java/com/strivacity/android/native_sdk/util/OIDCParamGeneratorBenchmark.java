@@ -0,0 +1,83 @@
+package com.strivacity.android.native_sdk.util;
+
+import android.util.Log;
+
+import com.strivacity.android.native_sdk.auth.config.OidcParams;
+import com.strivacity.android.native_sdk.auth.config.OidcParamsPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.Callable;
+
+/**
+ * Compares how long generating the parameters of a login takes: with a new {@link SecureRandom} and
+ * {@link MessageDigest} per call, with the shared ones of {@link OIDCParamGenerator}, and taken from an
+ * {@link OidcParamsPool} that was filled ahead of time.
+ */
+public class OIDCParamGeneratorBenchmark {
+
+    private static final String TAG = "OIDCParamGeneratorBenchmark";
+    private static final int ROUNDS = 200;
+
+    @Test
+    public void generationLatency() throws Exception {
+        long fresh = averageNanos(OIDCParamGeneratorBenchmark::freshInstances);
+        long shared = averageNanos(OidcParams::new);
+
+        OidcParamsPool pool = new OidcParamsPool(ROUNDS);
+        pool.fill();
+        long pooled = averageNanos(pool::take);
+
+        Log.i(
+            TAG,
+            String.format(
+                "fresh instances %d µs, shared %d µs, pooled %d µs",
+                fresh / 1000,
+                shared / 1000,
+                pooled / 1000
+            )
+        );
+    }
+
+    private static OidcParams freshInstances() throws NoSuchAlgorithmException {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+        byte[] verifier = new byte[32];
+        new SecureRandom().nextBytes(verifier);
+        String codeVerifier = encoder.encodeToString(verifier);
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        String codeChallenge = encoder.encodeToString(digest.digest(codeVerifier.getBytes(StandardCharsets.US_ASCII)));
+
+        byte[] state = new byte[16];
+        new SecureRandom().nextBytes(state);
+        byte[] nonce = new byte[16];
+        new SecureRandom().nextBytes(nonce);
+
+        return new OidcParams(
+            codeVerifier,
+            codeChallenge,
+            encoder.encodeToString(state),
+            encoder.encodeToString(nonce)
+        );
+    }
+
+    private static long averageNanos(Callable<OidcParams> generate) throws Exception {
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            OidcParams params = generate.call();
+            total += System.nanoTime() - start;
+
+            Assert.assertEquals(43, params.getCodeVerifier().length());
+        }
+
+        return total / ROUNDS;
+    }
+}
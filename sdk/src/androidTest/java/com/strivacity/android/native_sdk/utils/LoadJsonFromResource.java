@@ -5,6 +5,7 @@ import com.strivacity.android.native_sdk.util.JSON;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -16,16 +17,22 @@ public class LoadJsonFromResource {
         widgetModel = new MultiSelectWidgetModel(json);
     */
     public static JSON loadJsonFromResource(String filePath) throws IOException, JSONException {
+        return new JSON(new JSONObject(loadStringFromResource(filePath)));
+    }
+
+    public static String loadStringFromResource(String filePath) throws IOException {
         InputStream inputStream = LoadJsonFromResource.class.getClassLoader().getResourceAsStream(filePath);
 
         // Read the input stream
-        byte[] buffer = new byte[inputStream.available()];
-        inputStream.read(buffer);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int read;
+        while ((read = inputStream.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
         inputStream.close();
 
-        // Convert the file content to a JSON string
-        String jsonString = new String(buffer, StandardCharsets.UTF_8);
-
-        return new JSON(new JSONObject(jsonString));
+        // Convert the file content to a string
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
     }
 }
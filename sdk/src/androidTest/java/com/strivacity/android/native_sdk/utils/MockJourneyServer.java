@@ -0,0 +1,210 @@
+package com.strivacity.android.native_sdk.utils;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal loopback HTTP server that answers the Journey Flow endpoints with canned screens.
+ * <p>
+ * The journey is identification -> password -> finalize. Every session gets its own cookie, which has to be sent back
+ * on each form submit, so cookies leaking between concurrent flows surface as failed journeys.
+ */
+public class MockJourneyServer implements Closeable {
+
+    private static final String JOURNEY_COOKIE = "journey";
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers;
+    private final AtomicInteger sessionCounter = new AtomicInteger();
+    private final String identificationScreen;
+    private final String passwordScreen;
+
+    public MockJourneyServer(int threads) throws IOException {
+        identificationScreen =
+            LoadJsonFromResource.loadStringFromResource("mocks/journeys/IdentificationScreenMock.json");
+        passwordScreen = LoadJsonFromResource.loadStringFromResource("mocks/journeys/PasswordScreenMock.json");
+        serverSocket = new ServerSocket(0, 512, InetAddress.getLoopbackAddress());
+        workers = Executors.newFixedThreadPool(threads);
+
+        Thread acceptor = new Thread(this::acceptLoop, "MockJourneyServer");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public String getIssuer() {
+        return "http://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        workers.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                workers.execute(() -> handle(socket));
+            } catch (IOException ignored) {
+                // Server socket closed
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket connection = socket) {
+            InputStream inputStream = connection.getInputStream();
+
+            String requestLine = readLine(inputStream);
+            if (requestLine == null) {
+                return;
+            }
+
+            Map<String, String> headers = new HashMap<>();
+            String line;
+            while ((line = readLine(inputStream)) != null && !line.isEmpty()) {
+                int separator = line.indexOf(':');
+                headers.put(line.substring(0, separator).trim().toLowerCase(), line.substring(separator + 1).trim());
+            }
+
+            // Content-Length counts bytes, the body is only decoded once all of them were read
+            int contentLength = Integer.parseInt(headers.getOrDefault("content-length", "0"));
+            String body = new String(readBytes(inputStream, contentLength), StandardCharsets.UTF_8);
+
+            String path = requestLine.split(" ")[1];
+            respond(connection.getOutputStream(), path, headers, body);
+        } catch (IOException ignored) {
+            // Client went away
+        }
+    }
+
+    /**
+     * Reads a header line, header lines are ASCII and end with CRLF.
+     *
+     * @return {@code null} at the end of the stream
+     */
+    private static String readLine(InputStream inputStream) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = inputStream.read()) != -1) {
+            if (c == '\n') {
+                int length = line.length();
+                return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+            }
+            line.append((char) c);
+        }
+
+        return line.length() == 0 ? null : line.toString();
+    }
+
+    private static byte[] readBytes(InputStream inputStream, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = inputStream.read(bytes, offset, length - offset);
+            if (read == -1) {
+                throw new EOFException("Request body is shorter than its Content-Length");
+            }
+            offset += read;
+        }
+
+        return bytes;
+    }
+
+    private void respond(OutputStream outputStream, String path, Map<String, String> headers, String body)
+        throws IOException {
+        if (path.startsWith("/oauth2/auth")) {
+            String sessionId = "session-" + sessionCounter.incrementAndGet();
+            write(
+                outputStream,
+                200,
+                "android://native-flow?session_id=" + sessionId,
+                "Set-Cookie: " + JOURNEY_COOKIE + "=" + sessionId + "; Path=/"
+            );
+            return;
+        }
+
+        String sessionId = bearerToken(headers);
+        String cookie = headers.getOrDefault("cookie", "");
+        if (sessionId == null || !cookie.contains(JOURNEY_COOKIE + "=" + sessionId)) {
+            write(outputStream, 400, "{\"error\":\"cookie_mismatch\"}", null);
+            return;
+        }
+
+        if (path.startsWith("/flow/api/v1/form/") && !isJsonObject(body)) {
+            write(outputStream, 400, "{\"error\":\"invalid_body\"}", null);
+            return;
+        }
+
+        if (path.equals("/flow/api/v1/init")) {
+            write(outputStream, 200, identificationScreen, null);
+        } else if (path.equals("/flow/api/v1/form/identifier")) {
+            write(outputStream, 200, passwordScreen, null);
+        } else if (path.equals("/flow/api/v1/form/password")) {
+            write(
+                outputStream,
+                200,
+                "{\"hostedUrl\":\"https://example.org/hosted\",\"finalizeUrl\":\"" + getIssuer() + "/finalize\"}",
+                null
+            );
+        } else {
+            write(outputStream, 404, "{}", null);
+        }
+    }
+
+    private static boolean isJsonObject(String body) {
+        try {
+            new JSONObject(body);
+            return true;
+        } catch (JSONException e) {
+            return false;
+        }
+    }
+
+    private static String bearerToken(Map<String, String> headers) {
+        String authorization = headers.get("authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        return authorization.substring("Bearer ".length());
+    }
+
+    private static void write(OutputStream outputStream, int status, String body, String extraHeader)
+        throws IOException {
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream response = new ByteArrayOutputStream(payload.length + 256);
+        StringBuilder head = new StringBuilder()
+            .append("HTTP/1.1 ")
+            .append(status)
+            .append(status == 200 ? " OK" : " Error")
+            .append("\r\nContent-Type: application/json\r\nContent-Length: ")
+            .append(payload.length)
+            .append("\r\nConnection: close\r\n");
+        if (extraHeader != null) {
+            head.append(extraHeader).append("\r\n");
+        }
+        head.append("\r\n");
+
+        response.write(head.toString().getBytes(StandardCharsets.US_ASCII));
+        response.write(payload);
+        outputStream.write(response.toByteArray());
+        outputStream.flush();
+    }
+}
@@ -1,33 +1,47 @@
 package com.strivacity.android.native_sdk;
 
-import android.content.Intent;
 import android.content.SharedPreferences;
 import android.net.Uri;
+import android.os.Looper;
 import android.util.Log;
 import android.view.ViewGroup;
 
 import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.browser.customtabs.CustomTabsIntent;
 
 import com.strivacity.android.native_sdk.auth.Flow;
+import com.strivacity.android.native_sdk.auth.FlowCheckpoint;
 import com.strivacity.android.native_sdk.auth.IdTokenClaims;
 import com.strivacity.android.native_sdk.auth.NativeSDKError;
 import com.strivacity.android.native_sdk.auth.Session;
 import com.strivacity.android.native_sdk.auth.config.LoginParameters;
 import com.strivacity.android.native_sdk.auth.config.TenantConfiguration;
+import com.strivacity.android.native_sdk.auth.store.FlowCheckpointStore;
+import com.strivacity.android.native_sdk.auth.store.SessionStore;
+import com.strivacity.android.native_sdk.auth.store.SharedPreferencesSessionStore;
+import com.strivacity.android.native_sdk.fallback.BrowserFallback;
+import com.strivacity.android.native_sdk.fallback.CustomTabsFallback;
+import com.strivacity.android.native_sdk.fallback.FallbackMetrics;
+import com.strivacity.android.native_sdk.headless.HeadlessFlow;
+import com.strivacity.android.native_sdk.headless.Screen;
 import com.strivacity.android.native_sdk.render.Form;
 import com.strivacity.android.native_sdk.render.ScreenRenderer;
+import com.strivacity.android.native_sdk.render.UnsupportedScreenException;
 import com.strivacity.android.native_sdk.render.ViewFactory;
 import com.strivacity.android.native_sdk.util.HttpClient;
 import com.strivacity.android.native_sdk.util.Logging;
+import com.strivacity.android.native_sdk.util.TaskScheduler;
 
 import java.net.CookieHandler;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 public class NativeSDK {
@@ -36,10 +50,33 @@ public class NativeSDK {
 
     // Configuration
     private final TenantConfiguration tenantConfiguration;
-    private final Executor backgroundThread;
+    private final NativeSDKRuntime runtime;
+
+    /**
+     * Interactive lane of the runtime: journeys, their state is only touched from here
+     */
+    private final TaskScheduler.SerialExecutor journeyThread;
+
+    /**
+     * Background lane of the runtime: refresh, logout and revoke
+     */
+    private final TaskScheduler.SerialExecutor sessionThread;
+
+    /**
+     * I/O lane of the runtime: loads and saves the session of this instance, one at a time and in order
+     */
+    private final TaskScheduler.SerialExecutor storeThread;
+
+    /**
+     * Set while a save is waiting on the I/O lane, it writes the session current when it runs
+     */
+    private final AtomicBoolean savePending = new AtomicBoolean();
+
     private final ViewFactory viewFactory;
     private final CookieHandler cookieHandler;
-    private final SharedPreferences sharedPreferences;
+
+    @Nullable
+    private final SessionStore sessionStore;
 
     @NonNull
     private final HttpClient httpClient;
@@ -47,48 +84,157 @@ public class NativeSDK {
     @NonNull
     private final Logging logging;
 
+    @Nullable
+    private volatile FlowCheckpointStore checkpointStore;
+
+    private volatile Duration checkpointMaxAge = Duration.ofMinutes(30);
+
+    @NonNull
+    private volatile BrowserFallback browserFallback;
+
+    private final FallbackMetrics fallbackMetrics = new FallbackMetrics();
+
     // Per-login
     private Flow flow;
+    private FlowCheckpoint.Type flowType;
     private ScreenRenderer screenRenderer;
     private Consumer<IdTokenClaims> onSuccess;
     private Consumer<Throwable> onError;
     private Runnable onFlowFinish;
 
-    // Session data
-    private Session session;
+    /**
+     * Screen body of the last checkpoint that was saved
+     */
+    private String checkpointedScreen;
+
+    /**
+     * Logins set the session, the background lane only replaces the session it read, so a login that completes while
+     * a token is refreshed or the user is logged out is never lost. The store is only written when the swap won.
+     */
+    private final AtomicReference<Session> session = new AtomicReference<>();
+
+    /**
+     * Completes once the stored session was loaded on the I/O lane, or exceptionally when no lane accepted loading it
+     */
+    private final CompletableFuture<Void> sessionRestored;
+
+    /**
+     * Guards loading the stored session on first access, after no lane accepted loading it
+     */
+    private final Object lateRestoreLock = new Object();
+
+    private boolean lateRestoreDone;
 
     @NonNull
     private final SdkMode sdkMode;
 
+    /**
+     * The stored session is loaded on the I/O lane, the constructor does not wait for the disk.
+     *
+     * @param runtime threads and resources shared with the other instances of the app, e.g. of other tenants
+     */
     public NativeSDK(
         TenantConfiguration tenantConfiguration,
         ViewFactory viewFactory,
         CookieHandler cookieHandler,
-        SharedPreferences sharedPreferences,
+        @Nullable SessionStore sessionStore,
         @NonNull Logging logging,
         @NonNull HttpClient httpClient,
-        SdkMode sdkMode
+        SdkMode sdkMode,
+        @NonNull NativeSDKRuntime runtime
     ) {
         this.tenantConfiguration = tenantConfiguration;
-        this.sharedPreferences = sharedPreferences;
+        this.sessionStore = sessionStore;
         this.viewFactory = viewFactory;
         this.cookieHandler = cookieHandler;
-        this.backgroundThread = Executors.newSingleThreadExecutor();
+        this.runtime = runtime;
+        this.journeyThread = runtime.tenantExecutor(TaskScheduler.Lane.INTERACTIVE);
+        this.sessionThread = runtime.tenantExecutor(TaskScheduler.Lane.BACKGROUND);
+        this.storeThread = runtime.tenantExecutor(TaskScheduler.Lane.IO);
         this.logging = logging;
         this.httpClient = httpClient;
         this.sdkMode = sdkMode != null ? sdkMode : SdkMode.Android;
+        this.browserFallback = new CustomTabsFallback(viewFactory.getContext(), logging);
 
-        if (sharedPreferences != null) {
-            String data = sharedPreferences.getString(STORE_KEY, null);
-            if (data != null) {
-                logging.info("Session restored");
-                this.session = new Session(data);
-            }
+        if (sessionStore != null) {
+            // Tasks reading the session wait for this, see awaitSession()
+            this.sessionRestored = restoreSessionAsync();
         } else {
-            logging.warn("No shared preference provided - this could lead to unintended behavior.");
+            logging.warn("No session store provided - this could lead to unintended behavior.");
+            this.sessionRestored = CompletableFuture.completedFuture(null);
         }
     }
 
+    /**
+     * An instance keeping its session in the given store, e.g. an
+     * {@link com.strivacity.android.native_sdk.auth.store.EncryptedSessionStore}. A factory method rather than a
+     * constructor, so a {@code null} store doesn't make the constructors taking {@link SharedPreferences} ambiguous.
+     */
+    @NonNull
+    public static NativeSDK withSessionStore(
+        TenantConfiguration tenantConfiguration,
+        ViewFactory viewFactory,
+        CookieHandler cookieHandler,
+        @Nullable SessionStore sessionStore,
+        @NonNull Logging logging,
+        @NonNull HttpClient httpClient,
+        SdkMode sdkMode
+    ) {
+        return new NativeSDK(
+            tenantConfiguration,
+            viewFactory,
+            cookieHandler,
+            sessionStore,
+            logging,
+            httpClient,
+            sdkMode,
+            NativeSDKRuntime.getDefault()
+        );
+    }
+
+    /**
+     * An instance using the HTTP client of the runtime.
+     */
+    public NativeSDK(
+        TenantConfiguration tenantConfiguration,
+        ViewFactory viewFactory,
+        CookieHandler cookieHandler,
+        SharedPreferences sharedPreferences,
+        @NonNull NativeSDKRuntime runtime
+    ) {
+        this(
+            tenantConfiguration,
+            viewFactory,
+            cookieHandler,
+            sharedPreferences != null ? new SharedPreferencesSessionStore(sharedPreferences, STORE_KEY) : null,
+            new Logging.DefaultLogging(),
+            runtime.getHttpClient(),
+            SdkMode.Android,
+            runtime
+        );
+    }
+
+    public NativeSDK(
+        TenantConfiguration tenantConfiguration,
+        ViewFactory viewFactory,
+        CookieHandler cookieHandler,
+        SharedPreferences sharedPreferences,
+        @NonNull Logging logging,
+        @NonNull HttpClient httpClient,
+        SdkMode sdkMode
+    ) {
+        this(
+            tenantConfiguration,
+            viewFactory,
+            cookieHandler,
+            sharedPreferences != null ? new SharedPreferencesSessionStore(sharedPreferences, STORE_KEY) : null,
+            logging,
+            httpClient,
+            sdkMode,
+            NativeSDKRuntime.getDefault()
+        );
+    }
+
     public NativeSDK(
         TenantConfiguration tenantConfiguration,
         ViewFactory viewFactory,
@@ -119,59 +265,139 @@ public class NativeSDK {
         this(tenantConfiguration, viewFactory, cookieHandler, sharedPreferences, logging, new HttpClient(logging));
     }
 
+    /**
+     * Enables checkpoints: the state of a running flow is saved after every screen, so {@link #resume} can continue
+     * the flow after the process was killed.
+     */
+    public void setCheckpointStore(@Nullable FlowCheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+    }
+
+    /**
+     * Checkpoints older than this aren't resumed, the journey session they belong to has most likely expired.
+     */
+    public void setCheckpointMaxAge(@NonNull Duration checkpointMaxAge) {
+        this.checkpointMaxAge = checkpointMaxAge;
+    }
+
+    /**
+     * Replaces the browser the hosted journey is opened in when a screen can't be rendered natively, by default a
+     * Custom Tab of Chrome.
+     */
+    public void setBrowserFallback(@NonNull BrowserFallback browserFallback) {
+        BrowserFallback previous = this.browserFallback;
+        this.browserFallback = browserFallback;
+        previous.release();
+    }
+
+    /**
+     * How often journeys continued in the browser, and which types made them.
+     */
+    public FallbackMetrics getFallbackMetrics() {
+        return fallbackMetrics;
+    }
+
+    public NativeSDKRuntime getRuntime() {
+        return runtime;
+    }
+
+    /**
+     * The lanes the SDK runs its work on, e.g. to read their metrics.
+     */
+    public TaskScheduler getScheduler() {
+        return runtime.getScheduler();
+    }
+
+    /**
+     * Stops accepting work once the work that was already started is done. The instance can't be used afterwards,
+     * the threads belong to the {@link NativeSDKRuntime} and are stopped by {@link NativeSDKRuntime#shutdown()}.
+     */
+    public void shutdown() {
+        journeyThread.shutdown();
+        sessionThread.shutdown();
+        storeThread.shutdown();
+        browserFallback.release();
+    }
+
+    /**
+     * Waits for the stored session when called off the main thread. The main thread is never blocked on the disk, there
+     * it is {@code null} until the stored session was loaded.
+     *
+     * @deprecated use {@link #getIdTokenClaims(Consumer)}, which waits for the stored session on any thread
+     */
+    @Deprecated
     public IdTokenClaims getIdTokenClaims() {
-        if (session == null) {
-            logging.debug("ID token claims requested but no session is available");
-            return null;
-        }
+        return idTokenClaims(sessionForGetter("ID token claims"));
+    }
 
-        logging.debug("ID Token claims retrieved");
-        return session.getIdTokenClaims();
+    /**
+     * Hands the ID token claims to {@code onResponse} on the main thread, once the stored session was loaded.
+     */
+    public void getIdTokenClaims(Consumer<IdTokenClaims> onResponse) {
+        sessionRestored.whenComplete((ignored, e) -> {
+            IdTokenClaims idTokenClaims = idTokenClaims(session.get());
+            executeOnMain(() -> onResponse.accept(idTokenClaims));
+        });
     }
 
+    /**
+     * Waits for the stored session when called off the main thread. The main thread is never blocked on the disk, there
+     * it is {@code null} until the stored session was loaded.
+     *
+     * @deprecated use {@link #getAccessToken(Consumer)}, which waits for the stored session on any thread
+     */
+    @Deprecated
     public String getAccessToken() {
-        if (session == null) {
-            logging.debug("Access token requested but no session is available");
-            return null;
-        }
+        return accessToken(sessionForGetter("Access token"));
+    }
 
-        logging.debug("Access token retrieved");
-        return session.getAccessToken();
+    /**
+     * Hands the access token to {@code onResponse} on the main thread, once the stored session was loaded.
+     */
+    public void getAccessToken(Consumer<String> onResponse) {
+        sessionRestored.whenComplete((ignored, e) -> {
+            String accessToken = accessToken(session.get());
+            executeOnMain(() -> onResponse.accept(accessToken));
+        });
     }
 
     @MainThread
     public void isAuthenticated(Consumer<Boolean> onResponse) {
-        backgroundThread.execute(() -> {
-            if (session == null) {
+        executeInBackground(() -> onResponse.accept(false), () -> {
+            Session current = awaitSession();
+            if (current == null) {
                 executeOnMain(() -> onResponse.accept(false));
                 return;
             }
 
-            boolean hasValidAccessToken =
-                session.getAccessToken() != null && session.getExpiration().isAfter(Instant.now());
+            boolean hasValidAccessToken = hasValidAccessToken(current);
 
-            if (!hasValidAccessToken && session.getRefreshToken() != null) {
+            if (!hasValidAccessToken && current.getRefreshToken() != null) {
                 try {
                     logging.debug("Authentication check - attempting to refresh token");
-                    session =
-                        Flow.refreshToken(tenantConfiguration, cookieHandler, session.getRefreshToken(), httpClient);
-                    if (sharedPreferences != null) {
-                        SharedPreferences.Editor edit = sharedPreferences.edit();
-                        edit.putString(STORE_KEY, session.toString());
-                        edit.apply();
+                    Session refreshed = Flow.refreshToken(
+                        tenantConfiguration,
+                        cookieHandler,
+                        current.getRefreshToken(),
+                        httpClient
+                    );
+                    if (session.compareAndSet(current, refreshed)) {
+                        persistSession();
                     }
                     hasValidAccessToken = true;
-                    logging.debug("Authentication check - tokens refreshed, authenticated: $authenticated");
+                    logging.debug("Authentication check - tokens refreshed");
                 } catch (Exception ex) {
                     logging.debug("Authentication check failed: " + ex.getMessage(), ex);
                 }
             }
 
-            boolean authenticated = hasValidAccessToken;
-
-            if (!authenticated) {
-                session = null;
+            if (!hasValidAccessToken && session.compareAndSet(current, null)) {
+                persistSession();
             }
+
+            // A login or logout that completed in the meantime decides the answer
+            Session latest = session.get();
+            boolean authenticated = latest == current ? hasValidAccessToken : hasValidAccessToken(latest);
             executeOnMain(() -> {
                 logging.debug("Authentication check - authenticated:" + authenticated);
                 onResponse.accept(authenticated);
@@ -197,26 +423,17 @@ public class NativeSDK {
         Consumer<Throwable> onError,
         Runnable onFlowFinish
     ) {
-        backgroundThread.execute(() -> {
+        browserFallback.warmUp();
+        executeJourney(onError, () -> {
             logging.info("Starting login flow");
             try {
                 this.onSuccess = onSuccess;
                 this.onError = onError;
                 this.onFlowFinish = onFlowFinish;
 
-                flow = new Flow(tenantConfiguration, cookieHandler, logging, httpClient, sdkMode);
-                screenRenderer =
-                    new ScreenRenderer(
-                        viewFactory,
-                        parentLayout,
-                        logging,
-                        this::submitForm,
-                        finalizeUri -> {
-                            HttpClient.HttpResponse finalizeResponse = flow.follow(finalizeUri);
-                            continueFlow(Uri.parse(finalizeResponse.getBody()));
-                        },
-                        this::closeFlow
-                    );
+                flow = newFlow();
+                flowType = FlowCheckpoint.Type.LOGIN;
+                screenRenderer = screenRenderer(parentLayout, flowType);
                 Uri finalizeUri = flow.startSession(loginParameters);
                 if (finalizeUri != null) {
                     continueFlow(finalizeUri);
@@ -243,6 +460,70 @@ public class NativeSDK {
         });
     }
 
+    @MainThread
+    public void resume(
+        ViewGroup parentLayout,
+        Consumer<IdTokenClaims> onSuccess,
+        Consumer<Throwable> onError,
+        Consumer<Boolean> onResumed
+    ) {
+        resume(parentLayout, onSuccess, onError, () -> error(new NativeSDKError.HostedFlowCancelled()), onResumed);
+    }
+
+    /**
+     * Continues the flow of the stored checkpoint, e.g. after the process was killed during a login.
+     * <p>
+     * The last screen is rendered from the checkpoint without any requests. The journey is synced again with the next
+     * submit, or right away with {@link #refreshScreen()}. Cookies are not part of the checkpoint, flows relying on
+     * them need a persistent {@link CookieHandler}.
+     *
+     * @param onResumed called with {@code false} if there is no checkpoint to resume, the app can start a new login
+     */
+    @MainThread
+    public void resume(
+        ViewGroup parentLayout,
+        Consumer<IdTokenClaims> onSuccess,
+        Consumer<Throwable> onError,
+        Runnable onFlowFinish,
+        Consumer<Boolean> onResumed
+    ) {
+        browserFallback.warmUp();
+        executeJourney(onError, () -> {
+            FlowCheckpointStore store = checkpointStore;
+            FlowCheckpoint checkpoint = store == null ? null : store.load();
+            if (checkpoint == null || checkpoint.isExpired(checkpointMaxAge)) {
+                if (checkpoint != null) {
+                    logging.info("Flow checkpoint expired");
+                    store.save(null);
+                }
+                executeOnMain(() -> onResumed.accept(false));
+                return;
+            }
+
+            logging.info("Resuming flow from checkpoint");
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+            this.onFlowFinish = onFlowFinish;
+
+            flow = new Flow(tenantConfiguration, cookieHandler, logging, httpClient, sdkMode, checkpoint);
+            flowType = checkpoint.getType();
+            screenRenderer = screenRenderer(parentLayout, flowType);
+            checkpointedScreen = checkpoint.getScreen();
+
+            try {
+                screenRenderer.showScreen(checkpoint.getScreen());
+                hintFallback();
+            } catch (Exception e) {
+                logging.warn("Resuming the flow failed", e);
+                cleanUp();
+                executeOnMain(() -> onResumed.accept(false));
+                return;
+            }
+
+            executeOnMain(() -> onResumed.accept(true));
+        });
+    }
+
     @MainThread
     public void cancelFlow() {
         continueFlow(null);
@@ -265,7 +546,7 @@ public class NativeSDK {
             return;
         }
 
-        backgroundThread.execute(() -> {
+        executeJourney(onError, () -> {
             try {
                 String codeToken = redirectUri.getQueryParameter("code");
                 String state = redirectUri.getQueryParameter("state");
@@ -274,8 +555,9 @@ public class NativeSDK {
                     return;
                 }
 
-                session = flow.tokenExchange(codeToken);
-                success(session.getIdTokenClaims());
+                Session loggedIn = flow.tokenExchange(codeToken);
+                session.set(loggedIn);
+                success(loggedIn.getIdTokenClaims());
             } catch (Exception e) {
                 error(new NativeSDKError.UnknownError(e));
             }
@@ -284,7 +566,8 @@ public class NativeSDK {
 
     @MainThread
     public void entry(Uri uri, ViewGroup parentLayout, Runnable onFlowFinish, Consumer<Throwable> onError) {
-        backgroundThread.execute(() -> {
+        browserFallback.warmUp();
+        executeJourney(onError, () -> {
             try {
                 this.onError = onError;
                 this.onFlowFinish = onFlowFinish;
@@ -301,16 +584,9 @@ public class NativeSDK {
                     throw new NativeSDKError.UnknownError(new RuntimeException("Entry challenge parameter is missing"));
                 }
 
-                flow = new Flow(tenantConfiguration, cookieHandler, logging, httpClient, sdkMode);
-                screenRenderer =
-                    new ScreenRenderer(
-                        viewFactory,
-                        parentLayout,
-                        logging,
-                        this::submitForm,
-                        finalizeUri -> {},
-                        this::closeFlow
-                    );
+                flow = newFlow();
+                flowType = FlowCheckpoint.Type.ENTRY;
+                screenRenderer = screenRenderer(parentLayout, flowType);
 
                 try {
                     flow.startWorkflowSession(uri.getQuery());
@@ -330,16 +606,138 @@ public class NativeSDK {
         });
     }
 
+    /**
+     * Starts a login without building any views. Every screen of the journey is emitted to {@code onScreen}, the app
+     * renders it and submits the forms through the returned flow.
+     */
+    @MainThread
+    public HeadlessFlow loginHeadless(
+        LoginParameters loginParameters,
+        Consumer<Screen> onScreen,
+        Consumer<IdTokenClaims> onSuccess,
+        Consumer<Throwable> onError
+    ) {
+        Flow flow = newFlow();
+        HeadlessFlow headlessFlow = new HeadlessFlow(
+            new HeadlessFlow.Journey() {
+                @Override
+                public boolean start() {
+                    Uri finalizeUri = flow.startSession(loginParameters);
+                    return finalizeUri == null || !completeLogin(flow, finalizeUri, onSuccess);
+                }
+
+                @Override
+                public HttpClient.HttpResponse init() {
+                    return flow.initForm();
+                }
+
+                @Override
+                public HttpClient.HttpResponse submit(String formId, String requestBody) {
+                    return flow.submitForm(formId, requestBody);
+                }
+
+                @Override
+                public boolean complete(String finalizeUrl) {
+                    HttpClient.HttpResponse finalizeResponse = flow.follow(Uri.parse(finalizeUrl));
+                    return completeLogin(flow, Uri.parse(finalizeResponse.getBody()), onSuccess);
+                }
+            },
+            journeyThread,
+            this::executeOnMain,
+            onScreen,
+            onError,
+            browserFallback
+        );
+
+        browserFallback.warmUp();
+        headlessFlow.start();
+        return headlessFlow;
+    }
+
+    /**
+     * Starts an entry flow without building any views, see {@link #loginHeadless}.
+     */
+    @MainThread
+    public HeadlessFlow entryHeadless(
+        Uri uri,
+        Consumer<Screen> onScreen,
+        Runnable onFlowFinish,
+        Consumer<Throwable> onError
+    ) {
+        Flow flow = newFlow();
+        HeadlessFlow headlessFlow = new HeadlessFlow(
+            new HeadlessFlow.Journey() {
+                @Override
+                public boolean start() {
+                    String challenge = uri.getQueryParameter("challenge");
+                    if (challenge == null || challenge.trim().isEmpty()) {
+                        throw new NativeSDKError.UnknownError(
+                            new RuntimeException("Entry challenge parameter is missing")
+                        );
+                    }
+
+                    flow.startWorkflowSession(uri.getQuery());
+                    return true;
+                }
+
+                @Override
+                public HttpClient.HttpResponse init() {
+                    return flow.initForm();
+                }
+
+                @Override
+                public HttpClient.HttpResponse submit(String formId, String requestBody) {
+                    return flow.submitForm(formId, requestBody);
+                }
+
+                @Override
+                public boolean complete(String finalizeUrl) {
+                    executeOnMain(onFlowFinish);
+                    return true;
+                }
+            },
+            journeyThread,
+            this::executeOnMain,
+            onScreen,
+            onError,
+            browserFallback
+        );
+
+        browserFallback.warmUp();
+        headlessFlow.start();
+        return headlessFlow;
+    }
+
+    /**
+     * @return {@code false} if the redirect continues the journey in a new session
+     */
+    private boolean completeLogin(Flow flow, Uri redirectUri, Consumer<IdTokenClaims> onSuccess) {
+        if (redirectUri.getQueryParameter("session_id") != null) {
+            return false;
+        }
+
+        if (!Objects.equals(redirectUri.getQueryParameter("state"), flow.getOidcParams().getState())) {
+            throw new NativeSDKError.OIDCError("Validation error", "State parameter mismatch");
+        }
+
+        Session loggedIn = flow.tokenExchange(redirectUri.getQueryParameter("code"));
+        session.set(loggedIn);
+        persistSession();
+        logging.info("User logged in successfully");
+
+        IdTokenClaims idTokenClaims = loggedIn.getIdTokenClaims();
+        executeOnMain(() -> onSuccess.accept(idTokenClaims));
+        return true;
+    }
+
     @MainThread
     public void logout() {
         logging.debug("Logging user out");
-        backgroundThread.execute(() -> {
-            Flow.logout(tenantConfiguration, cookieHandler, session, httpClient);
-            session = null;
-            if (sharedPreferences != null) {
-                SharedPreferences.Editor edit = sharedPreferences.edit();
-                edit.remove(STORE_KEY);
-                edit.apply();
+        executeInBackground(this::dropSession, () -> {
+            Session current = awaitSession();
+            Flow.logout(tenantConfiguration, cookieHandler, current, httpClient);
+            if (session.compareAndSet(current, null)) {
+                persistSession();
             }
             logging.info("User logged out successfully");
         });
@@ -347,18 +745,16 @@ public class NativeSDK {
 
     @MainThread
     public void revoke() {
-        backgroundThread.execute(() -> {
+        executeInBackground(this::dropSession, () -> {
+            Session current = awaitSession();
             try {
-                Flow.revoke(tenantConfiguration, cookieHandler, session, httpClient);
-                if (sharedPreferences != null) {
-                    SharedPreferences.Editor edit = sharedPreferences.edit();
-                    edit.remove(STORE_KEY);
-                    edit.apply();
-                }
+                Flow.revoke(tenantConfiguration, cookieHandler, current, httpClient);
             } catch (Throwable e) {
                 Log.e("REVOKE", "Revoke failed", e);
             } finally {
-                session = null;
+                if (session.compareAndSet(current, null)) {
+                    persistSession();
+                }
             }
         });
     }
@@ -372,7 +768,7 @@ public class NativeSDK {
     }
 
     private void submitForm(@Nullable Form form) {
-        backgroundThread.execute(() -> {
+        executeJourney(onError, () -> {
             HttpClient.HttpResponse httpResponse;
 
             if (form == null) {
@@ -380,7 +776,7 @@ public class NativeSDK {
                 httpResponse = flow.initForm();
             } else {
                 logging.debug(String.format("Submitting form %s", form.getId()));
-                httpResponse = flow.submitForm(form.getId(), form.requestBody().toString());
+                httpResponse = flow.submitForm(form.getId(), form::writeRequestBody);
             }
 
             renderScreen(httpResponse);
@@ -399,18 +795,22 @@ public class NativeSDK {
 
         try {
             this.screenRenderer.showScreen(httpResponse);
+            checkpoint();
+            hintFallback();
         } catch (Exception e) {
+            if (e instanceof UnsupportedScreenException) {
+                fallbackMetrics.recordUnsupported(((UnsupportedScreenException) e).getUnsupported());
+            } else {
+                fallbackMetrics.recordFailure();
+            }
+
+            Uri fallbackUrl = screenRenderer.getFallbackUrl();
             executeOnMain(() -> {
                 logging.debug(String.format("%s", e));
                 logging.warn("Triggering cloud initiated fallback");
-                CustomTabsIntent customTabsIntent = new CustomTabsIntent.Builder().build();
-                customTabsIntent.intent.setPackage("com.android.chrome");
-
-                customTabsIntent.intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP);
-                customTabsIntent.intent.addFlags(Intent.FLAG_ACTIVITY_NO_HISTORY);
 
                 try {
-                    customTabsIntent.launchUrl(viewFactory.getContext(), screenRenderer.getFallbackUrl());
+                    browserFallback.launch(fallbackUrl.toString());
                 } catch (Exception ex) {
                     executeOnMain(() -> onError.accept(ex));
                 }
@@ -418,14 +818,23 @@ public class NativeSDK {
         }
     }
 
-    private void success(@Nullable IdTokenClaims idTokenClaims) {
-        cleanUp();
+    /**
+     * Lets the browser get ready for the hosted journey of the current screen, in case a later screen falls back to it.
+     */
+    private void hintFallback() {
+        if (screenRenderer == null) {
+            return;
+        }
 
-        if (sharedPreferences != null) {
-            SharedPreferences.Editor edit = sharedPreferences.edit();
-            edit.putString(STORE_KEY, session.toString());
-            edit.apply();
+        Uri fallbackUrl = screenRenderer.getFallbackUrl();
+        if (fallbackUrl != null) {
+            browserFallback.mayLaunch(fallbackUrl.toString());
         }
+    }
+
+    private void success(@Nullable IdTokenClaims idTokenClaims) {
+        cleanUp();
+        persistSession();
 
         logging.info("User logged in successfully");
 
@@ -447,6 +856,211 @@ public class NativeSDK {
             screenRenderer.clear();
             screenRenderer = null;
             flow = null;
+            clearCheckpoint();
+        }
+    }
+
+    private Flow newFlow() {
+        return new Flow(tenantConfiguration, cookieHandler, logging, httpClient, sdkMode, runtime.nextOidcParams());
+    }
+
+    private ScreenRenderer screenRenderer(ViewGroup parentLayout, FlowCheckpoint.Type type) {
+        return new ScreenRenderer(
+            viewFactory,
+            parentLayout,
+            logging,
+            this::submitForm,
+            type == FlowCheckpoint.Type.LOGIN
+                ? finalizeUri -> {
+                    HttpClient.HttpResponse finalizeResponse = flow.follow(finalizeUri);
+                    continueFlow(Uri.parse(finalizeResponse.getBody()));
+                }
+                : finalizeUri -> {},
+            this::closeFlow
+        );
+    }
+
+    /**
+     * Saves a checkpoint when a new screen was rendered, messages shown on the same screen don't need one.
+     */
+    private void checkpoint() {
+        FlowCheckpointStore store = checkpointStore;
+        if (store == null || flow == null || screenRenderer == null) {
+            return;
+        }
+
+        String screen = screenRenderer.getScreenBody();
+        if (screen == null || screen.equals(checkpointedScreen)) {
+            return;
+        }
+
+        FlowCheckpoint checkpoint = flow.checkpoint(flowType, screen);
+        if (checkpoint != null) {
+            store.save(checkpoint);
+            checkpointedScreen = screen;
+        }
+    }
+
+    private void clearCheckpoint() {
+        FlowCheckpointStore store = checkpointStore;
+        checkpointedScreen = null;
+        if (store != null) {
+            // Flows can end on the main thread, the file is only touched on the journey thread
+            try {
+                journeyThread.execute(() -> store.save(null));
+            } catch (RejectedExecutionException e) {
+                logging.warn("Removing the flow checkpoint was rejected", e);
+            }
+        }
+    }
+
+    /**
+     * Runs a task of the journey. A task the lane rejects, e.g. because too many tasks are waiting, is reported to
+     * {@code onError} on the main thread instead of being thrown at the caller.
+     */
+    private void executeJourney(@Nullable Consumer<Throwable> onError, Runnable task) {
+        try {
+            journeyThread.execute(task);
+        } catch (RejectedExecutionException e) {
+            logging.warn("Journey task rejected", e);
+            if (onError != null) {
+                executeOnMain(() -> onError.accept(new NativeSDKError.UnknownError(e)));
+            }
+        }
+    }
+
+    /**
+     * Runs a task on the background lane, {@code onRejected} runs on the main thread if the lane rejects it.
+     */
+    private void executeInBackground(Runnable onRejected, Runnable task) {
+        try {
+            sessionThread.execute(task);
+        } catch (RejectedExecutionException e) {
+            logging.warn("Session task rejected", e);
+            executeOnMain(onRejected);
+        }
+    }
+
+    /**
+     * Forgets the session without telling the server, when logging out can't be scheduled
+     */
+    private void dropSession() {
+        session.set(null);
+        persistSession();
+    }
+
+    /**
+     * Loads the stored session on the I/O lane, or on the background lane when the I/O lane is full. Never on the
+     * calling thread, the SDK is usually created on the main thread.
+     */
+    private CompletableFuture<Void> restoreSessionAsync() {
+        try {
+            return CompletableFuture.runAsync(this::restoreSession, storeThread);
+        } catch (RejectedExecutionException e) {
+            logging.warn("Restoring the session on the I/O lane was rejected, retrying on the background lane", e);
+        }
+
+        try {
+            return CompletableFuture.runAsync(this::restoreSession, sessionThread);
+        } catch (RejectedExecutionException e) {
+            // Loaded by the first task needing the session instead, see awaitSession()
+            logging.warn("Restoring the session was rejected", e);
+            CompletableFuture<Void> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    private void restoreSession() {
+        try {
+            Session restored = sessionStore.load();
+            // A login that completed in the meantime wins over the stored session
+            if (restored != null && session.compareAndSet(null, restored)) {
+                logging.info("Session restored");
+            }
+        } catch (Exception e) {
+            logging.warn("Restoring the session failed", e);
+        }
+    }
+
+    /**
+     * Only blocks when called before the stored session was loaded, right after the SDK was created. If no lane
+     * accepted loading it, the first caller loads it. Never called on the main thread.
+     */
+    @Nullable
+    private Session awaitSession() {
+        try {
+            sessionRestored.join();
+        } catch (CompletionException e) {
+            synchronized (lateRestoreLock) {
+                if (!lateRestoreDone) {
+                    restoreSession();
+                    lateRestoreDone = true;
+                }
+            }
+        }
+        return session.get();
+    }
+
+    /**
+     * The session for the getters without a callback, which only wait for the stored one off the main thread
+     */
+    @Nullable
+    private Session sessionForGetter(String requested) {
+        if (!Looper.getMainLooper().isCurrentThread()) {
+            return awaitSession();
+        }
+
+        if (!sessionRestored.isDone()) {
+            logging.debug(requested + " requested on the main thread before the stored session was loaded");
+        }
+        return session.get();
+    }
+
+    @Nullable
+    private IdTokenClaims idTokenClaims(@Nullable Session session) {
+        if (session == null) {
+            logging.debug("ID token claims requested but no session is available");
+            return null;
+        }
+
+        logging.debug("ID Token claims retrieved");
+        return session.getIdTokenClaims();
+    }
+
+    @Nullable
+    private String accessToken(@Nullable Session session) {
+        if (session == null) {
+            logging.debug("Access token requested but no session is available");
+            return null;
+        }
+
+        logging.debug("Access token retrieved");
+        return session.getAccessToken();
+    }
+
+    private static boolean hasValidAccessToken(@Nullable Session session) {
+        return session != null && session.getAccessToken() != null && session.getExpiration().isAfter(Instant.now());
+    }
+
+    /**
+     * Saves the session on the I/O lane. Saves run after the stored session was loaded and in order, and a save that
+     * is still waiting covers later changes as well, so the store ends up with the latest session.
+     */
+    private void persistSession() {
+        if (sessionStore == null || !savePending.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            storeThread.execute(() -> {
+                savePending.set(false);
+                sessionStore.save(session.get());
+            });
+        } catch (RejectedExecutionException e) {
+            // Shut down, the session is saved on this thread instead
+            savePending.set(false);
+            sessionStore.save(session.get());
         }
     }
 
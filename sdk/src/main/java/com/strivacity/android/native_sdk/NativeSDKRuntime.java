@@ -0,0 +1,121 @@
+package com.strivacity.android.native_sdk;
+
+import androidx.annotation.NonNull;
+
+import com.strivacity.android.native_sdk.auth.config.OidcParams;
+import com.strivacity.android.native_sdk.auth.config.OidcParamsPool;
+import com.strivacity.android.native_sdk.util.HttpClient;
+import com.strivacity.android.native_sdk.util.Logging;
+import com.strivacity.android.native_sdk.util.TaskScheduler;
+
+import lombok.Getter;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Resources shared by the {@link NativeSDK} instances of an app, e.g. one per tenant: the threads of the scheduler
+ * lanes, the HTTP client and the pool of PKCE and OIDC parameters.
+ * <p>
+ * Each instance runs its work on its own serial executors on the shared lanes, so instances don't see each other's
+ * state and a busy tenant can't hold up the others for longer than a single task. The tenant quota caps how many tasks
+ * of one instance can wait on a lane. {@link HttpClient} connects with {@link java.net.HttpURLConnection}, which
+ * already keeps a process wide pool of connections; sharing the client shares that pool between the tenants.
+ */
+public class NativeSDKRuntime {
+
+    public static final int DEFAULT_TENANT_QUOTA = 32;
+
+    private static final int OIDC_PARAMS_POOL_CAPACITY = 2;
+
+    private static NativeSDKRuntime defaultRuntime;
+
+    @Getter
+    @NonNull
+    private final TaskScheduler scheduler;
+
+    @Getter
+    @NonNull
+    private final HttpClient httpClient;
+
+    /**
+     * The number of tasks of one SDK instance that can wait on a lane
+     */
+    @Getter
+    private final int tenantQuota;
+
+    /**
+     * Parameter sets of the next logins, generated on the IO lane
+     */
+    @Getter
+    @NonNull
+    private final OidcParamsPool oidcParamsPool;
+
+    public NativeSDKRuntime(@NonNull HttpClient httpClient, int tenantQuota) {
+        if (tenantQuota < 1) {
+            throw new IllegalArgumentException("Tenant quota must be positive");
+        }
+
+        this.scheduler = new TaskScheduler();
+        this.httpClient = httpClient;
+        this.tenantQuota = tenantQuota;
+        this.oidcParamsPool = new OidcParamsPool(OIDC_PARAMS_POOL_CAPACITY);
+
+        refillOidcParams();
+    }
+
+    public NativeSDKRuntime(@NonNull Logging logging) {
+        this(new HttpClient(logging), DEFAULT_TENANT_QUOTA);
+    }
+
+    /**
+     * The runtime of the SDK instances that weren't given one. Shutting it down is final: a new runtime would leave the
+     * instances created before it rejecting every task, so the default runtime isn't created again.
+     *
+     * @throws IllegalStateException if the default runtime was shut down
+     */
+    @NonNull
+    public static synchronized NativeSDKRuntime getDefault() {
+        if (defaultRuntime == null) {
+            defaultRuntime = new NativeSDKRuntime(new Logging.DefaultLogging());
+        } else if (defaultRuntime.scheduler.isShutdown()) {
+            throw new IllegalStateException("The default runtime was shut down");
+        }
+
+        return defaultRuntime;
+    }
+
+    /**
+     * An executor for the tasks of one SDK instance on a lane, they run one at a time and in order.
+     */
+    @NonNull
+    public TaskScheduler.SerialExecutor tenantExecutor(@NonNull TaskScheduler.Lane lane) {
+        return scheduler.serialExecutor(lane, tenantQuota);
+    }
+
+    /**
+     * Parameters of a new authorization request, taken from the pool. The pool is refilled in the background.
+     */
+    @NonNull
+    public OidcParams nextOidcParams() {
+        OidcParams oidcParams = oidcParamsPool.take();
+        refillOidcParams();
+        return oidcParams;
+    }
+
+    private void refillOidcParams() {
+        try {
+            scheduler.execute(TaskScheduler.Lane.IO, oidcParamsPool::fill);
+        } catch (RejectedExecutionException e) {
+            // shut down, parameters are generated when they are taken
+        }
+    }
+
+    /**
+     * Stops the threads once the work that was already submitted is done. SDK instances using this runtime can't be
+     * used afterwards. Apps shutting down the {@link #getDefault() default runtime} have to create their SDK instances
+     * with a runtime of their own from then on.
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
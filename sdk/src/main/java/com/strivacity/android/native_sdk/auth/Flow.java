@@ -62,20 +62,67 @@ public class Flow {
         @NonNull Logging logging,
         @NonNull HttpClient httpClient,
         @NonNull NativeSDK.SdkMode sdkMode
+    ) {
+        this(tenantConfiguration, cookieHandler, logging, httpClient, sdkMode, generateOidcParams());
+    }
+
+    /**
+     * @param oidcParams parameters that were never used before, e.g. from an
+     *                   {@link com.strivacity.android.native_sdk.auth.config.OidcParamsPool}
+     */
+    public Flow(
+        TenantConfiguration tenantConfiguration,
+        CookieHandler cookieHandler,
+        @NonNull Logging logging,
+        @NonNull HttpClient httpClient,
+        @NonNull NativeSDK.SdkMode sdkMode,
+        @NonNull OidcParams oidcParams
     ) {
         this.tenantConfiguration = tenantConfiguration;
         this.cookieHandler = cookieHandler;
         this.logging = logging;
         this.httpClient = httpClient;
         this.sdkMode = sdkMode;
+        this.oidcParams = oidcParams;
+    }
 
+    private static OidcParams generateOidcParams() {
         try {
-            oidcParams = new OidcParams();
+            return new OidcParams();
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Continues the flow of a checkpoint, the session of the journey is used as it was without any requests.
+     */
+    public Flow(
+        TenantConfiguration tenantConfiguration,
+        CookieHandler cookieHandler,
+        @NonNull Logging logging,
+        @NonNull HttpClient httpClient,
+        @NonNull NativeSDK.SdkMode sdkMode,
+        @NonNull FlowCheckpoint checkpoint
+    ) {
+        this.tenantConfiguration = tenantConfiguration;
+        this.cookieHandler = cookieHandler;
+        this.logging = logging;
+        this.httpClient = httpClient;
+        this.sdkMode = sdkMode;
+        this.oidcParams = checkpoint.getOidcParams();
+        this.sessionId = checkpoint.getSessionId();
+    }
+
+    /**
+     * @param screen body of the response that rendered the current screen
+     * @return the checkpoint of the flow, or {@code null} if the journey wasn't started yet
+     */
+    @Nullable
+    public FlowCheckpoint checkpoint(@NonNull FlowCheckpoint.Type type, @NonNull String screen) {
+        return sessionId == null ? null : new FlowCheckpoint(type, sessionId, oidcParams, screen, Instant.now());
+    }
+
     public Uri startSession(LoginParameters loginParameters) {
         logging.info("Login flow started");
         HttpClient.HttpResponse response = httpClient.followUntil(
@@ -190,15 +237,27 @@ public class Flow {
 
     public HttpClient.HttpResponse initForm() {
         return httpClient.post(
-            tenantConfiguration.getInitEndpoint(),
+            tenantConfiguration.getEndpoints().getInit(),
             cookieHandler,
             httpRequest -> httpRequest.setBearerToken(sessionId)
         );
     }
 
+    public HttpClient.HttpResponse submitForm(String formId, HttpClient.RequestBody requestBody) {
+        return httpClient.post(
+            tenantConfiguration.getEndpoints().form(formId),
+            cookieHandler,
+            httpRequest -> {
+                httpRequest.setContentType("application/json");
+                httpRequest.setBearerToken(sessionId);
+                httpRequest.setBody(requestBody);
+            }
+        );
+    }
+
     public HttpClient.HttpResponse submitForm(String formId, String requestBody) {
         return httpClient.post(
-            tenantConfiguration.getFormEndpoint(formId),
+            tenantConfiguration.getEndpoints().form(formId),
             cookieHandler,
             httpRequest -> {
                 httpRequest.setContentType("application/json");
@@ -210,22 +269,13 @@ public class Flow {
 
     public Session tokenExchange(String codeToken) {
         HttpClient.HttpResponse response = httpClient.post(
-            tenantConfiguration.getTokenEndpoint(),
+            tenantConfiguration.getEndpoints().getToken(),
             cookieHandler,
             httpRequest -> {
                 httpRequest.setContentType("application/x-www-form-urlencoded");
                 httpRequest.setFollowRedirects(false);
                 httpRequest.setBody(
-                    tenantConfiguration
-                        .getIssuer()
-                        .buildUpon()
-                        .appendQueryParameter("grant_type", "authorization_code")
-                        .appendQueryParameter("client_id", tenantConfiguration.getClientId())
-                        .appendQueryParameter("code_verifier", oidcParams.getCodeVerifier())
-                        .appendQueryParameter("code", codeToken)
-                        .appendQueryParameter("redirect_uri", tenantConfiguration.getRedirectURI().toString())
-                        .build()
-                        .getQuery()
+                    tenantConfiguration.getEndpoints().authorizationCodeBody(oidcParams.getCodeVerifier(), codeToken)
                 );
             }
         );
@@ -254,22 +304,12 @@ public class Flow {
         @NonNull HttpClient httpClient
     ) {
         HttpClient.HttpResponse response = httpClient.post(
-            tenantConfiguration.getTokenEndpoint(),
+            tenantConfiguration.getEndpoints().getToken(),
             cookieHandler,
             httpRequest -> {
                 httpRequest.setContentType("application/x-www-form-urlencoded");
                 httpRequest.setFollowRedirects(false);
-                httpRequest.setBody(
-                    tenantConfiguration
-                        .getIssuer()
-                        .buildUpon()
-                        .appendQueryParameter("grant_type", "refresh_token")
-                        .appendQueryParameter("refresh_token", refreshToken)
-                        .appendQueryParameter("client_id", tenantConfiguration.getClientId())
-                        .appendQueryParameter("redirect_uri", tenantConfiguration.getRedirectURI().toString())
-                        .build()
-                        .getQuery()
-                );
+                httpRequest.setBody(tenantConfiguration.getEndpoints().refreshTokenBody(refreshToken));
             }
         );
 
@@ -317,7 +357,9 @@ public class Flow {
         try {
             httpClient.get(
                 tenantConfiguration
-                    .getLogoutEndpoint()
+                    .getEndpoints()
+                    .getLogout()
+                    .getUri()
                     .buildUpon()
                     .appendQueryParameter("id_token_hint", session.getIdToken())
                     .appendQueryParameter("post_logout_redirect_uri", tenantConfiguration.getPostLogoutURI().toString())
@@ -343,21 +385,12 @@ public class Flow {
         String typeHint = session.getRefreshToken() != null ? "refresh_token" : "access_token";
 
         httpClient.post(
-            tenantConfiguration.getRevokeEndpoint(),
+            tenantConfiguration.getEndpoints().getRevoke(),
             cookieHandler,
             httpRequest -> {
                 httpRequest.setContentType("application/x-www-form-urlencoded");
                 httpRequest.setFollowRedirects(false);
-                httpRequest.setBody(
-                    tenantConfiguration
-                        .getIssuer()
-                        .buildUpon()
-                        .appendQueryParameter("client_id", tenantConfiguration.getClientId())
-                        .appendQueryParameter("token_type_hint", typeHint)
-                        .appendQueryParameter("token", token)
-                        .build()
-                        .getQuery()
-                );
+                httpRequest.setBody(tenantConfiguration.getEndpoints().revokeBody(typeHint, token));
             }
         );
     }
@@ -0,0 +1,46 @@
+package com.strivacity.android.native_sdk.auth;
+
+import androidx.annotation.NonNull;
+
+import com.strivacity.android.native_sdk.auth.config.OidcParams;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of an unfinished flow that lets {@link com.strivacity.android.native_sdk.NativeSDK#resume} rebuild it after
+ * the process was killed: the session of the journey, the PKCE and OIDC parameters of the authorization request and
+ * the last screen that was shown.
+ */
+@Value
+public class FlowCheckpoint {
+
+    public enum Type {
+        LOGIN,
+        ENTRY
+    }
+
+    @NonNull
+    Type type;
+
+    @NonNull
+    String sessionId;
+
+    @NonNull
+    OidcParams oidcParams;
+
+    /**
+     * Body of the response that rendered the last screen
+     */
+    @NonNull
+    String screen;
+
+    @NonNull
+    Instant createdAt;
+
+    public boolean isExpired(@NonNull Duration maxAge) {
+        return createdAt.plus(maxAge).isBefore(Instant.now());
+    }
+}
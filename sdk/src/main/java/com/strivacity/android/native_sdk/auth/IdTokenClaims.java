@@ -1,49 +1,187 @@
 package com.strivacity.android.native_sdk.auth;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.strivacity.android.native_sdk.util.JSON;
+import com.strivacity.android.native_sdk.util.JWTUtils;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import lombok.Data;
-
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
-@Data
+/**
+ * Claims of an ID token.
+ * <p>
+ * Claims created with {@link #of(String)} keep the token and only decode its payload when a claim is read for the
+ * first time; every claim is parsed once and then kept by this instance. Nothing is shared between instances, the
+ * token and its claims are gone with the session holding them.
+ * <p>
+ * Claims of a token are equal to the claims of the same token. Time claims missing from the token are {@code null}, a
+ * single audience sent as a plain string is read as a list of one.
+ */
 public class IdTokenClaims {
 
-    private final JSONObject jsonObject;
+    @Nullable
+    private final String idToken;
+
+    /**
+     * Decoded payload of the token, when it was already known
+     */
+    @Nullable
+    private final byte[] payload;
 
-    private final Instant authenticationTime;
-    private final Instant expirationTime;
-    private final Instant issuedAt;
-    private final String issuer;
-    private final String nonce;
-    private final String subject;
-    private final List<String> audience;
+    private volatile JSONObject jsonObject;
+    private volatile Instant authenticationTime;
+    private volatile Instant expirationTime;
+    private volatile Instant issuedAt;
+    private volatile List<String> audience;
 
     public IdTokenClaims(JSONObject jsonObject) {
+        this.idToken = null;
+        this.payload = null;
         this.jsonObject = jsonObject;
-        try {
-            this.authenticationTime = Instant.ofEpochSecond(jsonObject.getInt("auth_time"));
-            this.expirationTime = Instant.ofEpochSecond(jsonObject.getInt("exp"));
-            this.issuedAt = Instant.ofEpochSecond(jsonObject.getInt("iat"));
-            this.issuer = JSON.parseString(jsonObject, "iss");
-            this.nonce = JSON.parseString(jsonObject, "nonce");
-            this.subject = JSON.parseString(jsonObject, "sub");
-
-            this.audience = JSON.parseStringList(jsonObject, "aud");
-        } catch (JSONException e) {
-            throw new RuntimeException(e);
+    }
+
+    private IdTokenClaims(@NonNull String idToken, @Nullable byte[] payload) {
+        this.idToken = idToken;
+        this.payload = payload;
+    }
+
+    @NonNull
+    public static IdTokenClaims of(@NonNull String idToken) {
+        return of(idToken, null);
+    }
+
+    /**
+     * @param payload the already decoded payload of the token, e.g. stored next to it; it is checked against the token
+     *                when the claims are first read, and the token is decoded instead if they don't match
+     */
+    @NonNull
+    public static IdTokenClaims of(@NonNull String idToken, @Nullable byte[] payload) {
+        return new IdTokenClaims(idToken, payload);
+    }
+
+    @NonNull
+    public JSONObject getJsonObject() {
+        JSONObject jsonObject = this.jsonObject;
+        if (jsonObject == null) {
+            try {
+                byte[] decoded = payload != null && JWTUtils.hasPayload(idToken, payload)
+                    ? payload
+                    : JWTUtils.payload(idToken);
+                jsonObject = new JSONObject(new String(decoded, StandardCharsets.UTF_8));
+            } catch (JSONException e) {
+                throw new RuntimeException(e);
+            }
+            this.jsonObject = jsonObject;
+        }
+
+        return jsonObject;
+    }
+
+    public Instant getAuthenticationTime() {
+        if (authenticationTime == null) {
+            authenticationTime = getInstant("auth_time");
+        }
+        return authenticationTime;
+    }
+
+    public Instant getExpirationTime() {
+        if (expirationTime == null) {
+            expirationTime = getInstant("exp");
+        }
+        return expirationTime;
+    }
+
+    public Instant getIssuedAt() {
+        if (issuedAt == null) {
+            issuedAt = getInstant("iat");
         }
+        return issuedAt;
+    }
+
+    public String getIssuer() {
+        return getString("iss");
+    }
+
+    public String getNonce() {
+        return getString("nonce");
+    }
+
+    public String getSubject() {
+        return getString("sub");
+    }
+
+    /**
+     * @return the audiences of the token; a single audience may also be sent as a plain string
+     */
+    public List<String> getAudience() {
+        List<String> audience = this.audience;
+        if (audience == null) {
+            Object value = getJsonObject().opt("aud");
+            if (value instanceof JSONArray) {
+                JSONArray array = (JSONArray) value;
+                List<String> values = new ArrayList<>(array.length());
+                for (int i = 0; i < array.length(); i++) {
+                    values.add(array.optString(i));
+                }
+                audience = Collections.unmodifiableList(values);
+            } else if (value instanceof String) {
+                audience = Collections.singletonList((String) value);
+            } else {
+                audience = Collections.emptyList();
+            }
+            this.audience = audience;
+        }
+
+        return audience;
     }
 
     public String getString(String key) {
         try {
-            return JSON.parseString(jsonObject, key);
+            return JSON.parseString(getJsonObject(), key);
         } catch (JSONException e) {
             return null;
         }
     }
+
+    private Instant getInstant(String key) {
+        JSONObject json = getJsonObject();
+        return json.isNull(key) ? null : Instant.ofEpochSecond(json.optLong(key));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdTokenClaims)) {
+            return false;
+        }
+
+        IdTokenClaims that = (IdTokenClaims) o;
+        if (idToken != null || that.idToken != null) {
+            return Objects.equals(idToken, that.idToken);
+        }
+        return getJsonObject().toString().equals(that.getJsonObject().toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return idToken != null ? idToken.hashCode() : getJsonObject().toString().hashCode();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "IdTokenClaims(" + getJsonObject() + ")";
+    }
 }
@@ -2,8 +2,6 @@ package com.strivacity.android.native_sdk.auth;
 
 import androidx.annotation.NonNull;
 
-import com.strivacity.android.native_sdk.util.JWTUtils;
-
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -48,7 +46,15 @@ public class Session {
 
     public void setIdToken(String idToken) {
         this.idToken = idToken;
-        this.idTokenClaims = new IdTokenClaims(JWTUtils.decoded(idToken));
+        this.idTokenClaims = IdTokenClaims.of(idToken);
+    }
+
+    /**
+     * Sets the ID token together with its claims, e.g. ones read from storage, so the token is not decoded again
+     */
+    public void setIdToken(@NonNull String idToken, @NonNull IdTokenClaims idTokenClaims) {
+        this.idToken = idToken;
+        this.idTokenClaims = idTokenClaims;
     }
 
     @NonNull
@@ -0,0 +1,92 @@
+package com.strivacity.android.native_sdk.auth.config;
+
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+
+import com.strivacity.android.native_sdk.util.Endpoint;
+
+import lombok.Getter;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The endpoints of a {@link TenantConfiguration}, built once per configuration.
+ * <p>
+ * Fixed endpoints are kept as prebuilt {@link Endpoint}s and form endpoints are cached per form id. The parameters
+ * every token and revoke request repeats ({@code client_id}, {@code redirect_uri}, the grant type) are encoded once as
+ * the base of the {@code application/x-www-form-urlencoded} bodies, only the per-request values are encoded when a
+ * body is built.
+ */
+public class Endpoints {
+
+    private static final String FORM_PATH = "/flow/api/v1/form/";
+
+    @Getter
+    private final Endpoint token;
+
+    @Getter
+    private final Endpoint logout;
+
+    @Getter
+    private final Endpoint revoke;
+
+    @Getter
+    private final Endpoint init;
+
+    private final Uri issuer;
+    private final Map<String, Endpoint> forms = new ConcurrentHashMap<>();
+
+    private final String authorizationCodeBody;
+    private final String refreshTokenBody;
+    private final String revokeBody;
+
+    Endpoints(TenantConfiguration tenantConfiguration) {
+        this.issuer = tenantConfiguration.getIssuer();
+        this.token = endpoint("/oauth2/token");
+        this.logout = endpoint("/oauth2/sessions/logout");
+        this.revoke = endpoint("/oauth2/revoke");
+        this.init = endpoint("/flow/api/v1/init");
+
+        String clientId = parameter("client_id", tenantConfiguration.getClientId());
+        String redirectUri = parameter("redirect_uri", tenantConfiguration.getRedirectURI().toString());
+        this.authorizationCodeBody = "grant_type=authorization_code&" + clientId + "&" + redirectUri;
+        this.refreshTokenBody = "grant_type=refresh_token&" + clientId + "&" + redirectUri;
+        this.revokeBody = clientId;
+    }
+
+    @NonNull
+    public Endpoint form(@NonNull String formId) {
+        return forms.computeIfAbsent(formId, id -> endpoint(FORM_PATH + id));
+    }
+
+    @NonNull
+    public String authorizationCodeBody(@NonNull String codeVerifier, @NonNull String code) {
+        return authorizationCodeBody + "&" + parameter("code_verifier", codeVerifier) + "&" + parameter("code", code);
+    }
+
+    @NonNull
+    public String refreshTokenBody(@NonNull String refreshToken) {
+        return refreshTokenBody + "&" + parameter("refresh_token", refreshToken);
+    }
+
+    @NonNull
+    public String revokeBody(@NonNull String tokenTypeHint, @NonNull String token) {
+        return revokeBody + "&" + parameter("token_type_hint", tokenTypeHint) + "&" + parameter("token", token);
+    }
+
+    private Endpoint endpoint(String path) {
+        return Endpoint.of(issuer.buildUpon().path(path).build());
+    }
+
+    private static String parameter(String name, String value) {
+        try {
+            return name + "=" + URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
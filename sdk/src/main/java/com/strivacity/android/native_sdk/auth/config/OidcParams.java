@@ -20,4 +20,14 @@ public class OidcParams {
         state = OIDCParamGenerator.generateRandomString(16);
         nonce = OIDCParamGenerator.generateRandomString(16);
     }
+
+    /**
+     * Parameters of an authorization request that was started before, e.g. by a process that was killed since.
+     */
+    public OidcParams(String codeVerifier, String codeChallenge, String state, String nonce) {
+        this.codeVerifier = codeVerifier;
+        this.codeChallenge = codeChallenge;
+        this.state = state;
+        this.nonce = nonce;
+    }
 }
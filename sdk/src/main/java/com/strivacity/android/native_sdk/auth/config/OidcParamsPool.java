@@ -0,0 +1,65 @@
+package com.strivacity.android.native_sdk.auth.config;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parameter sets generated ahead of time, so starting a login doesn't wait for the random source and the digest.
+ * <p>
+ * Every set is handed out once and never reused. When the pool is empty a set is generated on the spot.
+ */
+public class OidcParamsPool {
+
+    private final int capacity;
+    private final ConcurrentLinkedQueue<OidcParams> params = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public OidcParamsPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Generates parameter sets until the pool is full.
+     */
+    @WorkerThread
+    public void fill() {
+        while (size.get() < capacity) {
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                return;
+            }
+
+            params.add(generate());
+        }
+    }
+
+    /**
+     * @return a set generated ahead of time, or a new one if the pool is empty
+     */
+    @NonNull
+    public OidcParams take() {
+        OidcParams taken = params.poll();
+        if (taken == null) {
+            return generate();
+        }
+
+        size.decrementAndGet();
+        return taken;
+    }
+
+    public int size() {
+        return params.size();
+    }
+
+    private OidcParams generate() {
+        try {
+            return new OidcParams();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
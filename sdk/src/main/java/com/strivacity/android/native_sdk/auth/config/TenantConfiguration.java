@@ -5,6 +5,9 @@ import android.net.Uri;
 import com.strivacity.android.native_sdk.NativeSDK;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +21,11 @@ public class TenantConfiguration {
     private final Uri redirectURI;
     private final Uri postLogoutURI;
 
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Endpoints endpoints = new Endpoints(this);
+
     public Uri getAuthEndpoint(OidcParams oidcParams, LoginParameters loginParameters, NativeSDK.SdkMode sdkMode) {
         Uri.Builder builder = issuer
             .buildUpon()
@@ -58,23 +66,23 @@ public class TenantConfiguration {
     }
 
     public Uri getTokenEndpoint() {
-        return getIssuer().buildUpon().path("/oauth2/token").build();
+        return getEndpoints().getToken().getUri();
     }
 
     public Uri getLogoutEndpoint() {
-        return getIssuer().buildUpon().path("/oauth2/sessions/logout").build();
+        return getEndpoints().getLogout().getUri();
     }
 
     public Uri getRevokeEndpoint() {
-        return getIssuer().buildUpon().path("/oauth2/revoke").build();
+        return getEndpoints().getRevoke().getUri();
     }
 
     public Uri getInitEndpoint() {
-        return getIssuer().buildUpon().path("/flow/api/v1/init").build();
+        return getEndpoints().getInit().getUri();
     }
 
     public Uri getFormEndpoint(String formId) {
-        return getIssuer().buildUpon().path("/flow/api/v1/form/" + formId).build();
+        return getEndpoints().form(formId).getUri();
     }
 
     public Uri getEntryEndpoint(String query, NativeSDK.SdkMode sdkMode) {
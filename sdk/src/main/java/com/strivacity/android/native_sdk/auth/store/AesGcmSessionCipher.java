@@ -0,0 +1,127 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyProperties;
+
+import androidx.annotation.NonNull;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * AES-GCM with a 128 bit tag. Encrypted data is a version byte, the 12 byte IV and the ciphertext; the version byte is
+ * authenticated as associated data.
+ * <p>
+ * The key is resolved on first use and kept afterwards. Looking up a key in the Android Keystore is the slow part of
+ * decrypting a session, so only the first read after the app started pays for it. Without the Keystore factory the
+ * cipher only needs a JCA provider, which lets it run on a plain JVM.
+ */
+public class AesGcmSessionCipher implements SessionCipher {
+
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String ANDROID_KEY_STORE = "AndroidKeyStore";
+
+    private final Callable<SecretKey> keySupplier;
+    private volatile SecretKey key;
+
+    public AesGcmSessionCipher(@NonNull Callable<SecretKey> keySupplier) {
+        this.keySupplier = keySupplier;
+    }
+
+    public AesGcmSessionCipher(@NonNull SecretKey key) {
+        this.keySupplier = () -> key;
+        this.key = key;
+    }
+
+    /**
+     * A cipher using a hardware-backed key of the Android Keystore, the key is created on first use.
+     */
+    @NonNull
+    public static AesGcmSessionCipher androidKeyStore(@NonNull String alias) {
+        return new AesGcmSessionCipher(() -> {
+            KeyStore keyStore = KeyStore.getInstance(ANDROID_KEY_STORE);
+            keyStore.load(null);
+
+            KeyStore.Entry entry = keyStore.getEntry(alias, null);
+            if (entry instanceof KeyStore.SecretKeyEntry) {
+                return ((KeyStore.SecretKeyEntry) entry).getSecretKey();
+            }
+
+            KeyGenerator keyGenerator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, ANDROID_KEY_STORE);
+            keyGenerator.init(
+                new KeyGenParameterSpec.Builder(alias, KeyProperties.PURPOSE_ENCRYPT | KeyProperties.PURPOSE_DECRYPT)
+                    .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+                    .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+                    .setKeySize(256)
+                    .build()
+            );
+            return keyGenerator.generateKey();
+        });
+    }
+
+    @NonNull
+    @Override
+    public byte[] encrypt(@NonNull byte[] plaintext) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        // The IV is generated by the cipher, Keystore keys do not accept one from the caller
+        cipher.init(Cipher.ENCRYPT_MODE, key());
+        cipher.updateAAD(new byte[] { VERSION });
+
+        byte[] iv = cipher.getIV();
+        if (iv.length != IV_LENGTH) {
+            throw new GeneralSecurityException("Unexpected IV length " + iv.length);
+        }
+
+        byte[] output = new byte[1 + IV_LENGTH + cipher.getOutputSize(plaintext.length)];
+        output[0] = VERSION;
+        System.arraycopy(iv, 0, output, 1, IV_LENGTH);
+        int length = cipher.doFinal(plaintext, 0, plaintext.length, output, 1 + IV_LENGTH);
+
+        return length == output.length - 1 - IV_LENGTH ? output : Arrays.copyOf(output, 1 + IV_LENGTH + length);
+    }
+
+    @NonNull
+    @Override
+    public byte[] decrypt(@NonNull byte[] ciphertext) throws GeneralSecurityException {
+        if (ciphertext.length < 1 + IV_LENGTH || ciphertext[0] != VERSION) {
+            throw new GeneralSecurityException("Not an encrypted session");
+        }
+
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key(), new GCMParameterSpec(TAG_LENGTH_BITS, ciphertext, 1, IV_LENGTH));
+        cipher.updateAAD(ciphertext, 0, 1);
+
+        return cipher.doFinal(ciphertext, 1 + IV_LENGTH, ciphertext.length - 1 - IV_LENGTH);
+    }
+
+    private SecretKey key() throws GeneralSecurityException {
+        SecretKey key = this.key;
+        if (key == null) {
+            synchronized (this) {
+                key = this.key;
+                if (key == null) {
+                    try {
+                        key = keySupplier.call();
+                    } catch (GeneralSecurityException | RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new GeneralSecurityException(e);
+                    }
+                    this.key = key;
+                }
+            }
+        }
+
+        return key;
+    }
+}
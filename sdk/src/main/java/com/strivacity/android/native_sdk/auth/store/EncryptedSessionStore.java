@@ -0,0 +1,65 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import androidx.annotation.NonNull;
+
+import com.strivacity.android.native_sdk.auth.Session;
+import com.strivacity.android.native_sdk.util.Logging;
+
+import java.io.File;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link FileSessionStore} that encrypts the serialized session with a {@link SessionCipher}.
+ * <p>
+ * Encryption and decryption happen where the file store reads and writes: decrypting on the SDK's background thread
+ * when the session is restored, encrypting on the store's writer executor. The decrypted session is then kept in
+ * memory, so the cipher is not involved in reading it again.
+ */
+public class EncryptedSessionStore extends FileSessionStore {
+
+    private final SessionCipher cipher;
+
+    public EncryptedSessionStore(@NonNull File file, @NonNull SessionCipher cipher) {
+        super(file);
+        this.cipher = cipher;
+    }
+
+    public EncryptedSessionStore(
+        @NonNull File file,
+        @NonNull SessionCipher cipher,
+        @NonNull Executor writer,
+        @NonNull Logging logging
+    ) {
+        super(file, writer, logging);
+        this.cipher = cipher;
+    }
+
+    /**
+     * A store encrypting with a hardware-backed key of the Android Keystore.
+     */
+    @NonNull
+    public static EncryptedSessionStore withAndroidKeyStore(@NonNull File file, @NonNull String keyAlias) {
+        return new EncryptedSessionStore(file, AesGcmSessionCipher.androidKeyStore(keyAlias));
+    }
+
+    @NonNull
+    @Override
+    protected byte[] encode(@NonNull Session session) {
+        try {
+            return cipher.encrypt(super.encode(session));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @NonNull
+    @Override
+    protected Session decode(@NonNull byte[] data) {
+        try {
+            return super.decode(cipher.decrypt(data));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import android.util.AtomicFile;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.NativeSDKRuntime;
+import com.strivacity.android.native_sdk.auth.Session;
+import com.strivacity.android.native_sdk.util.Logging;
+import com.strivacity.android.native_sdk.util.TaskScheduler;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Stores the session in a file of its own, writing behind the caller.
+ * <p>
+ * {@link #save(Session)} only replaces the session kept in memory and schedules a write on the writer executor, by
+ * default the I/O lane of the {@link NativeSDKRuntime#getDefault() default runtime}. Saves arriving while a write is
+ * still queued are coalesced into it, so a burst of token updates ends in one write of the latest session. Once the
+ * writer no longer accepts tasks, sessions are written on the calling thread. Files are replaced atomically with
+ * {@link AtomicFile}: a crash during a write leaves the previous session, never a truncated one.
+ * <p>
+ * Sessions are stored in the binary {@link SessionCodec} format, files written as JSON by earlier versions are still
+ * read. Subclasses can change how a session is turned into bytes by overriding {@link #encode(Session)} and
+ * {@link #decode(byte[])}.
+ */
+public class FileSessionStore implements SessionStore {
+
+    private final AtomicFile file;
+    private final SessionCodec codec = new SessionCodec(false);
+    private final Executor writer;
+    private final Logging logging;
+    private final Object lock = new Object();
+    // Held while writing, writes made inline after the writer stopped accepting tasks can overlap with its last one
+    private final Object writeLock = new Object();
+
+    // Guarded by lock
+    private boolean loaded;
+    private Session session;
+    private boolean writeScheduled;
+
+    public FileSessionStore(@NonNull File file) {
+        this(file, NativeSDKRuntime.getDefault().tenantExecutor(TaskScheduler.Lane.IO), new Logging.DefaultLogging());
+    }
+
+    /**
+     * @param writer runs the writes, it has to run its tasks one at a time and in order, like a
+     *               {@link TaskScheduler.SerialExecutor}
+     */
+    public FileSessionStore(@NonNull File file, @NonNull Executor writer, @NonNull Logging logging) {
+        this.file = new AtomicFile(file);
+        this.writer = writer;
+        this.logging = logging;
+    }
+
+    @Nullable
+    @Override
+    public Session load() {
+        synchronized (lock) {
+            if (loaded) {
+                return session;
+            }
+        }
+
+        Session stored = read();
+
+        synchronized (lock) {
+            // A save that happened while reading wins over what was on disk
+            if (!loaded) {
+                session = stored;
+                loaded = true;
+            }
+            return session;
+        }
+    }
+
+    @Override
+    public void save(@Nullable Session session) {
+        synchronized (lock) {
+            this.session = session;
+            this.loaded = true;
+
+            if (writeScheduled) {
+                return;
+            }
+            writeScheduled = true;
+        }
+
+        try {
+            writer.execute(this::writePending);
+        } catch (RejectedExecutionException e) {
+            writePending();
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            // The writer runs in order, so this completes after the writes scheduled before it
+            CompletableFuture.runAsync(() -> {}, writer).join();
+        } catch (RejectedExecutionException e) {
+            // Nothing is scheduled on a writer that no longer accepts tasks, the writes already happened inline
+        }
+    }
+
+    @NonNull
+    protected byte[] encode(@NonNull Session session) {
+        return codec.encode(session);
+    }
+
+    @NonNull
+    protected Session decode(@NonNull byte[] data) {
+        return codec.decode(data);
+    }
+
+    private void writePending() {
+        Session pending;
+        synchronized (lock) {
+            pending = session;
+            writeScheduled = false;
+        }
+
+        synchronized (writeLock) {
+            if (pending == null) {
+                file.delete();
+                return;
+            }
+
+            FileOutputStream outputStream = null;
+            try {
+                byte[] data = encode(pending);
+                outputStream = file.startWrite();
+                outputStream.write(data);
+                file.finishWrite(outputStream);
+            } catch (Exception e) {
+                if (outputStream != null) {
+                    file.failWrite(outputStream);
+                }
+                logging.error("Writing the session failed", e);
+            }
+        }
+    }
+
+    @Nullable
+    private Session read() {
+        try {
+            return decode(file.readFully());
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // An unreadable session is as good as none, the user has to log in again
+            logging.error("Reading the session failed", e);
+            return null;
+        }
+    }
+}
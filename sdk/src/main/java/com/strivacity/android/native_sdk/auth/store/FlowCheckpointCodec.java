@@ -0,0 +1,110 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.auth.FlowCheckpoint;
+import com.strivacity.android.native_sdk.auth.config.OidcParams;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Compact binary format of a {@link FlowCheckpoint}.
+ * <p>
+ * A checkpoint is written as a magic byte and the format version, followed by the flow type, the creation time in
+ * epoch milliseconds, the session ID, the four OIDC parameters and the screen. Strings are prefixed with their length
+ * in bytes, {@code -1} stands for {@code null}.
+ */
+public class FlowCheckpointCodec {
+
+    private static final byte MAGIC = 'F';
+    private static final byte VERSION = 1;
+
+    @NonNull
+    public byte[] encode(@NonNull FlowCheckpoint checkpoint) {
+        byte[] screen = checkpoint.getScreen().getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(screen.length + 512);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(MAGIC);
+            output.writeByte(VERSION);
+            output.writeByte(checkpoint.getType().ordinal());
+            output.writeLong(checkpoint.getCreatedAt().toEpochMilli());
+
+            writeString(output, checkpoint.getSessionId());
+
+            OidcParams oidcParams = checkpoint.getOidcParams();
+            writeString(output, oidcParams.getCodeVerifier());
+            writeString(output, oidcParams.getCodeChallenge());
+            writeString(output, oidcParams.getState());
+            writeString(output, oidcParams.getNonce());
+
+            output.writeInt(screen.length);
+            output.write(screen);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @NonNull
+    public FlowCheckpoint decode(@NonNull byte[] data) {
+        if (data.length < 2 || data[0] != MAGIC) {
+            throw new RuntimeException("Not a flow checkpoint");
+        }
+        if (data[1] > VERSION) {
+            throw new RuntimeException("Unsupported checkpoint format version " + data[1]);
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data, 2, data.length - 2))) {
+            FlowCheckpoint.Type type = FlowCheckpoint.Type.values()[input.readByte()];
+            Instant createdAt = Instant.ofEpochMilli(input.readLong());
+            String sessionId = readString(input);
+            OidcParams oidcParams = new OidcParams(
+                readString(input),
+                readString(input),
+                readString(input),
+                readString(input)
+            );
+            String screen = readString(input);
+
+            return new FlowCheckpoint(type, sessionId, oidcParams, screen, createdAt);
+        } catch (IOException | IndexOutOfBoundsException | NullPointerException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, @Nullable String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    @Nullable
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > input.available()) {
+            throw new EOFException();
+        }
+
+        byte[] value = new byte[length];
+        input.readFully(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import android.util.AtomicFile;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.strivacity.android.native_sdk.auth.FlowCheckpoint;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Objects;
+
+/**
+ * Keeps the {@link FlowCheckpoint} of the running flow in a file, so the flow survives the process being killed.
+ * <p>
+ * The SDK saves a checkpoint on its background thread after every screen and removes it when the flow ends. A
+ * checkpoint holds the PKCE verifier and the session of the journey, so it is always encrypted with a
+ * {@link SessionCipher}, the same way as an {@link EncryptedSessionStore}. When the key is not available the checkpoint
+ * is dropped instead of being written in plain text, and the flow starts over if the process dies. Files are replaced
+ * atomically with {@link AtomicFile}.
+ */
+public class FlowCheckpointStore {
+
+    private static final String TAG = "FlowCheckpointStore";
+
+    private final AtomicFile file;
+
+    private final SessionCipher cipher;
+
+    private final FlowCheckpointCodec codec = new FlowCheckpointCodec();
+
+    public FlowCheckpointStore(@NonNull File file, @NonNull SessionCipher cipher) {
+        this.file = new AtomicFile(file);
+        this.cipher = Objects.requireNonNull(cipher, "cipher cannot be null");
+    }
+
+    /**
+     * A store encrypting with a hardware-backed key of the Android Keystore.
+     */
+    @NonNull
+    public static FlowCheckpointStore withAndroidKeyStore(@NonNull File file, @NonNull String keyAlias) {
+        return new FlowCheckpointStore(file, AesGcmSessionCipher.androidKeyStore(keyAlias));
+    }
+
+    /**
+     * @return the stored checkpoint, or {@code null} if there is none or it can't be read
+     */
+    @Nullable
+    @WorkerThread
+    public FlowCheckpoint load() {
+        try {
+            return codec.decode(cipher.decrypt(file.readFully()));
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (GeneralSecurityException e) {
+            // Without the key the checkpoint can never be read again
+            Log.e(TAG, "Decrypting the flow checkpoint failed, dropping it", e);
+            file.delete();
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // An unreadable checkpoint is as good as none, the flow starts over
+            Log.e(TAG, "Reading the flow checkpoint failed", e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the checkpoint, {@code null} removes the stored one. A checkpoint that can't be encrypted is not stored
+     * and the previous one is removed.
+     */
+    @WorkerThread
+    public void save(@Nullable FlowCheckpoint checkpoint) {
+        if (checkpoint == null) {
+            file.delete();
+            return;
+        }
+
+        byte[] data;
+        try {
+            data = cipher.encrypt(codec.encode(checkpoint));
+        } catch (GeneralSecurityException | RuntimeException e) {
+            // An older checkpoint would resume the flow on a screen the user already left
+            Log.e(TAG, "Encrypting the flow checkpoint failed, dropping it", e);
+            file.delete();
+            return;
+        }
+
+        FileOutputStream outputStream = null;
+        try {
+            outputStream = file.startWrite();
+            outputStream.write(data);
+            file.finishWrite(outputStream);
+        } catch (IOException | RuntimeException e) {
+            if (outputStream != null) {
+                file.failWrite(outputStream);
+            }
+            Log.e(TAG, "Writing the flow checkpoint failed", e);
+        }
+    }
+}
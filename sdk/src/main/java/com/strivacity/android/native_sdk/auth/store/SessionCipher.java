@@ -0,0 +1,16 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import androidx.annotation.NonNull;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * Encrypts the serialized session of an {@link EncryptedSessionStore}.
+ */
+public interface SessionCipher {
+    @NonNull
+    byte[] encrypt(@NonNull byte[] plaintext) throws GeneralSecurityException;
+
+    @NonNull
+    byte[] decrypt(@NonNull byte[] ciphertext) throws GeneralSecurityException;
+}
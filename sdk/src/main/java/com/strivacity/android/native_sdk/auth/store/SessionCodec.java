@@ -0,0 +1,170 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.auth.IdTokenClaims;
+import com.strivacity.android.native_sdk.auth.Session;
+import com.strivacity.android.native_sdk.util.JWTUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Compact binary format of a {@link Session}.
+ * <p>
+ * A session is written as a magic byte, the format version and a flags byte, followed by the access token, the
+ * expiration in epoch milliseconds, the ID token, the refresh token and optionally the decoded payload of the ID token.
+ * Strings and the payload are prefixed with their length, {@code -1} stands for {@code null}. A stored payload is only
+ * used after it was checked against the token, which costs about as much as decoding the token, so the stores of the
+ * SDK leave it out.
+ * <p>
+ * Data starting with <code>{</code> is the JSON format written by {@link Session#toString()} before and is still read.
+ */
+public class SessionCodec {
+
+    private static final byte MAGIC = 'S';
+    private static final byte VERSION = 1;
+
+    private static final int FLAG_EXPIRATION = 1;
+    private static final int FLAG_CLAIMS = 1 << 1;
+
+    private final boolean includeClaims;
+
+    /**
+     * @param includeClaims whether the decoded payload of the ID token is stored with the session; an ID token that
+     *                      isn't a JWT is stored without it
+     */
+    public SessionCodec(boolean includeClaims) {
+        this.includeClaims = includeClaims;
+    }
+
+    @NonNull
+    public byte[] encode(@NonNull Session session) {
+        byte[] claims = includeClaims && session.getIdToken() != null ? claims(session.getIdToken()) : null;
+
+        int flags = 0;
+        if (session.getExpiration() != null) {
+            flags |= FLAG_EXPIRATION;
+        }
+        if (claims != null) {
+            flags |= FLAG_CLAIMS;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(estimateSize(session, claims));
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(MAGIC);
+            output.writeByte(VERSION);
+            output.writeByte(flags);
+
+            writeString(output, session.getAccessToken());
+            if (session.getExpiration() != null) {
+                output.writeLong(session.getExpiration().toEpochMilli());
+            }
+            writeString(output, session.getIdToken());
+            writeString(output, session.getRefreshToken());
+            if (claims != null) {
+                writeBytes(output, claims);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @NonNull
+    public Session decode(@NonNull byte[] data) {
+        if (data.length > 0 && data[0] == '{') {
+            return new Session(new String(data, StandardCharsets.UTF_8));
+        }
+
+        if (data.length < 3 || data[0] != MAGIC) {
+            throw new RuntimeException("Not a stored session");
+        }
+        if (data[1] > VERSION) {
+            throw new RuntimeException("Unsupported session format version " + data[1]);
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data, 3, data.length - 3))) {
+            int flags = data[2];
+            Session session = new Session();
+
+            session.setAccessToken(readString(input));
+            if ((flags & FLAG_EXPIRATION) != 0) {
+                session.setExpiration(Instant.ofEpochMilli(input.readLong()));
+            }
+            String idToken = readString(input);
+            session.setRefreshToken(readString(input));
+
+            if (idToken != null && (flags & FLAG_CLAIMS) != 0) {
+                session.setIdToken(idToken, IdTokenClaims.of(idToken, readBytes(input)));
+            } else if (idToken != null) {
+                session.setIdToken(idToken);
+            }
+
+            return session;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Nullable
+    private static byte[] claims(String idToken) {
+        try {
+            return JWTUtils.payload(idToken);
+        } catch (RuntimeException e) {
+            // The session is still stored, its claims are decoded from the token when they are read
+            return null;
+        }
+    }
+
+    private static int estimateSize(Session session, @Nullable byte[] claims) {
+        int size = 3 + 8 + 4 * 4;
+        size += session.getAccessToken() == null ? 0 : session.getAccessToken().length();
+        size += session.getIdToken() == null ? 0 : session.getIdToken().length();
+        size += session.getRefreshToken() == null ? 0 : session.getRefreshToken().length();
+        size += claims == null ? 0 : claims.length;
+        return size;
+    }
+
+    private static void writeString(DataOutputStream output, @Nullable String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            writeBytes(output, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] value) throws IOException {
+        output.writeInt(value.length);
+        output.write(value);
+    }
+
+    @Nullable
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] value = readBytes(input);
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > input.available()) {
+            throw new EOFException();
+        }
+
+        byte[] value = new byte[length];
+        input.readFully(value);
+        return value;
+    }
+}
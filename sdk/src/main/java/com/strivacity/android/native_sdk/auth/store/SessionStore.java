@@ -0,0 +1,33 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.strivacity.android.native_sdk.auth.Session;
+
+/**
+ * Persists the {@link Session} of a {@link com.strivacity.android.native_sdk.NativeSDK} between app starts.
+ * <p>
+ * The SDK only calls a store from its background thread; implementations may still block on disk.
+ */
+public interface SessionStore {
+    /**
+     * @return the stored session, or {@code null} if there is none
+     */
+    @Nullable
+    @WorkerThread
+    Session load();
+
+    /**
+     * Stores the session, {@code null} removes the stored one. Implementations may write in the background, a
+     * following {@link #load()} must still return the saved session.
+     */
+    @WorkerThread
+    void save(@Nullable Session session);
+
+    /**
+     * Blocks until every saved session is written.
+     */
+    @WorkerThread
+    default void flush() {}
+}
@@ -0,0 +1,40 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.auth.Session;
+
+/**
+ * Stores the session as JSON in {@link SharedPreferences}, the way the SDK always did.
+ */
+public class SharedPreferencesSessionStore implements SessionStore {
+
+    private final SharedPreferences sharedPreferences;
+    private final String key;
+
+    public SharedPreferencesSessionStore(@NonNull SharedPreferences sharedPreferences, @NonNull String key) {
+        this.sharedPreferences = sharedPreferences;
+        this.key = key;
+    }
+
+    @Nullable
+    @Override
+    public Session load() {
+        String data = sharedPreferences.getString(key, null);
+        return data == null ? null : new Session(data);
+    }
+
+    @Override
+    public void save(@Nullable Session session) {
+        SharedPreferences.Editor edit = sharedPreferences.edit();
+        if (session == null) {
+            edit.remove(key);
+        } else {
+            edit.putString(key, session.toString());
+        }
+        edit.apply();
+    }
+}
@@ -0,0 +1,33 @@
+package com.strivacity.android.native_sdk.fallback;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+/**
+ * Opens the hosted journey in a browser when a screen can't be rendered natively.
+ * <p>
+ * Implementations are told about the hosted URL of every screen, so the browser can get ready for it before it is
+ * needed. Methods can be called from any thread unless noted otherwise.
+ */
+public interface BrowserFallback {
+    /**
+     * Starts the browser ahead of time. Calling it again while it is still warm does nothing.
+     */
+    void warmUp();
+
+    /**
+     * Hints that the journey may continue at this URL, e.g. the hosted URL of the current screen.
+     */
+    void mayLaunch(@NonNull String url);
+
+    /**
+     * @throws RuntimeException if no browser could be launched
+     */
+    @MainThread
+    void launch(@NonNull String url);
+
+    /**
+     * Releases the browser, the next {@link #warmUp()} starts it again.
+     */
+    void release();
+}
@@ -0,0 +1,157 @@
+package com.strivacity.android.native_sdk.fallback;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.browser.customtabs.CustomTabsClient;
+import androidx.browser.customtabs.CustomTabsIntent;
+import androidx.browser.customtabs.CustomTabsServiceConnection;
+import androidx.browser.customtabs.CustomTabsSession;
+
+import com.strivacity.android.native_sdk.util.Logging;
+
+import java.util.Objects;
+
+/**
+ * Opens the hosted journey in a Custom Tab of Chrome.
+ * <p>
+ * {@link #warmUp()} binds the Custom Tabs service of the browser, which starts its process, and opens a session that
+ * is reused for every hint and launch. The hosted URL of each screen is passed to
+ * {@link CustomTabsSession#mayLaunchUrl}, so the browser can connect and load the page before the fallback is
+ * launched. Hints given before the service is connected are sent once it is, only the latest one is kept.
+ */
+public class CustomTabsFallback implements BrowserFallback {
+
+    public static final String BROWSER_PACKAGE = "com.android.chrome";
+
+    private final Context context;
+    private final Logging logging;
+
+    private CustomTabsServiceConnection connection;
+    private CustomTabsSession session;
+
+    /**
+     * The latest URL that was hinted
+     */
+    private String url;
+
+    /**
+     * The URL the current session was told about
+     */
+    private String hintedUrl;
+
+    /**
+     * @param context launches the Custom Tab, e.g. the activity hosting the journey; the service is bound with its
+     *                application context
+     */
+    public CustomTabsFallback(@NonNull Context context, @NonNull Logging logging) {
+        this.context = context;
+        this.logging = logging;
+    }
+
+    @Override
+    public synchronized void warmUp() {
+        if (connection != null) {
+            return;
+        }
+
+        CustomTabsServiceConnection serviceConnection = new CustomTabsServiceConnection() {
+            @Override
+            public void onCustomTabsServiceConnected(@NonNull ComponentName name, @NonNull CustomTabsClient client) {
+                connected(this, client);
+            }
+
+            @Override
+            public void onServiceDisconnected(ComponentName name) {
+                disconnected(this);
+            }
+        };
+
+        try {
+            boolean bound = CustomTabsClient.bindCustomTabsService(
+                context.getApplicationContext(),
+                BROWSER_PACKAGE,
+                serviceConnection
+            );
+            if (bound) {
+                connection = serviceConnection;
+            } else {
+                logging.debug("Custom Tabs service is not available, the fallback starts cold");
+            }
+        } catch (SecurityException e) {
+            logging.debug("Binding the Custom Tabs service failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void mayLaunch(@NonNull String url) {
+        this.url = url;
+        hint();
+    }
+
+    @Override
+    @MainThread
+    public void launch(@NonNull String url) {
+        CustomTabsSession current;
+        synchronized (this) {
+            current = session;
+        }
+
+        CustomTabsIntent customTabsIntent = new CustomTabsIntent.Builder(current).build();
+        customTabsIntent.intent.setPackage(BROWSER_PACKAGE);
+
+        customTabsIntent.intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP);
+        customTabsIntent.intent.addFlags(Intent.FLAG_ACTIVITY_NO_HISTORY);
+
+        customTabsIntent.launchUrl(context, Uri.parse(url));
+    }
+
+    @Override
+    public synchronized void release() {
+        if (connection != null) {
+            try {
+                context.getApplicationContext().unbindService(connection);
+            } catch (IllegalArgumentException e) {
+                logging.debug("Custom Tabs service was already unbound", e);
+            }
+        }
+
+        connection = null;
+        session = null;
+        url = null;
+        hintedUrl = null;
+    }
+
+    private synchronized void connected(CustomTabsServiceConnection from, CustomTabsClient client) {
+        if (from != connection) {
+            // released in the meantime
+            return;
+        }
+
+        client.warmup(0);
+        session = client.newSession(null);
+        hintedUrl = null;
+        hint();
+    }
+
+    private synchronized void disconnected(CustomTabsServiceConnection from) {
+        if (from == connection) {
+            // the browser process died, the service reconnects when it starts again
+            session = null;
+        }
+    }
+
+    private void hint() {
+        if (session == null || url == null || Objects.equals(url, hintedUrl)) {
+            return;
+        }
+
+        if (session.mayLaunchUrl(Uri.parse(url), null, null)) {
+            hintedUrl = url;
+        }
+    }
+}
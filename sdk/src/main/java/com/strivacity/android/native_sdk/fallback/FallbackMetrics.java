@@ -0,0 +1,54 @@
+package com.strivacity.android.native_sdk.fallback;
+
+import androidx.annotation.NonNull;
+
+import com.strivacity.android.native_sdk.render.RenderCapabilities;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the screens that continued in the browser: by the type the capability scan found unsupported, and the ones
+ * that only failed later, while they were loaded or rendered.
+ */
+public class FallbackMetrics {
+
+    private final Map<RenderCapabilities.Unsupported, AtomicLong> unsupported = new ConcurrentHashMap<>();
+    private final AtomicLong failures = new AtomicLong();
+
+    public void recordUnsupported(@NonNull RenderCapabilities.Unsupported cause) {
+        unsupported.computeIfAbsent(cause, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    /**
+     * @return the number of fallbacks per unsupported type
+     */
+    @NonNull
+    public Map<RenderCapabilities.Unsupported, Long> getUnsupported() {
+        Map<RenderCapabilities.Unsupported, Long> counts = new HashMap<>();
+        unsupported.forEach((cause, count) -> counts.put(cause, count.get()));
+        return counts;
+    }
+
+    public long getUnsupportedCount() {
+        long total = 0;
+        for (AtomicLong count : unsupported.values()) {
+            total += count.get();
+        }
+
+        return total;
+    }
+
+    /**
+     * Fallbacks the scan didn't predict, e.g. error responses or widgets that failed to build
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+}
@@ -0,0 +1,238 @@
+package com.strivacity.android.native_sdk.headless;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.fallback.BrowserFallback;
+import com.strivacity.android.native_sdk.util.HttpClient;
+import com.strivacity.android.native_sdk.util.JSON;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Runs a journey without building any views: every screen is emitted as a {@link Screen} and forms are submitted as
+ * maps of widget IDs to values.
+ * <p>
+ * Requests run one after the other on the worker executor, screens and errors are delivered in the same order on the
+ * callback executor. The flow only depends on a {@link Journey}, so it runs on a plain JVM as well.
+ */
+public class HeadlessFlow {
+
+    /**
+     * The requests of a journey, see {@link com.strivacity.android.native_sdk.auth.Flow}
+     */
+    public interface Journey {
+        /**
+         * Starts the session of the journey.
+         *
+         * @return {@code false} if the journey was finished right away, e.g. by an existing login
+         */
+        boolean start();
+
+        HttpClient.HttpResponse init();
+
+        HttpClient.HttpResponse submit(String formId, String requestBody);
+
+        /**
+         * Completes the journey at the finalize URL of a response.
+         *
+         * @return {@code false} if the journey continues in a new session, it is initialized again
+         */
+        boolean complete(String finalizeUrl);
+    }
+
+    private final Journey journey;
+    private final Executor worker;
+    private final Executor callbacks;
+    private final Consumer<Screen> onScreen;
+    private final Consumer<Throwable> onError;
+
+    @Nullable
+    private final BrowserFallback browserFallback;
+
+    /**
+     * The last screen that was emitted
+     */
+    @Getter
+    @Nullable
+    private volatile Screen screen;
+
+    /**
+     * URL of the hosted journey, apps can continue there if the journey can't be rendered natively
+     */
+    @Getter
+    @Nullable
+    private volatile String fallbackUrl;
+
+    private volatile boolean cancelled;
+
+    public HeadlessFlow(
+        @NonNull Journey journey,
+        @NonNull Executor worker,
+        @NonNull Executor callbacks,
+        @NonNull Consumer<Screen> onScreen,
+        @NonNull Consumer<Throwable> onError
+    ) {
+        this(journey, worker, callbacks, onScreen, onError, null);
+    }
+
+    /**
+     * @param browserFallback gets the fallback URL of every screen ahead of time, see {@link #launchFallback()}
+     */
+    public HeadlessFlow(
+        @NonNull Journey journey,
+        @NonNull Executor worker,
+        @NonNull Executor callbacks,
+        @NonNull Consumer<Screen> onScreen,
+        @NonNull Consumer<Throwable> onError,
+        @Nullable BrowserFallback browserFallback
+    ) {
+        this.journey = journey;
+        this.worker = worker;
+        this.callbacks = callbacks;
+        this.onScreen = onScreen;
+        this.onError = onError;
+        this.browserFallback = browserFallback;
+    }
+
+    public void start() {
+        execute(() -> {
+            if (journey.start()) {
+                show(journey.init());
+            }
+        });
+    }
+
+    /**
+     * Submits a form. Widget IDs are dotted paths into the request body, {@code null} and empty values are left out.
+     */
+    public void submit(@NonNull String formId, @NonNull Map<String, ?> values) {
+        execute(() -> show(journey.submit(formId, requestBody(values))));
+    }
+
+    /**
+     * Loads the current screen of the journey again.
+     */
+    public void refresh() {
+        execute(() -> show(journey.init()));
+    }
+
+    /**
+     * Stops emitting screens and errors, requests that are already running still complete.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Continues the journey at the fallback URL in the browser, e.g. when the app can't render the current screen.
+     *
+     * @throws IllegalStateException if the flow has no browser fallback or no screen was loaded yet
+     */
+    @MainThread
+    public void launchFallback() {
+        String url = fallbackUrl;
+        if (browserFallback == null || url == null) {
+            throw new IllegalStateException("No fallback to launch");
+        }
+
+        browserFallback.launch(url);
+    }
+
+    @NonNull
+    static String requestBody(@NonNull Map<String, ?> values) {
+        JSONObject body = new JSONObject();
+        try {
+            for (Map.Entry<String, ?> entry : values.entrySet()) {
+                if (entry.getValue() != null && !"".equals(entry.getValue())) {
+                    JSON.put(body, entry.getKey(), entry.getValue());
+                }
+            }
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+
+        return body.toString();
+    }
+
+    private void show(HttpClient.HttpResponse response) {
+        if (cancelled) {
+            return;
+        }
+
+        if (response.getResponseCode() != 200) {
+            throw new RuntimeException(String.format("Invalid response status code: %s", response.getResponseCode()));
+        }
+
+        JSON json;
+        try {
+            json = new JSON(new JSONObject(response.getBody()));
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+
+        fallbackUrl = json.string("hostedUrl");
+        if (browserFallback != null && fallbackUrl != null) {
+            browserFallback.mayLaunch(fallbackUrl);
+        }
+
+        if (!json.isNull("finalizeUrl")) {
+            if (!journey.complete(json.string("finalizeUrl"))) {
+                show(journey.init());
+            }
+            return;
+        }
+
+        Screen next = Screen.parse(json, screen);
+        screen = next;
+        callbacks.execute(() -> {
+            if (!cancelled) {
+                onScreen.accept(next);
+            }
+        });
+    }
+
+    /**
+     * Runs a request on the worker, a request the worker rejects is reported like a failed one
+     */
+    private void execute(Runnable request) {
+        try {
+            worker.execute(() -> run(request));
+        } catch (RejectedExecutionException e) {
+            fail(e);
+        }
+    }
+
+    private void run(Runnable request) {
+        if (cancelled) {
+            return;
+        }
+
+        try {
+            request.run();
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    private void fail(Exception e) {
+        callbacks.execute(() -> {
+            if (!cancelled) {
+                onError.accept(e);
+            }
+        });
+    }
+}
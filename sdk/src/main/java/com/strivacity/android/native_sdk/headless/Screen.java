@@ -0,0 +1,137 @@
+package com.strivacity.android.native_sdk.headless;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.render.models.BrandingModel;
+import com.strivacity.android.native_sdk.render.models.FormModel;
+import com.strivacity.android.native_sdk.render.models.LayoutModel;
+import com.strivacity.android.native_sdk.util.JSON;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A screen of a journey as plain models, for apps that render the journey themselves.
+ */
+@Value
+public class Screen {
+
+    @Value
+    public static class Message {
+
+        String type;
+        String text;
+
+        public boolean isError() {
+            return "error".equals(type);
+        }
+    }
+
+    String screenId;
+
+    @Nullable
+    BrandingModel branding;
+
+    LayoutModel.SingleLayoutModel layout;
+
+    List<FormModel> forms;
+
+    /**
+     * Message of the whole screen, e.g. when the submitted credentials were wrong
+     */
+    @Nullable
+    Message globalMessage;
+
+    /**
+     * Messages of widgets by form ID and widget ID
+     */
+    Map<String, Map<String, Message>> messages;
+
+    @Nullable
+    public FormModel getForm(@NonNull String formId) {
+        for (FormModel form : forms) {
+            if (formId.equals(form.getId())) {
+                return form;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    public Message getMessage(@NonNull String formId, @NonNull String widgetId) {
+        Map<String, Message> formMessages = messages.get(formId);
+        return formMessages == null ? null : formMessages.get(widgetId);
+    }
+
+    /**
+     * Reads the screen of a response. Responses without a layout only carry messages for the current screen, they
+     * keep everything else of {@code current}.
+     */
+    @NonNull
+    static Screen parse(@NonNull JSON json, @Nullable Screen current) {
+        if (json.isNull("layout") && json.isNull("messages")) {
+            throw new RuntimeException("Response has neither a layout nor messages");
+        }
+
+        Message globalMessage = null;
+        Map<String, Map<String, Message>> messages = Collections.emptyMap();
+        if (!json.isNull("messages")) {
+            JSON messagesJson = json.object("messages");
+            messages = new LinkedHashMap<>();
+
+            for (String formId : messagesJson.keys()) {
+                JSON formMessages = messagesJson.object(formId);
+                if ("global".equalsIgnoreCase(formId)) {
+                    globalMessage = message(formMessages);
+                    continue;
+                }
+
+                Map<String, Message> widgetMessages = new LinkedHashMap<>();
+                for (String widgetId : formMessages.keys()) {
+                    widgetMessages.put(widgetId, message(formMessages.object(widgetId)));
+                }
+                messages.put(formId, Collections.unmodifiableMap(widgetMessages));
+            }
+            messages = Collections.unmodifiableMap(messages);
+        }
+
+        BrandingModel branding = json.isNull("branding") ? null : new BrandingModel(json.object("branding"));
+
+        if (json.isNull("layout") || json.isNull("forms")) {
+            if (current == null) {
+                throw new RuntimeException("Messages received before any screen");
+            }
+
+            return new Screen(
+                current.screenId,
+                branding != null ? branding : current.branding,
+                current.layout,
+                current.forms,
+                globalMessage,
+                messages
+            );
+        }
+
+        return new Screen(
+            json.string("screen"),
+            branding != null ? branding : current == null ? null : current.branding,
+            new LayoutModel.SingleLayoutModel(json.object("layout")),
+            Collections.unmodifiableList(
+                json.list("forms").stream().map(FormModel::new).collect(Collectors.toList())
+            ),
+            globalMessage,
+            messages
+        );
+    }
+
+    private static Message message(JSON json) {
+        return new Message(json.string("type"), json.string("text"));
+    }
+}
@@ -5,6 +5,7 @@ import android.view.View;
 import com.strivacity.android.native_sdk.render.models.BrandingModel;
 import com.strivacity.android.native_sdk.render.models.FormModel;
 import com.strivacity.android.native_sdk.render.models.WidgetModel;
+import com.strivacity.android.native_sdk.render.validation.FormValidator;
 import com.strivacity.android.native_sdk.render.widgets.CloseWidget;
 import com.strivacity.android.native_sdk.render.widgets.EditableWidget;
 import com.strivacity.android.native_sdk.render.widgets.SubmitWidget;
@@ -14,8 +15,11 @@ import com.strivacity.android.native_sdk.util.JSON;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -25,6 +29,12 @@ public class Form {
     private final FormModel model;
     private final Map<String, Widget> widgets;
 
+    @Getter(AccessLevel.NONE)
+    private final FormValidator validator;
+
+    @Getter(AccessLevel.NONE)
+    private final RequestBodyWriter requestBodyWriter;
+
     public Form(FormModel model, ViewFactory viewFactory, BrandingModel brandingModel, String screenId) {
         this.model = model;
         this.widgets =
@@ -37,6 +47,25 @@ public class Form {
                         widgetModel -> viewFactory.widget(widgetModel, brandingModel, screenId, widgetModel.getId())
                     )
                 );
+
+        this.validator = new FormValidator(viewFactory.getContext().getResources(), model);
+        widgets.forEach((widgetId, widget) -> {
+            if (widget instanceof EditableWidget && validator.hasValidator(widgetId)) {
+                EditableWidget editable = (EditableWidget) widget;
+                editable.setOnValueChangeListener(() -> validator.onValueChanged(widgetId, editable));
+            }
+        });
+
+        this.requestBodyWriter = new RequestBodyWriter(model.getWidgets(), widgets);
+    }
+
+    /**
+     * Runs the client-side validators of the form and shows their errors.
+     *
+     * @return {@code true} if the form can be sent to the server
+     */
+    public boolean validate() {
+        return validator.validate(widgets);
     }
 
     public String getId() {
@@ -57,6 +86,13 @@ public class Form {
             .forEach(value -> ((CloseWidget) value).setOnClickListener(onCloseClickListener));
     }
 
+    /**
+     * Writes the same body as {@link #requestBody()} directly to the given writer, without building a JSON tree.
+     */
+    public void writeRequestBody(Writer writer) throws IOException {
+        requestBodyWriter.write(writer);
+    }
+
     public JSONObject requestBody() {
         JSONObject requestBody = new JSONObject();
 
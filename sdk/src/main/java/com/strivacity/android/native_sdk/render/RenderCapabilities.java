@@ -0,0 +1,213 @@
+package com.strivacity.android.native_sdk.render;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.render.widgets.select.searchable.SearchableSelectWidget;
+import com.strivacity.android.native_sdk.util.JSON;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The layout, widget, render and input mode types the SDK can render natively.
+ * <p>
+ * {@link #scan(JSON)} checks the payload of a screen against them before any model or view is built. Models, widgets
+ * and the view factory each reject unknown types at a different stage, so without the scan a screen can be half
+ * rendered before it turns out to need the browser. View factories that render further types register them with
+ * {@link #supportRenderType} and {@link #supportInputMode} before the first screen is shown.
+ */
+public class RenderCapabilities {
+
+    public enum Kind {
+        LAYOUT,
+        WIDGET,
+        RENDER_TYPE,
+        INPUT_MODE,
+        OPTION
+    }
+
+    /**
+     * The first type of a screen that can't be rendered natively.
+     */
+    @Value
+    public static class Unsupported {
+
+        Kind kind;
+
+        /**
+         * Type of the widget the unsupported type belongs to, {@code null} for layouts
+         */
+        @Nullable
+        String widgetType;
+
+        /**
+         * The unsupported type, {@code null} if it is missing from the payload
+         */
+        @Nullable
+        String type;
+    }
+
+    private static final String WIDGET_ITEM = "widget";
+
+    private final Set<String> layoutTypes = new HashSet<>(Arrays.asList("horizontal", "vertical"));
+
+    private final Set<String> widgetTypes = new HashSet<>(
+        Arrays.asList(
+            "static",
+            "input",
+            "password",
+            "checkbox",
+            "submit",
+            "select",
+            "multiSelect",
+            "passcode",
+            "phone",
+            "date",
+            "close"
+        )
+    );
+
+    /**
+     * Render types of the widgets that are rendered differently by type, widgets without an entry have none
+     */
+    private final Map<String, Set<String>> renderTypes = new ConcurrentHashMap<>();
+
+    private final Set<String> inputModes = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> optionTypes = new HashSet<>(Arrays.asList("item", "group"));
+
+    public RenderCapabilities() {
+        supportRenderType("static", "html");
+        supportRenderType("static", "text");
+        supportRenderType("checkbox", "checkboxShown");
+        supportRenderType("checkbox", "checkboxHidden");
+        supportRenderType("submit", "button");
+        supportRenderType("submit", "link");
+        supportRenderType("close", "button");
+        supportRenderType("close", "link");
+        supportRenderType("select", "radio");
+        supportRenderType("select", "dropdown");
+        supportRenderType("select", SearchableSelectWidget.RENDER_TYPE);
+        supportRenderType("date", "native");
+        supportRenderType("date", "fieldSet");
+        supportInputMode("email");
+    }
+
+    public void supportRenderType(@NonNull String widgetType, @NonNull String renderType) {
+        renderTypes.computeIfAbsent(widgetType, key -> ConcurrentHashMap.newKeySet()).add(renderType);
+    }
+
+    public void supportInputMode(@NonNull String inputMode) {
+        inputModes.add(inputMode);
+    }
+
+    /**
+     * Walks the layout and the widgets of a screen payload without building anything.
+     *
+     * @return the first type that can't be rendered natively, or {@code null} if the whole screen can be
+     */
+    @Nullable
+    public Unsupported scan(@NonNull JSON screen) {
+        if (!screen.isNull("layout")) {
+            Unsupported unsupported = scanLayout(screen.object("layout"));
+            if (unsupported != null) {
+                return unsupported;
+            }
+        }
+
+        if (!screen.isNull("forms")) {
+            for (JSON form : screen.list("forms")) {
+                if (form.isNull("widgets")) {
+                    continue;
+                }
+
+                for (JSON widget : form.list("widgets")) {
+                    Unsupported unsupported = scanWidget(widget);
+                    if (unsupported != null) {
+                        return unsupported;
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private Unsupported scanLayout(JSON layout) {
+        String type = layout.string("type");
+        if (!layoutTypes.contains(type)) {
+            return new Unsupported(Kind.LAYOUT, null, type);
+        }
+
+        if (layout.isNull("items")) {
+            return null;
+        }
+
+        for (JSON item : layout.list("items")) {
+            if (WIDGET_ITEM.equals(item.string("type"))) {
+                continue;
+            }
+
+            Unsupported unsupported = scanLayout(item);
+            if (unsupported != null) {
+                return unsupported;
+            }
+        }
+
+        return null;
+    }
+
+    private Unsupported scanWidget(JSON widget) {
+        String type = widget.string("type");
+        if (!widgetTypes.contains(type)) {
+            return new Unsupported(Kind.WIDGET, type, type);
+        }
+
+        Set<String> supportedRenderTypes = renderTypes.get(type);
+        if (supportedRenderTypes != null) {
+            JSON render = widget.object("render");
+            String renderType = render == null ? null : render.string("type");
+            if (renderType == null || !supportedRenderTypes.contains(renderType)) {
+                return new Unsupported(Kind.RENDER_TYPE, type, renderType);
+            }
+        }
+
+        if ("input".equals(type) && !widget.isNull("inputmode")) {
+            String inputMode = widget.string("inputmode");
+            if (!inputModes.contains(inputMode)) {
+                return new Unsupported(Kind.INPUT_MODE, type, inputMode);
+            }
+        }
+
+        if (("select".equals(type) || "multiSelect".equals(type)) && !widget.isNull("options")) {
+            return scanOptions(type, widget.list("options"));
+        }
+
+        return null;
+    }
+
+    private Unsupported scanOptions(String widgetType, List<JSON> options) {
+        for (JSON option : options) {
+            String type = option.string("type");
+            if (!optionTypes.contains(type)) {
+                return new Unsupported(Kind.OPTION, widgetType, type);
+            }
+
+            if (!option.isNull("options")) {
+                Unsupported unsupported = scanOptions(widgetType, option.list("options"));
+                if (unsupported != null) {
+                    return unsupported;
+                }
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.strivacity.android.native_sdk.render;
+
+import android.util.JsonWriter;
+
+import com.strivacity.android.native_sdk.render.models.WidgetModel;
+import com.strivacity.android.native_sdk.render.widgets.EditableWidget;
+import com.strivacity.android.native_sdk.render.widgets.Widget;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the request body of a form straight to a stream.
+ * <p>
+ * Widget ids are dotted paths into the body ({@code identifier}, {@code attributes.address.city}, ...). The paths are
+ * split once when the form is built into a tree of fields, which is not changed afterwards. A submit walks that tree
+ * twice: first it reads the values of the widgets and marks the objects that end up non-empty, then it writes them
+ * with a {@link JsonWriter}. The values and marks live in arrays of the submit, indexed by field, so concurrent submits
+ * of a form don't share them. No intermediate JSON tree or body string is created, only what the widgets themselves
+ * return.
+ * <p>
+ * Like the former {@code JSON.put} based body, readonly widgets and empty values are left out, and so are objects
+ * without any value.
+ */
+class RequestBodyWriter {
+
+    private final Field root = new Field(null);
+
+    private final int fieldCount;
+
+    RequestBodyWriter(List<WidgetModel> widgetModels, Map<String, Widget> widgets) {
+        for (WidgetModel widgetModel : widgetModels) {
+            Widget widget = widgets.get(widgetModel.getId());
+            if (widget instanceof EditableWidget) {
+                root.add(widgetModel.getId(), 0, (EditableWidget) widget);
+            }
+        }
+
+        fieldCount = root.compile(0);
+    }
+
+    void write(Writer writer) throws IOException {
+        Values values = new Values(fieldCount);
+        root.collect(values);
+
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        root.writeObject(jsonWriter, values);
+        jsonWriter.flush();
+    }
+
+    private static void writeValue(JsonWriter jsonWriter, Object value) throws IOException {
+        if (value == null) {
+            jsonWriter.nullValue();
+        } else if (value instanceof Boolean) {
+            jsonWriter.value((Boolean) value);
+        } else if (value instanceof Number) {
+            jsonWriter.value((Number) value);
+        } else if (value instanceof Collection) {
+            jsonWriter.beginArray();
+            for (Object item : (Collection<?>) value) {
+                writeValue(jsonWriter, item);
+            }
+            jsonWriter.endArray();
+        } else if (value instanceof Map) {
+            jsonWriter.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                jsonWriter.name(String.valueOf(entry.getKey()));
+                writeValue(jsonWriter, entry.getValue());
+            }
+            jsonWriter.endObject();
+        } else {
+            jsonWriter.value(value.toString());
+        }
+    }
+
+    /**
+     * State of one write, indexed by {@link Field#index}
+     */
+    private static class Values {
+
+        /**
+         * Values of the widgets
+         */
+        final Object[] values;
+
+        /**
+         * Whether a field is written
+         */
+        final boolean[] present;
+
+        Values(int fieldCount) {
+            values = new Object[fieldCount];
+            present = new boolean[fieldCount];
+        }
+    }
+
+    private static class Field {
+
+        final String name;
+        EditableWidget widget;
+        Map<String, Field> childrenByName = new LinkedHashMap<>();
+        Field[] children;
+        int index;
+
+        Field(String name) {
+            this.name = name;
+        }
+
+        void add(String path, int from, EditableWidget widget) {
+            int dot = path.indexOf('.', from);
+            String part = dot < 0 ? path.substring(from) : path.substring(from, dot);
+
+            Field child = childrenByName.get(part);
+            if (child == null) {
+                child = new Field(part);
+                childrenByName.put(part, child);
+            }
+
+            if (dot < 0) {
+                child.widget = widget;
+            } else {
+                child.add(path, dot + 1, widget);
+            }
+        }
+
+        /**
+         * @return the next free index after this field and its children
+         */
+        int compile(int index) {
+            this.index = index;
+            children = new ArrayList<>(childrenByName.values()).toArray(new Field[0]);
+            childrenByName = null;
+
+            int next = index + 1;
+            for (Field child : children) {
+                next = child.compile(next);
+            }
+            return next;
+        }
+
+        boolean collect(Values values) {
+            boolean present = false;
+
+            if (widget != null && !widget.isReadonly()) {
+                Object widgetValue = widget.getValue();
+                if (widgetValue != null && !"".equals(widgetValue)) {
+                    values.values[index] = widgetValue;
+                    present = true;
+                }
+            }
+
+            // A widget value wins over nested fields of the same name, but the nested widgets are still read
+            for (Field child : children) {
+                present |= child.collect(values);
+            }
+
+            values.present[index] = present;
+            return present;
+        }
+
+        void writeObject(JsonWriter jsonWriter, Values values) throws IOException {
+            jsonWriter.beginObject();
+
+            for (Field child : children) {
+                if (!values.present[child.index]) {
+                    continue;
+                }
+
+                jsonWriter.name(child.name);
+                Object value = values.values[child.index];
+                if (value != null) {
+                    writeValue(jsonWriter, value);
+                } else {
+                    child.writeObject(jsonWriter, values);
+                }
+            }
+
+            jsonWriter.endObject();
+        }
+    }
+}
@@ -16,6 +16,7 @@ import com.strivacity.android.native_sdk.util.HttpClient;
 import com.strivacity.android.native_sdk.util.JSON;
 import com.strivacity.android.native_sdk.util.Logging;
 
+import org.json.JSONException;
 import org.json.JSONObject;
 
 import lombok.Getter;
@@ -49,25 +50,58 @@ public class ScreenRenderer {
     @Getter
     private Uri fallbackUrl;
 
+    /**
+     * Body of the response the current screen was rendered from, without its messages: they belong to the submission
+     * that got the response and are stale once the screen is shown again. Responses that only carry messages for the
+     * current screen don't change it.
+     */
+    @Getter
+    private String screenBody;
+
     public void showScreen(HttpClient.HttpResponse httpResponse) {
         if (httpResponse.getResponseCode() == 200) {
-            try {
-                JSON json = new JSON(new JSONObject(httpResponse.getBody()));
-                fallbackUrl = Uri.parse(json.string("hostedUrl"));
-
-                if (!json.isNull("finalizeUrl")) {
-                    finalizeAction.accept(Uri.parse(json.string("finalizeUrl")));
-                } else {
-                    showScreen(json);
-                }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+            showScreen(httpResponse.getBody());
         } else {
             throw new RuntimeException();
         }
     }
 
+    /**
+     * Shows the screen of a response body, e.g. the one kept in a flow checkpoint.
+     *
+     * @throws UnsupportedScreenException before anything is built if the screen can't be rendered natively
+     */
+    public void showScreen(String body) {
+        try {
+            JSON json = new JSON(new JSONObject(body));
+            fallbackUrl = Uri.parse(json.string("hostedUrl"));
+
+            if (!json.isNull("finalizeUrl")) {
+                finalizeAction.accept(Uri.parse(json.string("finalizeUrl")));
+            } else {
+                RenderCapabilities.Unsupported unsupported = viewFactory.getCapabilities().scan(json);
+                if (unsupported != null) {
+                    throw new UnsupportedScreenException(unsupported);
+                }
+
+                showScreen(json);
+                if (!json.isNull("layout") && !json.isNull("forms")) {
+                    screenBody = json.isNull("messages") ? body : withoutMessages(body);
+                }
+            }
+        } catch (UnsupportedScreenException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String withoutMessages(String body) throws JSONException {
+        JSONObject screen = new JSONObject(body);
+        screen.remove("messages");
+        return screen.toString();
+    }
+
     private void showScreen(JSON json) {
         if (json.isNull("layout") && json.isNull("messages")) {
             throw new RuntimeException();
@@ -155,6 +189,7 @@ public class ScreenRenderer {
 
         // Focus on the first error field in the layout
 
+        viewFactory.getContext().getMainExecutor().execute(layout::materializeAll);
         for (Map.Entry<String, Form> form : forms.entrySet()) {
             for (WidgetModel widgetModel : form.getValue().getModel().getWidgets()) {
                 Widget widget = form.getValue().getWidgets().get(widgetModel.getId());
@@ -182,6 +217,12 @@ public class ScreenRenderer {
         forms.forEach((formId, form) ->
             form.setOnClickListeners(
                 v -> {
+                    // Invalid widgets that were never scrolled into view have to exist before they can be focused
+                    layout.materializeAll();
+                    if (!form.validate()) {
+                        return;
+                    }
+
                     setEnabled(parentLayout, false);
                     sendFormAction.accept(form);
                 },
@@ -0,0 +1,21 @@
+package com.strivacity.android.native_sdk.render;
+
+import androidx.annotation.NonNull;
+
+import lombok.Getter;
+
+/**
+ * Thrown before a screen is rendered when the {@link RenderCapabilities capability scan} found a type the SDK can't
+ * render natively; the journey continues in the browser.
+ */
+@Getter
+public class UnsupportedScreenException extends RuntimeException {
+
+    @NonNull
+    private final RenderCapabilities.Unsupported unsupported;
+
+    public UnsupportedScreenException(@NonNull RenderCapabilities.Unsupported unsupported) {
+        super("Screen can't be rendered natively: " + unsupported);
+        this.unsupported = unsupported;
+    }
+}
@@ -2,6 +2,9 @@ package com.strivacity.android.native_sdk.render;
 
 import android.content.Context;
 
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.render.constants.Theme;
 import com.strivacity.android.native_sdk.render.models.BrandingModel;
 import com.strivacity.android.native_sdk.render.models.LayoutModel;
 import com.strivacity.android.native_sdk.render.models.WidgetModel;
@@ -17,14 +20,18 @@ import com.strivacity.android.native_sdk.render.widgets.PhoneWidget;
 import com.strivacity.android.native_sdk.render.widgets.StaticWidget;
 import com.strivacity.android.native_sdk.render.widgets.SubmitWidget;
 import com.strivacity.android.native_sdk.render.widgets.Widget;
+import com.strivacity.android.native_sdk.render.widgets.select.searchable.SearchableSelectWidget;
 import com.strivacity.android.native_sdk.render.widgets.select.simple.DropdownWidget;
 import com.strivacity.android.native_sdk.render.widgets.select.simple.RadioWidget;
 import com.strivacity.android.native_sdk.render.widgets.select.simple.SelectWidget;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 import java.util.Map;
+import java.util.Objects;
 
 @Getter
 @RequiredArgsConstructor
@@ -32,6 +39,33 @@ public class ViewFactory {
 
     private final Context context;
 
+    /**
+     * Types the factory can render, subclasses rendering further types register them here
+     */
+    private final RenderCapabilities capabilities = new RenderCapabilities();
+
+    /**
+     * Vertical layouts only build the views of their items when they are about to scroll into view
+     */
+    @Setter
+    private boolean lazyLayout;
+
+    /**
+     * Distance below the visible area (in dp) up to which lazy layouts already build their items
+     */
+    @Setter
+    private float lazyLayoutLookAhead = 480;
+
+    /**
+     * Screens are compiled into a single ConstraintLayout instead of a LinearLayout per layout model, see
+     * {@link com.strivacity.android.native_sdk.render.layout.FlatLayoutCompiler}. Takes precedence over lazy layouts.
+     */
+    @Setter
+    private boolean flatLayout;
+
+    @Getter(AccessLevel.NONE)
+    private Theme theme;
+
     public final Widget widget(WidgetModel widgetModel, BrandingModel brandingModel, String screenId, String formId) {
         if (widgetModel instanceof WidgetModel.StaticWidgetModel) {
             return getStaticView((WidgetModel.StaticWidgetModel) widgetModel, brandingModel, screenId, formId);
@@ -65,6 +99,21 @@ public class ViewFactory {
         throw new RuntimeException();
     }
 
+    /**
+     * @return the theme of the given branding; it is only built again when the styling of the branding changes
+     */
+    public Theme getTheme(@Nullable BrandingModel brandingModel) {
+        BrandingModel.Styling styling = brandingModel == null ? null : brandingModel.getStyling();
+
+        Theme theme = this.theme;
+        if (theme == null || !Objects.equals(theme.getStyling(), styling)) {
+            theme = new Theme(styling, context.getResources().getDisplayMetrics());
+            this.theme = theme;
+        }
+
+        return theme;
+    }
+
     public LayoutWidget layoutWidget(
         Map<String, Form> forms,
         BrandingModel brandingModel,
@@ -88,7 +137,7 @@ public class ViewFactory {
         String screenId,
         String formId
     ) {
-        return new InputWidget(context, inputWidgetModel);
+        return new InputWidget(context, getTheme(brandingModel), inputWidgetModel);
     }
 
     protected PasswordWidget getPasswordView(
@@ -97,7 +146,7 @@ public class ViewFactory {
         String screenId,
         String formId
     ) {
-        return new PasswordWidget(context, passwordWidgetModel);
+        return new PasswordWidget(context, getTheme(brandingModel), passwordWidgetModel);
     }
 
     protected CheckboxWidget getCheckboxView(
@@ -106,7 +155,7 @@ public class ViewFactory {
         String screenId,
         String formId
     ) {
-        return new CheckboxWidget(context, checkboxWidgetModel);
+        return new CheckboxWidget(context, getTheme(brandingModel), checkboxWidgetModel);
     }
 
     protected SubmitWidget getButtonView(
@@ -126,9 +175,11 @@ public class ViewFactory {
     ) {
         switch (selectWidgetModel.getRender().getType()) {
             case "radio":
-                return new RadioWidget(context, selectWidgetModel);
+                return new RadioWidget(context, getTheme(brandingModel), selectWidgetModel);
             case "dropdown":
-                return new DropdownWidget(context, selectWidgetModel);
+                return new DropdownWidget(context, getTheme(brandingModel), selectWidgetModel);
+            case SearchableSelectWidget.RENDER_TYPE:
+                return new SearchableSelectWidget(context, getTheme(brandingModel), selectWidgetModel);
             default:
                 throw new RuntimeException();
         }
@@ -140,7 +191,7 @@ public class ViewFactory {
         String screenId,
         String formId
     ) {
-        return new MultiSelectWidget(context, multiSelectWidgetModel);
+        return new MultiSelectWidget(context, getTheme(brandingModel), multiSelectWidgetModel);
     }
 
     protected PasscodeWidget getPasscodeView(
@@ -149,7 +200,7 @@ public class ViewFactory {
         String screenId,
         String formId
     ) {
-        return new PasscodeWidget(context, passcodeWidgetModel);
+        return new PasscodeWidget(context, getTheme(brandingModel), passcodeWidgetModel);
     }
 
     protected PhoneWidget getPhoneView(
@@ -158,7 +209,7 @@ public class ViewFactory {
         String screenId,
         String formId
     ) {
-        return new PhoneWidget(context, phoneWidgetModel);
+        return new PhoneWidget(context, getTheme(brandingModel), phoneWidgetModel);
     }
 
     protected DateWidget getDateView(
@@ -167,7 +218,7 @@ public class ViewFactory {
         String screenId,
         String formId
     ) {
-        return new DateWidget(context, dateWidgetModel);
+        return new DateWidget(context, getTheme(brandingModel), dateWidgetModel);
     }
 
     protected CloseWidget getCloseView(
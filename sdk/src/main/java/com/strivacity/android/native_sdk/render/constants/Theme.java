@@ -0,0 +1,90 @@
+package com.strivacity.android.native_sdk.render.constants;
+
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
+import android.util.DisplayMetrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.render.models.BrandingModel;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Resources the widgets derive from {@link Colors}, {@link Dimensions} and the branding, resolved once.
+ * <p>
+ * Colors are parsed, dimensions converted to pixels and shared drawables created when the theme is built. Drawables
+ * are kept as {@link Drawable.ConstantState}, every {@code new...Drawable()} call returns a drawable sharing the
+ * state instead of building and parsing it again. A {@link com.strivacity.android.native_sdk.render.ViewFactory}
+ * keeps one theme per branding; widgets created without one use {@link #getDefault()}.
+ */
+@Getter
+public class Theme {
+
+    private static volatile Theme defaultTheme;
+
+    /**
+     * The styling the theme was built from
+     */
+    @Nullable
+    private final BrandingModel.Styling styling;
+
+    private final float density;
+
+    private final int dangerColor;
+    private final int inputBorderColor;
+    private final int disabledItemColor;
+
+    /**
+     * {@link Dimensions#inputFocusTranslateY} in pixels
+     */
+    private final int inputFocusTranslateY;
+
+    @Getter(AccessLevel.NONE)
+    private final Drawable.ConstantState selectedDropdownItem;
+
+    public Theme(@Nullable BrandingModel.Styling styling, @NonNull DisplayMetrics displayMetrics) {
+        this.styling = styling;
+        this.density = displayMetrics.density;
+
+        this.dangerColor = Color.parseColor(Colors.danger);
+        this.inputBorderColor = Color.parseColor(Colors.inputBorderColor);
+        this.disabledItemColor = Color.parseColor(Colors.disabledItem);
+
+        this.inputFocusTranslateY = toPixel(Dimensions.inputFocusTranslateY);
+
+        GradientDrawable selectedDropdownItemDrawable = new GradientDrawable();
+        selectedDropdownItemDrawable.setShape(GradientDrawable.RECTANGLE);
+        selectedDropdownItemDrawable.setColor(inputBorderColor);
+        selectedDropdownItemDrawable.setStroke(toPixel(1), inputBorderColor);
+        this.selectedDropdownItem = selectedDropdownItemDrawable.getConstantState();
+    }
+
+    /**
+     * The theme of the constants, using the same display metrics as {@link Dimensions#toPixel(float)}
+     */
+    @NonNull
+    public static Theme getDefault() {
+        Theme theme = defaultTheme;
+        if (theme == null) {
+            theme = new Theme(null, Resources.getSystem().getDisplayMetrics());
+            defaultTheme = theme;
+        }
+
+        return theme;
+    }
+
+    public int toPixel(float dp) {
+        // 0.5f rounds up the value, because we cast this floating number to an integer
+        return (int) (dp * density + 0.5f);
+    }
+
+    @NonNull
+    public Drawable newSelectedDropdownItemDrawable() {
+        return selectedDropdownItem.newDrawable();
+    }
+}
@@ -0,0 +1,33 @@
+package com.strivacity.android.native_sdk.render.layout;
+
+import android.content.Context;
+
+import androidx.constraintlayout.widget.ConstraintLayout;
+
+/**
+ * The single container {@link FlatLayoutCompiler} places every widget of a screen in.
+ */
+public class FlatLayout extends ConstraintLayout implements MeasureCounting {
+
+    private int measureCount;
+
+    public FlatLayout(Context context) {
+        super(context);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        measureCount++;
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    @Override
+    public int getMeasureCount() {
+        return measureCount;
+    }
+
+    @Override
+    public void resetMeasureCount() {
+        measureCount = 0;
+    }
+}
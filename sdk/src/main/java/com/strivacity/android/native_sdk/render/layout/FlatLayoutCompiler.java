@@ -0,0 +1,249 @@
+package com.strivacity.android.native_sdk.render.layout;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.constraintlayout.widget.Barrier;
+import androidx.constraintlayout.widget.ConstraintLayout;
+import androidx.constraintlayout.widget.Guideline;
+
+import com.strivacity.android.native_sdk.render.Form;
+import com.strivacity.android.native_sdk.render.models.LayoutModel;
+import com.strivacity.android.native_sdk.render.widgets.Widget;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a layout model into a single {@link FlatLayout}.
+ * <p>
+ * Instead of a LinearLayout per layout model, the view of every referenced widget becomes a direct child of one
+ * ConstraintLayout. Vertical layouts chain their items top to bottom, and an item below a horizontal row is anchored to
+ * a barrier behind the row's tallest view. A row of widgets is a packed horizontal chain: views keep their own width
+ * and the row is centered, like in the horizontal LinearLayout. The screen is only as deep as its deepest widget plus
+ * one, and no container is measured twice because of a nested parent.
+ * <p>
+ * The flat layout differs from nested LinearLayouts in two places. Views of a row that fill their parent share the
+ * width left by the others, where the LinearLayout gives all of it to the first one. A row with nested layouts splits
+ * its width evenly between its items using percent guidelines, where the LinearLayout sizes every nested layout by its
+ * content.
+ */
+public class FlatLayoutCompiler {
+
+    private final Context context;
+    private final Map<String, Form> forms;
+    private final Map<Float, Integer> guidelines = new HashMap<>();
+    private final List<Widget> widgets = new ArrayList<>();
+    private FlatLayout layout;
+
+    public FlatLayoutCompiler(Context context, Map<String, Form> forms) {
+        this.context = context;
+        this.forms = forms;
+    }
+
+    public FlatLayout compile(LayoutModel.SingleLayoutModel layoutModel) {
+        layout = new FlatLayout(context);
+        layout.setLayoutParams(
+            new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
+        );
+        guidelines.clear();
+        widgets.clear();
+
+        place(layoutModel, 0, 1, ConstraintLayout.LayoutParams.PARENT_ID);
+
+        return layout;
+    }
+
+    /**
+     * @return the widgets placed by the last {@link #compile(LayoutModel.SingleLayoutModel)}, in layout order
+     */
+    public List<Widget> getWidgets() {
+        return Collections.unmodifiableList(widgets);
+    }
+
+    /**
+     * Places a layout model between two horizontal bounds (fractions of the width) below the given view.
+     *
+     * @return the ids of the lowest views placed, empty if nothing was placed
+     */
+    private List<Integer> place(LayoutModel layoutModel, float left, float right, int top) {
+        if (layoutModel instanceof LayoutModel.WidgetReferenceModel) {
+            View view = widgetView((LayoutModel.WidgetReferenceModel) layoutModel);
+            ConstraintLayout.LayoutParams params = layoutParams(view, ViewGroup.LayoutParams.MATCH_PARENT);
+            constrainStart(params, left);
+            constrainEnd(params, right);
+            constrainTop(params, top);
+            layout.addView(view, params);
+            return Collections.singletonList(view.getId());
+        }
+
+        if (!(layoutModel instanceof LayoutModel.SingleLayoutModel)) {
+            throw new RuntimeException();
+        }
+
+        List<LayoutModel> items = ((LayoutModel.SingleLayoutModel) layoutModel).getItems();
+        List<Integer> bottoms = new ArrayList<>();
+
+        switch (layoutModel.getType()) {
+            case "vertical":
+                int anchor = top;
+                for (LayoutModel item : items) {
+                    List<Integer> itemBottoms = place(item, left, right, anchor);
+                    if (!itemBottoms.isEmpty()) {
+                        anchor = anchorBelow(itemBottoms);
+                        bottoms = itemBottoms;
+                    }
+                }
+                return bottoms;
+            case "horizontal":
+                if (items.stream().allMatch(item -> item instanceof LayoutModel.WidgetReferenceModel)) {
+                    return chain(items, left, right, top);
+                }
+
+                float width = (right - left) / items.size();
+                for (int i = 0; i < items.size(); i++) {
+                    bottoms.addAll(place(items.get(i), left + width * i, left + width * (i + 1), top));
+                }
+                return bottoms;
+            default:
+                throw new RuntimeException();
+        }
+    }
+
+    /**
+     * Places a row of widgets as a packed horizontal chain between two horizontal bounds below the given view.
+     *
+     * @return the ids of the views placed
+     */
+    private List<Integer> chain(List<LayoutModel> items, float left, float right, int top) {
+        List<View> views = new ArrayList<>(items.size());
+        for (LayoutModel item : items) {
+            views.add(widgetView((LayoutModel.WidgetReferenceModel) item));
+        }
+
+        List<Integer> ids = new ArrayList<>(views.size());
+        for (int i = 0; i < views.size(); i++) {
+            View view = views.get(i);
+            // A horizontal LinearLayout wraps children without layout params
+            ConstraintLayout.LayoutParams params = layoutParams(view, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+            if (i == 0) {
+                constrainStart(params, left);
+                params.horizontalChainStyle = ConstraintLayout.LayoutParams.CHAIN_PACKED;
+            } else {
+                params.startToEnd = ids.get(i - 1);
+            }
+
+            if (i == views.size() - 1) {
+                constrainEnd(params, right);
+            } else {
+                params.endToStart = views.get(i + 1).getId();
+            }
+
+            constrainTop(params, top);
+            layout.addView(view, params);
+            ids.add(view.getId());
+        }
+
+        return ids;
+    }
+
+    private View widgetView(LayoutModel.WidgetReferenceModel widgetReferenceModel) {
+        Widget widget = forms
+            .get(widgetReferenceModel.getFormId())
+            .getWidgets()
+            .get(widgetReferenceModel.getWidgetId());
+        widgets.add(widget);
+
+        View view = widget.getView();
+        if (view.getId() == View.NO_ID) {
+            view.setId(View.generateViewId());
+        }
+        return view;
+    }
+
+    /**
+     * @param defaultWidth the width of a view without layout params, as its LinearLayout would give it
+     */
+    private ConstraintLayout.LayoutParams layoutParams(View view, int defaultWidth) {
+        ViewGroup.LayoutParams original = view.getLayoutParams();
+        int width = original == null ? defaultWidth : original.width;
+        int height = original == null || original.height == ViewGroup.LayoutParams.MATCH_PARENT
+            ? ViewGroup.LayoutParams.WRAP_CONTENT
+            : original.height;
+
+        // Views filling their LinearLayout fill the space between their constraints, the others are centered in it
+        ConstraintLayout.LayoutParams params = new ConstraintLayout.LayoutParams(
+            width == ViewGroup.LayoutParams.MATCH_PARENT ? ConstraintLayout.LayoutParams.MATCH_CONSTRAINT : width,
+            height
+        );
+        if (original instanceof ViewGroup.MarginLayoutParams) {
+            ViewGroup.MarginLayoutParams margins = (ViewGroup.MarginLayoutParams) original;
+            params.setMargins(margins.leftMargin, margins.topMargin, margins.rightMargin, margins.bottomMargin);
+            params.setMarginStart(margins.getMarginStart());
+            params.setMarginEnd(margins.getMarginEnd());
+        }
+
+        return params;
+    }
+
+    private void constrainStart(ConstraintLayout.LayoutParams params, float left) {
+        params.startToStart = left == 0 ? ConstraintLayout.LayoutParams.PARENT_ID : guideline(left);
+    }
+
+    private void constrainEnd(ConstraintLayout.LayoutParams params, float right) {
+        params.endToEnd = right == 1 ? ConstraintLayout.LayoutParams.PARENT_ID : guideline(right);
+    }
+
+    private void constrainTop(ConstraintLayout.LayoutParams params, int top) {
+        if (top == ConstraintLayout.LayoutParams.PARENT_ID) {
+            params.topToTop = ConstraintLayout.LayoutParams.PARENT_ID;
+        } else {
+            params.topToBottom = top;
+        }
+    }
+
+    private int anchorBelow(List<Integer> bottoms) {
+        if (bottoms.size() == 1) {
+            return bottoms.get(0);
+        }
+
+        int[] referencedIds = new int[bottoms.size()];
+        for (int i = 0; i < referencedIds.length; i++) {
+            referencedIds[i] = bottoms.get(i);
+        }
+
+        Barrier barrier = new Barrier(context);
+        barrier.setId(View.generateViewId());
+        barrier.setType(Barrier.BOTTOM);
+        barrier.setReferencedIds(referencedIds);
+        layout.addView(barrier);
+
+        return barrier.getId();
+    }
+
+    private int guideline(float percent) {
+        Integer id = guidelines.get(percent);
+        if (id != null) {
+            return id;
+        }
+
+        Guideline guideline = new Guideline(context);
+        guideline.setId(View.generateViewId());
+
+        ConstraintLayout.LayoutParams params = new ConstraintLayout.LayoutParams(
+            ConstraintLayout.LayoutParams.WRAP_CONTENT,
+            ConstraintLayout.LayoutParams.WRAP_CONTENT
+        );
+        params.orientation = ConstraintLayout.LayoutParams.VERTICAL;
+        params.guidePercent = percent;
+        layout.addView(guideline, params);
+
+        guidelines.put(percent, guideline.getId());
+        return guideline.getId();
+    }
+}
@@ -0,0 +1,98 @@
+package com.strivacity.android.native_sdk.render.layout;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+
+import lombok.Data;
+
+/**
+ * Shape and measure cost of a view hierarchy.
+ * <p>
+ * {@link #measure(View, int)} runs one full measure pass from the root and counts how often the layout containers of
+ * the SDK were measured during it. A container is measured more than once when a parent measures its children
+ * repeatedly (e.g. a {@code wrap_content} LinearLayout with {@code match_parent} children), which multiplies with
+ * every level of nesting.
+ */
+@Data
+public class LayoutMetrics {
+
+    /**
+     * Number of views on the longest path from the root to a leaf, the root included
+     */
+    private final int depth;
+
+    private final int viewCount;
+
+    /**
+     * Times the SDK's layout containers were measured during one measure pass of the root
+     */
+    private final int measurePasses;
+
+    @NonNull
+    public static LayoutMetrics measure(@NonNull View root, int widthPx) {
+        prepare(root);
+        root.measure(
+            View.MeasureSpec.makeMeasureSpec(widthPx, View.MeasureSpec.EXACTLY),
+            View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED)
+        );
+
+        return new LayoutMetrics(depth(root), viewCount(root), measurePasses(root));
+    }
+
+    private static void prepare(View view) {
+        // Without it views would skip measuring because their specs did not change since the last pass
+        view.forceLayout();
+
+        if (view instanceof MeasureCounting) {
+            ((MeasureCounting) view).resetMeasureCount();
+        }
+
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                prepare(group.getChildAt(i));
+            }
+        }
+    }
+
+    private static int depth(View view) {
+        int depth = 0;
+
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                depth = Math.max(depth, depth(group.getChildAt(i)));
+            }
+        }
+
+        return depth + 1;
+    }
+
+    private static int viewCount(View view) {
+        int count = 1;
+
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += viewCount(group.getChildAt(i));
+            }
+        }
+
+        return count;
+    }
+
+    private static int measurePasses(View view) {
+        int count = view instanceof MeasureCounting ? ((MeasureCounting) view).getMeasureCount() : 0;
+
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += measurePasses(group.getChildAt(i));
+            }
+        }
+
+        return count;
+    }
+}
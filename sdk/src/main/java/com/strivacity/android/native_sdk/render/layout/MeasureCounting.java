@@ -0,0 +1,10 @@
+package com.strivacity.android.native_sdk.render.layout;
+
+/**
+ * Layout containers of the SDK count how often they are measured, see {@link LayoutMetrics}.
+ */
+public interface MeasureCounting {
+    int getMeasureCount();
+
+    void resetMeasureCount();
+}
@@ -0,0 +1,29 @@
+package com.strivacity.android.native_sdk.render.layout;
+
+import android.content.Context;
+import android.widget.LinearLayout;
+
+public class MeasureCountingLinearLayout extends LinearLayout implements MeasureCounting {
+
+    private int measureCount;
+
+    public MeasureCountingLinearLayout(Context context) {
+        super(context);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        measureCount++;
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    @Override
+    public int getMeasureCount() {
+        return measureCount;
+    }
+
+    @Override
+    public void resetMeasureCount() {
+        measureCount = 0;
+    }
+}
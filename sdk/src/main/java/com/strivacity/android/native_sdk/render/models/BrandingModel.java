@@ -24,5 +24,6 @@ public class BrandingModel {
         this.privacyPolicyUrl = json.string("privacyPolicyUrl");
     }
 
+    @EqualsAndHashCode
     public static class Styling {}
 }
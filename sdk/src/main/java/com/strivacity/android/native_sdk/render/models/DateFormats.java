@@ -0,0 +1,220 @@
+package com.strivacity.android.native_sdk.render.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import lombok.Getter;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Date formatting of a locale, shared by every date widget of that locale.
+ * <p>
+ * The short localized pattern, its formatter and the order of the day, month and year fields are resolved once per
+ * locale. {@link DateTimeFormatter} is immutable, so the instances can be used from any thread. The ISO dates sent to
+ * the API are encoded and decoded by hand, without format strings or regular expressions.
+ */
+public final class DateFormats {
+
+    public enum Field {
+        DAY,
+        MONTH,
+        YEAR
+    }
+
+    private static final List<Field> DEFAULT_ORDER = Collections.unmodifiableList(
+        Arrays.asList(Field.YEAR, Field.MONTH, Field.DAY)
+    );
+
+    private static final Map<Locale, DateFormats> CACHE = new ConcurrentHashMap<>();
+
+    @Getter
+    private final Locale locale;
+
+    /**
+     * The short date pattern of the locale, e.g. {@code M/d/yy}
+     */
+    @Getter
+    private final String pattern;
+
+    @Getter
+    private final DateTimeFormatter formatter;
+
+    /**
+     * The order in which the locale writes the fields of a date
+     */
+    @Getter
+    private final List<Field> fieldOrder;
+
+    private DateFormats(Locale locale) {
+        this.locale = locale;
+        this.pattern =
+            DateTimeFormatterBuilder.getLocalizedDateTimePattern(
+                FormatStyle.SHORT,
+                null,
+                IsoChronology.INSTANCE,
+                locale
+            );
+        this.formatter = DateTimeFormatter.ofPattern(pattern, locale);
+        this.fieldOrder = fieldOrder(pattern);
+    }
+
+    @NonNull
+    public static DateFormats of(@NonNull Locale locale) {
+        return CACHE.computeIfAbsent(locale, DateFormats::new);
+    }
+
+    @NonNull
+    public static DateFormats getDefault() {
+        return of(Locale.getDefault());
+    }
+
+    /**
+     * @param month 1-based month
+     */
+    @NonNull
+    public String format(int year, int month, int day) {
+        return formatter.format(LocalDate.of(year, month, day));
+    }
+
+    /**
+     * @param month 1-based month
+     * @return the date as {@code yyyy-MM-dd}
+     */
+    @NonNull
+    public static String toIsoDate(int year, int month, int day) {
+        StringBuilder builder = new StringBuilder(10);
+        builder.append(year).append('-');
+        appendTwoDigits(builder, month);
+        builder.append('-');
+        appendTwoDigits(builder, day);
+        return builder.toString();
+    }
+
+    /**
+     * Encodes the text of separate date inputs. The year is kept as it was typed; the month and day are zero padded,
+     * and they are both left empty if either of them is missing.
+     *
+     * @return the encoded date, or {@code null} if all inputs are empty
+     * @throws NumberFormatException if the month or the day isn't a number
+     */
+    @Nullable
+    public static String toIsoDate(@NonNull String year, @NonNull String month, @NonNull String day) {
+        if (year.isEmpty() && month.isEmpty() && day.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder builder = new StringBuilder(year.length() + 6);
+        builder.append(year).append('-');
+        if (!month.isEmpty() && !day.isEmpty()) {
+            appendTwoDigits(builder, Integer.parseInt(month));
+            builder.append('-');
+            appendTwoDigits(builder, Integer.parseInt(day));
+        } else {
+            builder.append('-');
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * @return the date of a {@code yyyy-MM-dd} value, or {@code null} if it isn't a valid date
+     */
+    @Nullable
+    public static LocalDate parseIsoDate(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+
+        int firstDash = value.indexOf('-', 1);
+        int secondDash = firstDash < 0 ? -1 : value.indexOf('-', firstDash + 1);
+        if (secondDash < 0) {
+            return null;
+        }
+
+        int year = parseInt(value, 0, firstDash);
+        int month = parseInt(value, firstDash + 1, secondDash);
+        int day = parseInt(value, secondDash + 1, value.length());
+        if (year == Integer.MIN_VALUE || month == Integer.MIN_VALUE || day == Integer.MIN_VALUE) {
+            return null;
+        }
+
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    public static void appendTwoDigits(@NonNull StringBuilder builder, int value) {
+        if (value >= 0 && value < 10) {
+            builder.append('0');
+        }
+        builder.append(value);
+    }
+
+    private static int parseInt(String value, int start, int end) {
+        if (start >= end || end - start > 9) {
+            return Integer.MIN_VALUE;
+        }
+
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return Integer.MIN_VALUE;
+            }
+            result = result * 10 + (c - '0');
+        }
+
+        return result;
+    }
+
+    private static List<Field> fieldOrder(String pattern) {
+        List<Field> order = new ArrayList<>(3);
+        boolean quoted = false;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+                continue;
+            }
+
+            Field field = quoted ? null : field(c);
+            if (field != null && !order.contains(field)) {
+                order.add(field);
+            }
+        }
+
+        return order.size() == 3 ? Collections.unmodifiableList(order) : DEFAULT_ORDER;
+    }
+
+    @Nullable
+    private static Field field(char c) {
+        switch (c) {
+            case 'd':
+                return Field.DAY;
+            case 'M':
+            case 'L':
+                return Field.MONTH;
+            case 'y':
+            case 'u':
+                return Field.YEAR;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.strivacity.android.native_sdk.render.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Flattened, read-only view of the options of a select widget model.
+ * <p>
+ * Groups are followed by their items in display order, exactly like the widgets render them. Positions of item values
+ * are kept in a hash map and selections are {@link BitSet}s over those positions, so looking up or toggling an option
+ * does not depend on the number of options.
+ *
+ * @param <T> the option type of the model
+ */
+public final class OptionIndex<T> {
+
+    public static final String TYPE_GROUP = "group";
+    public static final String TYPE_ITEM = "item";
+
+    private static final String NOT_A_VALID_SELECT_OPTION_TYPE = "Not a valid option type in the select widget";
+
+    private final List<T> options;
+    private final Function<T, String> typeOf;
+    private final Function<T, String> valueOf;
+    private final Map<String, Integer> positions;
+    private final boolean hasGroups;
+
+    private OptionIndex(List<T> options, Function<T, String> typeOf, Function<T, String> valueOf) {
+        this.options = Collections.unmodifiableList(options);
+        this.typeOf = typeOf;
+        this.valueOf = valueOf;
+        this.positions = new HashMap<>(options.size() * 4 / 3 + 1);
+
+        boolean hasGroups = false;
+        for (int i = 0; i < options.size(); i++) {
+            T option = options.get(i);
+            if (TYPE_ITEM.equals(typeOf.apply(option))) {
+                positions.putIfAbsent(valueOf.apply(option), i);
+            } else {
+                hasGroups = true;
+            }
+        }
+        this.hasGroups = hasGroups;
+    }
+
+    /**
+     * Flattens the option tree of a model. Only groups of items are supported, deeper nesting is ignored.
+     */
+    @NonNull
+    static <T> OptionIndex<T> of(
+        @NonNull List<T> tree,
+        @NonNull Function<T, String> typeOf,
+        @NonNull Function<T, String> valueOf,
+        @NonNull Function<T, List<T>> childrenOf
+    ) {
+        List<T> flattened = new ArrayList<>(tree.size());
+
+        for (T option : tree) {
+            String type = typeOf.apply(option);
+            if (!(TYPE_GROUP.equals(type) || TYPE_ITEM.equals(type))) {
+                throw new RuntimeException(NOT_A_VALID_SELECT_OPTION_TYPE);
+            }
+
+            flattened.add(option);
+
+            List<T> children = childrenOf.apply(option);
+            if (children != null) {
+                flattened.addAll(children);
+            }
+        }
+
+        return new OptionIndex<>(flattened, typeOf, valueOf);
+    }
+
+    /**
+     * @return the flattened options; the list cannot be modified
+     */
+    @NonNull
+    public List<T> getOptions() {
+        return options;
+    }
+
+    public int size() {
+        return options.size();
+    }
+
+    public boolean isEmpty() {
+        return options.isEmpty();
+    }
+
+    @NonNull
+    public T get(int position) {
+        return options.get(position);
+    }
+
+    public boolean isItem(int position) {
+        return TYPE_ITEM.equals(typeOf.apply(options.get(position)));
+    }
+
+    public boolean hasGroups() {
+        return hasGroups;
+    }
+
+    /**
+     * @return the position of the item with the given value, or {@code -1} if there is none
+     */
+    public int indexOf(@Nullable String value) {
+        Integer position = positions.get(value);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * @return a new selection with the items of the given values selected; unknown values are ignored
+     */
+    @NonNull
+    public BitSet selectionOf(@Nullable Collection<String> values) {
+        BitSet selection = new BitSet(options.size());
+
+        if (values != null) {
+            for (String value : values) {
+                int position = indexOf(value);
+                if (position >= 0) {
+                    selection.set(position);
+                }
+            }
+        }
+
+        return selection;
+    }
+
+    /**
+     * @return the values of the selected items in display order
+     */
+    @NonNull
+    public List<String> valuesOf(@NonNull BitSet selection) {
+        List<String> values = new ArrayList<>(selection.cardinality());
+
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            values.add(valueOf.apply(options.get(i)));
+        }
+
+        return values;
+    }
+}
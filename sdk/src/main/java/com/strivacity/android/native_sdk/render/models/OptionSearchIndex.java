@@ -0,0 +1,166 @@
+package com.strivacity.android.native_sdk.render.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Substring search over option labels that narrows its results incrementally.
+ * <p>
+ * Labels are normalized once (lower case, without diacritics). Every search keeps its results on a stack: a query that
+ * extends the previous one only filters the previous results, and deleting characters pops back to results that were
+ * already computed. Matches at the start of a word come first, both groups keep the display order. Result buffers are
+ * reused between searches, so typing does not allocate once the stack is as deep as the longest query.
+ */
+public final class OptionSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final int NO_MATCH = 0;
+    private static final int INSIDE_WORD = 1;
+    private static final int WORD_START = 2;
+
+    private final String[] labels;
+    private final List<Level> levels = new ArrayList<>();
+    private final int[] scratch;
+    private int depth;
+
+    /**
+     * @param labels the label of every position, {@code null} for positions that can't be found (e.g. group headers)
+     */
+    public OptionSearchIndex(@NonNull List<String> labels) {
+        this.labels = new String[labels.size()];
+        this.scratch = new int[labels.size()];
+
+        Level all = new Level(labels.size());
+        for (int i = 0; i < labels.size(); i++) {
+            String label = labels.get(i);
+            if (label != null) {
+                this.labels[i] = normalize(label);
+                all.positions[all.count++] = i;
+            }
+        }
+
+        levels.add(all);
+    }
+
+    @NonNull
+    public static String normalize(@NonNull CharSequence text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Runs a search, the results can be read with {@link #resultAt(int)} until the next search.
+     *
+     * @return the number of matching positions
+     */
+    public int search(@Nullable CharSequence query) {
+        String normalizedQuery = query == null ? "" : normalize(query);
+
+        while (depth > 0 && !normalizedQuery.startsWith(levels.get(depth).query)) {
+            depth--;
+        }
+
+        Level current = levels.get(depth);
+        if (current.query.equals(normalizedQuery)) {
+            return current.count;
+        }
+
+        Level next = nextLevel(normalizedQuery);
+        narrow(current, next);
+        depth++;
+
+        return next.count;
+    }
+
+    public int resultCount() {
+        return levels.get(depth).count;
+    }
+
+    /**
+     * @return the position of the result at the given rank
+     */
+    public int resultAt(int rank) {
+        Level current = levels.get(depth);
+        if (rank < 0 || rank >= current.count) {
+            throw new IndexOutOfBoundsException("Result " + rank + " of " + current.count);
+        }
+
+        return current.positions[rank];
+    }
+
+    private Level nextLevel(String query) {
+        Level next;
+        if (depth + 1 < levels.size()) {
+            next = levels.get(depth + 1);
+        } else {
+            next = new Level(levels.get(depth).count);
+            levels.add(next);
+        }
+
+        int capacity = levels.get(depth).count;
+        if (next.positions.length < capacity) {
+            next.positions = new int[capacity];
+        }
+
+        next.query = query;
+        next.count = 0;
+        return next;
+    }
+
+    private void narrow(Level from, Level to) {
+        int otherMatches = 0;
+
+        for (int i = 0; i < from.count; i++) {
+            int position = from.positions[i];
+            int match = match(labels[position], to.query);
+            if (match == WORD_START) {
+                to.positions[to.count++] = position;
+            } else if (match == INSIDE_WORD) {
+                scratch[otherMatches++] = position;
+            }
+        }
+
+        // The previous level was ordered by its own query, restore the display order inside both groups
+        Arrays.sort(to.positions, 0, to.count);
+        Arrays.sort(scratch, 0, otherMatches);
+
+        System.arraycopy(scratch, 0, to.positions, to.count, otherMatches);
+        to.count += otherMatches;
+    }
+
+    private static int match(String label, String query) {
+        int index = label.indexOf(query);
+        if (index < 0) {
+            return NO_MATCH;
+        }
+
+        while (index >= 0) {
+            if (index == 0 || !Character.isLetterOrDigit(label.charAt(index - 1))) {
+                return WORD_START;
+            }
+
+            index = label.indexOf(query, index + 1);
+        }
+
+        return INSIDE_WORD;
+    }
+
+    private static class Level {
+
+        String query = "";
+        int[] positions;
+        int count;
+
+        Level(int capacity) {
+            this.positions = new int[capacity];
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.strivacity.android.native_sdk.render.models;
 
 import com.strivacity.android.native_sdk.util.JSON;
 
+import org.json.JSONArray;
+import org.json.JSONException;
+
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -323,6 +326,10 @@ public abstract class WidgetModel {
         private final List<Option> options;
         private final Validator validator;
 
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private final OptionIndex<Option> optionIndex;
+
         @Data
         @FieldNameConstants
         public static class Validator {
@@ -376,6 +383,8 @@ public abstract class WidgetModel {
             } else {
                 this.options = List.of();
             }
+
+            this.optionIndex = OptionIndex.of(options, Option::getType, Option::getValue, Option::getOptions);
         }
     }
 
@@ -393,6 +402,15 @@ public abstract class WidgetModel {
         private final List<Option> options;
         private final Validator validator;
 
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private final OptionIndex<Option> optionIndex;
+
+        /**
+         * The initially selected values
+         */
+        private final List<String> values;
+
         @Data
         @FieldNameConstants
         public static class Validator {
@@ -448,6 +466,24 @@ public abstract class WidgetModel {
             } else {
                 this.options = List.of();
             }
+
+            this.optionIndex = OptionIndex.of(options, Option::getType, Option::getValue, Option::getOptions);
+            this.values = parseValues(json);
+        }
+
+        private static List<String> parseValues(JSON json) {
+            Object value = json.getJsonObject().opt(MultiSelectWidgetModel.Fields.value);
+            if (value instanceof JSONArray) {
+                try {
+                    return JSON.parseStringList(json.getJsonObject(), MultiSelectWidgetModel.Fields.value);
+                } catch (JSONException e) {
+                    throw new RuntimeException(e);
+                }
+            } else if (value instanceof String) {
+                return List.of((String) value);
+            }
+
+            return List.of();
         }
     }
 
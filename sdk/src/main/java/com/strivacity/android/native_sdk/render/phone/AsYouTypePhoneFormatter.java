@@ -0,0 +1,191 @@
+package com.strivacity.android.native_sdk.render.phone;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Formats a phone number while it is being typed, e.g. {@code +36201234567} as {@code +36 20 123 4567}.
+ * <p>
+ * Typing at the end of the number only appends to the previous output. The output is built again when the layout of
+ * the number changes: when the calling code or the national prefix is recognized, or when the leading digits of the
+ * national number select a different grouping. A number goes through at most a handful of such changes, so every
+ * keystroke costs amortized constant time. Edits anywhere else are handled by {@link #format(CharSequence)}, which
+ * starts over.
+ */
+public final class AsYouTypePhoneFormatter {
+
+    private static final int NOT_DECIDED = -1;
+
+    private final PhoneMetadata metadata;
+
+    @Nullable
+    private final PhoneMetadata.Territory defaultTerritory;
+
+    private final StringBuilder digits = new StringBuilder(PhoneMetadata.MAX_DIGITS + 2);
+    private final StringBuilder output = new StringBuilder(PhoneMetadata.MAX_DIGITS * 2);
+
+    private boolean international;
+
+    @Nullable
+    private PhoneMetadata.Territory territory;
+
+    /**
+     * Number of digits in front of the national number: the calling code or the national prefix
+     */
+    private int head = NOT_DECIDED;
+
+    @Nullable
+    private int[] groups;
+
+    public AsYouTypePhoneFormatter() {
+        this(Locale.getDefault().getCountry());
+    }
+
+    /**
+     * @param defaultRegion ISO 3166 region code of numbers typed without a calling code
+     */
+    public AsYouTypePhoneFormatter(@Nullable String defaultRegion) {
+        this(PhoneMetadata.getInstance(), defaultRegion);
+    }
+
+    AsYouTypePhoneFormatter(@NonNull PhoneMetadata metadata, @Nullable String defaultRegion) {
+        this.metadata = metadata;
+        this.defaultTerritory = metadata.territoryOfRegion(defaultRegion);
+    }
+
+    public void clear() {
+        digits.setLength(0);
+        output.setLength(0);
+        international = false;
+        territory = null;
+        head = NOT_DECIDED;
+        groups = null;
+    }
+
+    /**
+     * Formats the whole text again, characters other than digits and a leading {@code +} are dropped.
+     */
+    @NonNull
+    public String format(@NonNull CharSequence text) {
+        clear();
+        for (int i = 0; i < text.length(); i++) {
+            input(text.charAt(i));
+        }
+
+        return output.toString();
+    }
+
+    /**
+     * Adds a character typed at the end of the number.
+     *
+     * @return the formatted number
+     */
+    @NonNull
+    public String inputDigit(char c) {
+        input(c);
+        return output.toString();
+    }
+
+    /**
+     * @return the number of digits typed so far, without the leading {@code +}
+     */
+    public int getDigitCount() {
+        return digits.length();
+    }
+
+    private void input(char c) {
+        if (c == '+' && digits.length() == 0 && !international) {
+            international = true;
+            output.append('+');
+            return;
+        }
+
+        if (c < '0' || c > '9') {
+            return;
+        }
+
+        digits.append(c);
+
+        PhoneMetadata.Territory previousTerritory = territory;
+        int previousHead = head;
+        int[] previousGroups = groups;
+        updateLayout();
+
+        if (territory == previousTerritory && head == previousHead && groups == previousGroups) {
+            appendDigit(digits.length() - 1);
+        } else {
+            render();
+        }
+    }
+
+    private void updateLayout() {
+        int length = digits.length();
+
+        if (international) {
+            if (head == NOT_DECIDED && length <= 3) {
+                territory = PhoneNumber.callingCodeOf(metadata, digits);
+                if (territory != null) {
+                    head = String.valueOf(territory.getCallingCode()).length();
+                }
+            }
+        } else if (defaultTerritory != null && head == NOT_DECIDED) {
+            String prefix = defaultTerritory.getNationalPrefix();
+            if (prefix.isEmpty() || digits.charAt(length - 1) != prefix.charAt(length - 1)) {
+                territory = defaultTerritory;
+                head = 0;
+            } else if (length == prefix.length()) {
+                territory = defaultTerritory;
+                head = length;
+            }
+        }
+
+        groups = territory == null ? null : territory.groupsFor(digits, head);
+    }
+
+    private void render() {
+        output.setLength(0);
+        if (international) {
+            output.append('+');
+        }
+
+        for (int i = 0; i < digits.length(); i++) {
+            appendDigit(i);
+        }
+    }
+
+    private void appendDigit(int index) {
+        if (territory != null && index >= head) {
+            int position = index - head;
+            if (position == 0 ? isHeadSeparate() : isGroupStart(position)) {
+                output.append(' ');
+            }
+        }
+
+        output.append(digits.charAt(index));
+    }
+
+    /**
+     * The calling code is always set apart, a trunk {@code 0} is written together with the first group
+     */
+    private boolean isHeadSeparate() {
+        return head > 0 && (international || !territory.joinsNationalPrefix());
+    }
+
+    private boolean isGroupStart(int position) {
+        if (groups == null) {
+            return false;
+        }
+
+        int start = 0;
+        for (int i = 0; i < groups.length - 1; i++) {
+            start += groups[i];
+            if (start == position) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,340 @@
+package com.strivacity.android.native_sdk.render.phone;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Country calling codes and the numbering rules of their territories.
+ * <p>
+ * The table is kept as one compact string with a record per calling code:
+ * {@code code|regions|national prefix|min-max length|groups,leading digits:groups,...}. Only the code and the regions
+ * are mandatory, territories without rules only get the generic E.164 length check. Group sizes are picked by the
+ * leading digits of the national number, so the grouping is known after the first digits and doesn't change while the
+ * rest of the number is typed. The string is indexed on first use and a record
+ * is only parsed into a {@link Territory} when a number of that calling code is seen, so a process that never formats
+ * a phone number pays nothing and one that does only keeps the few territories it used.
+ * <p>
+ * The rules are deliberately lenient (length ranges instead of number patterns), a number is only rejected when every
+ * number of its territory would be. The ranges include non-geographic numbers as well, e.g. toll-free and shared cost
+ * ones, which are often longer or shorter than the subscriber numbers of the territory.
+ */
+public final class PhoneMetadata {
+
+    /**
+     * Maximum number of digits of an E.164 number, calling code included
+     */
+    public static final int MAX_DIGITS = 15;
+
+    static final int MIN_NATIONAL_LENGTH = 4;
+
+    // spotless:off
+    private static final String TABLE =
+        "1|US,CA,PR,AG,AI,AS,BB,BM,BS,DM,DO,GD,GU,JM,KN,KY,LC,MP,MS,SX,TC,TT,VC,VG,VI|1|10|3-3-4\n" +
+        "7|RU,KZ|8|10|3-3-2-2\n" +
+        "20|EG|0|8-10|2-4-4,2:1-4-4\n" +
+        "27|ZA|0|9-10|2-3-4\n" +
+        "30|GR||10-12|3-3-4\n" +
+        "31|NL|0|5-11|2-3-4,6:1-2-2-2-2,800:3-4,900:3-4\n" +
+        "32|BE|0|8-9|1-3-2-2,4:3-2-2-2\n" +
+        "33|FR|0|9|1-2-2-2-2\n" +
+        "34|ES||9|3-2-2-2\n" +
+        "36|HU|06|8-9|2-3-4,1:1-3-4\n" +
+        "39|IT,VA||6-12|3-3-4\n" +
+        "40|RO|0|9|3-3-3\n" +
+        "41|CH|0|9-12|2-3-2-2\n" +
+        "43|AT|0|4-13\n" +
+        "44|GB,GG,IM,JE|0|7-10|4-6,2:2-4-4\n" +
+        "45|DK||8|2-2-2-2\n" +
+        "46|SE|0|6-12|2-3-2-2,8:1-3-3-2\n" +
+        "47|NO,SJ||5-8|3-2-3\n" +
+        "48|PL||6-10|3-3-3\n" +
+        "49|DE|0|5-13|3-8,30:2-8,40:2-8,69:2-8,89:2-8\n" +
+        "51|PE|0|8-9|3-3-3\n" +
+        "52|MX||10|3-3-4,33:2-4-4,55:2-4-4,81:2-4-4\n" +
+        "53|CU\n" +
+        "54|AR|0|10-11|2-4-4,9:1-2-4-4\n" +
+        "55|BR|0|8-11|2-5-4,300:3-3-4,400:4-4,800:3-3-4\n" +
+        "56|CL||9-11|1-4-4,600:3-3-4,800:3-3-4\n" +
+        "57|CO||6-11|3-3-4,1800:4-3-4\n" +
+        "58|VE\n" +
+        "60|MY|0|7-10|2-3-4,1300:4-2-4,1800:4-2-4\n" +
+        "61|AU,CC,CX|0|5-10|3-3-3,2:1-4-4,3:1-4-4,7:1-4-4,8:1-4-4,13:2-2-2,1300:4-3-3,1800:4-3-3\n" +
+        "62|ID|0|7-12\n" +
+        "63|PH|0|6-13|3-3-4,1800:4-4-4\n" +
+        "64|NZ|0|8-10|2-3-4\n" +
+        "65|SG||8-11|4-4,800:3-3-4,1800:4-3-4\n" +
+        "66|TH|0|8-10|2-3-4,1800:4-3-3\n" +
+        "81|JP|0|9-10|1-4-4,70:2-4-4,80:2-4-4,90:2-4-4\n" +
+        "82|KR|0|8-11|2-3-4,10:2-4-4,2:1-4-4\n" +
+        "84|VN|0|7-10|2-3-4,1800:4-4,1900:4-4\n" +
+        "86|CN|0|7-12|3-4-4\n" +
+        "90|TR|0|7-10|3-3-2-2,444:3-4\n" +
+        "91|IN|0|8-13|5-5,1800:4-3-4\n" +
+        "92|PK|0|8-11|3-7,800:3-5\n" +
+        "93|AF\n94|LK\n95|MM\n98|IR\n" +
+        "211|SS\n212|MA,EH\n213|DZ\n216|TN\n218|LY\n220|GM\n221|SN\n222|MR\n223|ML\n224|GN\n225|CI\n226|BF\n" +
+        "227|NE\n228|TG\n229|BJ\n230|MU\n231|LR\n232|SL\n233|GH\n234|NG\n235|TD\n236|CF\n237|CM\n238|CV\n" +
+        "239|ST\n240|GQ\n241|GA\n242|CG\n243|CD\n244|AO\n245|GW\n246|IO\n247|AC\n248|SC\n249|SD\n250|RW\n" +
+        "251|ET\n252|SO\n253|DJ\n254|KE\n255|TZ\n256|UG\n257|BI\n258|MZ\n260|ZM\n261|MG\n262|RE,YT\n263|ZW\n" +
+        "264|NA\n265|MW\n266|LS\n267|BW\n268|SZ\n269|KM\n290|SH,TA\n291|ER\n297|AW\n298|FO\n299|GL\n" +
+        "350|GI\n" +
+        "351|PT||9|3-3-3\n" +
+        "352|LU\n" +
+        "353|IE|0|7-10|2-3-4,1800:4-3-3\n" +
+        "354|IS||7-9|3-4\n" +
+        "355|AL\n356|MT\n357|CY\n" +
+        "358|FI,AX|0|5-12\n" +
+        "359|BG|0|6-9\n" +
+        "370|LT|8|8|3-5\n" +
+        "371|LV||8|2-3-3\n" +
+        "372|EE||7-10\n" +
+        "373|MD\n374|AM\n375|BY\n376|AD\n377|MC\n378|SM\n" +
+        "380|UA|0|9|2-3-2-2\n" +
+        "381|RS\n382|ME\n383|XK\n" +
+        "385|HR|0|6-9\n" +
+        "386|SI|0|5-8|2-3-3\n" +
+        "387|BA\n389|MK\n" +
+        "420|CZ||9-12|3-3-3\n" +
+        "421|SK|0|6-9|3-3-3\n" +
+        "423|LI\n" +
+        "500|FK\n501|BZ\n502|GT\n503|SV\n504|HN\n505|NI\n506|CR\n507|PA\n508|PM\n509|HT\n590|GP,BL,MF\n591|BO\n" +
+        "592|GY\n593|EC\n594|GF\n595|PY\n596|MQ\n597|SR\n598|UY\n599|CW,BQ\n" +
+        "670|TL\n672|NF\n673|BN\n674|NR\n675|PG\n676|TO\n677|SB\n678|VU\n679|FJ\n680|PW\n681|WF\n682|CK\n" +
+        "683|NU\n685|WS\n686|KI\n687|NC\n688|TV\n689|PF\n690|TK\n691|FM\n692|MH\n" +
+        "800|001\n808|001\n850|KP\n" +
+        "852|HK||8-9|4-4,800:3-3-3\n" +
+        "853|MO\n855|KH\n856|LA\n870|001\n878|001\n880|BD\n881|001\n882|001\n883|001\n" +
+        "886|TW|0|7-10|3-3-3\n" +
+        "888|001\n" +
+        "960|MV\n961|LB\n962|JO\n963|SY\n964|IQ\n965|KW\n" +
+        "966|SA|0|9-10|2-3-4,800:3-3-4\n" +
+        "967|YE\n968|OM\n970|PS\n" +
+        "971|AE|0|5-12|2-3-4\n" +
+        "972|IL|0|8-10|2-3-4,1:4-3-3\n" +
+        "973|BH\n" +
+        "974|QA||7-10|4-4\n" +
+        "975|BT\n976|MN\n977|NP\n979|001\n992|TJ\n993|TM\n994|AZ\n995|GE\n996|KG\n998|UZ";
+    // spotless:on
+
+    private static volatile PhoneMetadata instance;
+
+    private final String table;
+
+    /**
+     * Start of the record of every calling code, -1 for unassigned codes
+     */
+    private final int[] recordStarts = new int[1000];
+
+    private final Map<String, Integer> callingCodesByRegion = new HashMap<>();
+
+    /**
+     * Territories parsed so far. Racing threads parse the same immutable record, so no locking is needed.
+     */
+    private final Territory[] territories = new Territory[1000];
+
+    PhoneMetadata(@NonNull String table) {
+        this.table = table;
+        Arrays.fill(recordStarts, -1);
+
+        int start = 0;
+        while (start < table.length()) {
+            int end = table.indexOf('\n', start);
+            if (end < 0) {
+                end = table.length();
+            }
+
+            int codeEnd = table.indexOf('|', start);
+            int callingCode = Integer.parseInt(table.substring(start, codeEnd));
+            recordStarts[callingCode] = start;
+
+            int regionsEnd = indexOf(table, '|', codeEnd + 1, end);
+            for (String region : table.substring(codeEnd + 1, regionsEnd).split(",")) {
+                callingCodesByRegion.putIfAbsent(region, callingCode);
+            }
+
+            start = end + 1;
+        }
+    }
+
+    @NonNull
+    public static PhoneMetadata getInstance() {
+        PhoneMetadata metadata = instance;
+        if (metadata == null) {
+            synchronized (PhoneMetadata.class) {
+                metadata = instance;
+                if (metadata == null) {
+                    metadata = new PhoneMetadata(TABLE);
+                    instance = metadata;
+                }
+            }
+        }
+
+        return metadata;
+    }
+
+    /**
+     * @return the territory of the calling code, or {@code null} if the code isn't assigned
+     */
+    @Nullable
+    public Territory territory(int callingCode) {
+        if (callingCode < 0 || callingCode >= recordStarts.length || recordStarts[callingCode] < 0) {
+            return null;
+        }
+
+        Territory territory = territories[callingCode];
+        if (territory == null) {
+            territory = parse(recordStarts[callingCode]);
+            territories[callingCode] = territory;
+        }
+
+        return territory;
+    }
+
+    /**
+     * @param region ISO 3166 region code, e.g. {@code HU}
+     * @return the territory the region belongs to, or {@code null} if it isn't known
+     */
+    @Nullable
+    public Territory territoryOfRegion(@Nullable String region) {
+        if (region == null || region.isEmpty()) {
+            return null;
+        }
+
+        Integer callingCode = callingCodesByRegion.get(region.toUpperCase(Locale.ROOT));
+        return callingCode == null ? null : territory(callingCode);
+    }
+
+    private Territory parse(int start) {
+        int end = table.indexOf('\n', start);
+        String[] fields = table.substring(start, end < 0 ? table.length() : end).split("\\|", -1);
+
+        int callingCode = Integer.parseInt(fields[0]);
+        String nationalPrefix = fields.length > 2 ? fields[2] : "";
+
+        int callingCodeLength = fields[0].length();
+        int minLength = MIN_NATIONAL_LENGTH;
+        int maxLength = MAX_DIGITS - callingCodeLength;
+        if (fields.length > 3) {
+            int dash = fields[3].indexOf('-');
+            minLength = Integer.parseInt(dash < 0 ? fields[3] : fields[3].substring(0, dash));
+            maxLength = Integer.parseInt(dash < 0 ? fields[3] : fields[3].substring(dash + 1));
+        }
+
+        int[] defaultGroups = null;
+        String[] leadingDigits = new String[0];
+        int[][] leadingGroups = new int[0][];
+        if (fields.length > 4) {
+            String[] formats = fields[4].split(",");
+            defaultGroups = groups(formats[0]);
+            leadingDigits = new String[formats.length - 1];
+            leadingGroups = new int[formats.length - 1][];
+            for (int i = 1; i < formats.length; i++) {
+                int colon = formats[i].indexOf(':');
+                leadingDigits[i - 1] = formats[i].substring(0, colon);
+                leadingGroups[i - 1] = groups(formats[i].substring(colon + 1));
+            }
+        }
+
+        return new Territory(
+            callingCode,
+            nationalPrefix,
+            minLength,
+            maxLength,
+            defaultGroups,
+            leadingDigits,
+            leadingGroups
+        );
+    }
+
+    private static int[] groups(String format) {
+        String[] sizes = format.split("-");
+        int[] groups = new int[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            groups[i] = Integer.parseInt(sizes[i]);
+        }
+
+        return groups;
+    }
+
+    private static int indexOf(String text, char c, int from, int end) {
+        int index = text.indexOf(c, from);
+        return index < 0 || index > end ? end : index;
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Territory {
+
+        private final int callingCode;
+
+        /**
+         * Digits dialled before a national number inside the territory, e.g. {@code 0}; empty if there are none
+         */
+        private final String nationalPrefix;
+
+        private final int minLength;
+        private final int maxLength;
+
+        @Nullable
+        @Getter(AccessLevel.NONE)
+        private final int[] defaultGroups;
+
+        @Getter(AccessLevel.NONE)
+        private final String[] leadingDigits;
+
+        @Getter(AccessLevel.NONE)
+        private final int[][] leadingGroups;
+
+        /**
+         * @return whether the national prefix is written together with the first group, e.g. {@code 020 7123 4567}.
+         * Longer prefixes and ones that aren't a trunk {@code 0} are written apart, e.g. {@code 06 20 123 4567}.
+         */
+        public boolean joinsNationalPrefix() {
+            return "0".equals(nationalPrefix);
+        }
+
+        /**
+         * @param start the index of the national number in {@code digits}
+         * @return the group sizes to format the national number with, {@code null} if it isn't grouped. Digits beyond
+         * the groups stay in the last group.
+         */
+        @Nullable
+        public int[] groupsFor(@NonNull CharSequence digits, int start) {
+            int[] groups = defaultGroups;
+            int matched = 0;
+
+            for (int i = 0; i < leadingDigits.length; i++) {
+                String leading = leadingDigits[i];
+                if (leading.length() > matched && startsWith(digits, start, leading)) {
+                    groups = leadingGroups[i];
+                    matched = leading.length();
+                }
+            }
+
+            return groups;
+        }
+
+        private static boolean startsWith(CharSequence digits, int start, String prefix) {
+            if (digits.length() - start < prefix.length()) {
+                return false;
+            }
+
+            for (int i = 0; i < prefix.length(); i++) {
+                if (digits.charAt(start + i) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.strivacity.android.native_sdk.render.phone;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import lombok.Value;
+
+import java.util.Locale;
+
+/**
+ * A phone number split into its calling code and national significant number.
+ */
+@Value
+public class PhoneNumber {
+
+    public enum Error {
+        NOT_A_NUMBER,
+        INVALID_COUNTRY_CODE,
+        /**
+         * A national number was given, but the region it belongs to isn't known
+         */
+        UNKNOWN_REGION,
+        TOO_SHORT,
+        TOO_LONG
+    }
+
+    int callingCode;
+
+    /**
+     * The digits after the calling code, without the national prefix
+     */
+    String nationalNumber;
+
+    /**
+     * @return the number in E.164 format, e.g. {@code +36201234567}
+     */
+    @NonNull
+    public String toE164() {
+        return "+" + callingCode + nationalNumber;
+    }
+
+    /**
+     * Result of {@link #parse(CharSequence, String)}: either a number or the reason there is none.
+     */
+    @Value
+    public static class ParseResult {
+
+        @Nullable
+        PhoneNumber number;
+
+        @Nullable
+        Error error;
+
+        public boolean isValid() {
+            return number != null;
+        }
+    }
+
+    @NonNull
+    public static ParseResult parse(@NonNull CharSequence text) {
+        return parse(text, Locale.getDefault().getCountry());
+    }
+
+    /**
+     * Parses a number as it was typed. Numbers starting with {@code +} or {@code 00} are international, any other
+     * number is read as a national number of the default region. Spaces, dashes, dots, slashes and parentheses are
+     * ignored.
+     *
+     * @param defaultRegion ISO 3166 region code of national numbers
+     */
+    @NonNull
+    public static ParseResult parse(@NonNull CharSequence text, @Nullable String defaultRegion) {
+        return parse(PhoneMetadata.getInstance(), text, defaultRegion);
+    }
+
+    @NonNull
+    static ParseResult parse(
+        @NonNull PhoneMetadata metadata,
+        @NonNull CharSequence text,
+        @Nullable String defaultRegion
+    ) {
+        StringBuilder digits = new StringBuilder(PhoneMetadata.MAX_DIGITS + 2);
+        boolean international = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == '+' && digits.length() == 0 && !international) {
+                international = true;
+            } else if (!isSeparator(c)) {
+                return new ParseResult(null, Error.NOT_A_NUMBER);
+            }
+        }
+
+        if (!international && digits.length() > 2 && digits.charAt(0) == '0' && digits.charAt(1) == '0') {
+            international = true;
+            digits.delete(0, 2);
+        }
+
+        if (digits.length() == 0) {
+            return new ParseResult(null, Error.NOT_A_NUMBER);
+        }
+
+        PhoneMetadata.Territory territory;
+        String nationalNumber;
+        if (international) {
+            territory = callingCodeOf(metadata, digits);
+            if (territory == null) {
+                return new ParseResult(null, Error.INVALID_COUNTRY_CODE);
+            }
+
+            nationalNumber = digits.substring(String.valueOf(territory.getCallingCode()).length());
+        } else {
+            territory = metadata.territoryOfRegion(defaultRegion);
+            if (territory == null) {
+                return new ParseResult(null, Error.UNKNOWN_REGION);
+            }
+
+            nationalNumber = digits.toString();
+        }
+
+        nationalNumber = stripNationalPrefix(territory, nationalNumber, !international);
+
+        if (nationalNumber.length() < territory.getMinLength()) {
+            return new ParseResult(null, Error.TOO_SHORT);
+        }
+
+        if (nationalNumber.length() > territory.getMaxLength()) {
+            return new ParseResult(null, Error.TOO_LONG);
+        }
+
+        return new ParseResult(new PhoneNumber(territory.getCallingCode(), nationalNumber), null);
+    }
+
+    /**
+     * @return the text without the separators {@link #parse(CharSequence, String)} ignores, e.g. the ones an
+     * {@link AsYouTypePhoneFormatter} added
+     */
+    @NonNull
+    public static String removeSeparators(@NonNull CharSequence text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isSeparator(c)) {
+                result.append(c);
+            }
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Calling codes are prefix free, the first one to match the leading digits is the only one that can.
+     */
+    @Nullable
+    static PhoneMetadata.Territory callingCodeOf(PhoneMetadata metadata, CharSequence digits) {
+        int callingCode = 0;
+        for (int i = 0; i < Math.min(3, digits.length()); i++) {
+            callingCode = callingCode * 10 + (digits.charAt(i) - '0');
+
+            PhoneMetadata.Territory territory = metadata.territory(callingCode);
+            if (territory != null) {
+                return territory;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * National numbers are written with the national prefix, international ones sometimes keep it as well (e.g.
+     * {@code +44 (0)20 ...}). It is only removed when what remains can still be a complete number.
+     */
+    static String stripNationalPrefix(PhoneMetadata.Territory territory, String nationalNumber, boolean national) {
+        String prefix = territory.getNationalPrefix();
+        if (prefix.isEmpty() || !nationalNumber.startsWith(prefix)) {
+            return nationalNumber;
+        }
+
+        int remaining = nationalNumber.length() - prefix.length();
+        if (national ? remaining >= territory.getMinLength() : nationalNumber.length() > territory.getMaxLength()) {
+            return nationalNumber.substring(prefix.length());
+        }
+
+        return nationalNumber;
+    }
+
+    static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || c == '.' || c == '/' || c == '(' || c == ')' || c == '\u00A0';
+    }
+}
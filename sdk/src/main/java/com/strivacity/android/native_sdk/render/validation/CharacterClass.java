@@ -0,0 +1,64 @@
+package com.strivacity.android.native_sdk.render.validation;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import lombok.Getter;
+
+/**
+ * Character classes a password validator can require through {@code mustContain}.
+ */
+@Getter
+public enum CharacterClass {
+    LOWERCASE("lowercase"),
+    UPPERCASE("uppercase"),
+    NUMERIC("numeric"),
+    SPECIAL("special");
+
+    @NonNull
+    private final String id;
+
+    CharacterClass(@NonNull String id) {
+        this.id = id;
+    }
+
+    @Nullable
+    public static CharacterClass fromId(@Nullable String id) {
+        if (id == null) {
+            return null;
+        }
+
+        for (CharacterClass characterClass : values()) {
+            if (characterClass.id.equalsIgnoreCase(id)) {
+                return characterClass;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    public static CharacterClass of(char c) {
+        if (Character.isLowerCase(c)) {
+            return LOWERCASE;
+        } else if (Character.isUpperCase(c)) {
+            return UPPERCASE;
+        } else if (Character.isDigit(c)) {
+            return NUMERIC;
+        } else if (!Character.isWhitespace(c) && !Character.isLetter(c)) {
+            return SPECIAL;
+        }
+
+        return null;
+    }
+
+    public boolean containedIn(@NonNull CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (of(text.charAt(i)) == this) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,148 @@
+package com.strivacity.android.native_sdk.render.validation;
+
+import android.content.res.Resources;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.render.models.FormModel;
+import com.strivacity.android.native_sdk.render.models.WidgetModel;
+import com.strivacity.android.native_sdk.render.widgets.EditableWidget;
+import com.strivacity.android.native_sdk.render.widgets.Widget;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Evaluates the compiled validators of one form.
+ * <p>
+ * Validators are compiled once when the form is built. While the user edits a widget its value is re-checked after
+ * {@link #DEBOUNCE_MILLIS} of inactivity; errors for a value that is still empty are only shown once the user tried to
+ * submit. {@link #validate(Map)} checks every widget right away and is used to keep invalid forms on the device.
+ */
+public class FormValidator {
+
+    static final long DEBOUNCE_MILLIS = 400;
+
+    private final FormModel formModel;
+    private final Map<String, WidgetValidator> validators = new HashMap<>();
+    private final Map<String, Runnable> pendingChecks = new HashMap<>();
+
+    /**
+     * Created with the first debounced check
+     */
+    private Handler handler;
+
+    public FormValidator(@NonNull Resources resources, @NonNull FormModel formModel) {
+        this(resources::getString, formModel);
+    }
+
+    public FormValidator(@NonNull ValidationMessages messages, @NonNull FormModel formModel) {
+        this.formModel = formModel;
+
+        for (WidgetModel widgetModel : formModel.getWidgets()) {
+            WidgetValidator validator = Validators.compile(messages, widgetModel);
+            if (validator != null) {
+                validators.put(widgetModel.getId(), validator);
+            }
+        }
+    }
+
+    public boolean hasValidator(@NonNull String widgetId) {
+        return validators.containsKey(widgetId);
+    }
+
+    @MainThread
+    public void onValueChanged(@NonNull String widgetId, @NonNull EditableWidget widget) {
+        WidgetValidator validator = validators.get(widgetId);
+        if (validator == null) {
+            return;
+        }
+
+        if (handler == null) {
+            handler = new Handler(Looper.getMainLooper());
+        }
+
+        Runnable previousCheck = pendingChecks.remove(widgetId);
+        if (previousCheck != null) {
+            handler.removeCallbacks(previousCheck);
+        }
+
+        Runnable check = () -> {
+            pendingChecks.remove(widgetId);
+            apply(widget, validator, false);
+        };
+        pendingChecks.put(widgetId, check);
+        handler.postDelayed(check, DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Validates every editable widget of the form and shows the errors found.
+     *
+     * @return {@code true} if the form can be submitted
+     */
+    @MainThread
+    public boolean validate(@NonNull Map<String, Widget> widgets) {
+        EditableWidget firstInvalid = validateAll(widgets);
+        if (firstInvalid != null) {
+            firstInvalid.getView().requestFocus();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Validates every editable widget and shows the errors found, pending checks are dropped.
+     *
+     * @return the first invalid widget in the order of the form, it gets the focus
+     */
+    @Nullable
+    @MainThread
+    EditableWidget validateAll(@NonNull Map<String, Widget> widgets) {
+        if (handler != null) {
+            pendingChecks.values().forEach(handler::removeCallbacks);
+        }
+        pendingChecks.clear();
+
+        EditableWidget firstInvalid = null;
+        for (WidgetModel widgetModel : formModel.getWidgets()) {
+            WidgetValidator validator = validators.get(widgetModel.getId());
+            Widget widget = widgets.get(widgetModel.getId());
+            if (validator == null || !(widget instanceof EditableWidget)) {
+                continue;
+            }
+
+            EditableWidget editable = (EditableWidget) widget;
+            if (editable.isReadonly()) {
+                continue;
+            }
+
+            if (!apply(editable, validator, true) && firstInvalid == null) {
+                firstInvalid = editable;
+            }
+        }
+
+        return firstInvalid;
+    }
+
+    private static boolean apply(EditableWidget widget, WidgetValidator validator, boolean submitting) {
+        Object value = widget.getValue();
+        String error = validator.validate(value);
+
+        if (error == null) {
+            if (!widget.isValid()) {
+                widget.clearError();
+            }
+            return true;
+        }
+
+        if (submitting || !widget.isValid() || !Validators.isEmpty(value)) {
+            widget.showError(error);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,224 @@
+package com.strivacity.android.native_sdk.render.validation;
+
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.render.models.WidgetModel;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the quality of a password while it is being typed.
+ * <p>
+ * The evaluator mirrors the text of the input and keeps, for every position, the length of the repeated character run
+ * and the numeric sequence ending there together with their running maximums, plus a counter per
+ * {@link CharacterClass}. Edits are applied with the same arguments {@link android.text.TextWatcher#onTextChanged}
+ * receives: only the positions from the start of the edit are recomputed, so typing or deleting at the end of the
+ * password is O(1) and no objects are allocated once the buffers have grown to the length of the password.
+ */
+public class PasswordQualityEvaluator {
+
+    public static final int MAX_SCORE = 4;
+
+    private static final int INITIAL_CAPACITY = 32;
+    private static final int STRONG_LENGTH = 12;
+    private static final int DEFAULT_MIN_LENGTH = 8;
+    private static final CharacterClass[] CHARACTER_CLASSES = CharacterClass.values();
+
+    private final int minLength;
+    private final int maxNumericSequence;
+    private final int maxRepeatedCharacters;
+    private final boolean[] mustContain = new boolean[CHARACTER_CLASSES.length];
+
+    private final int[] classCounts = new int[CHARACTER_CLASSES.length];
+    private char[] text = new char[INITIAL_CAPACITY];
+    private int[] repeatedRun = new int[INITIAL_CAPACITY];
+    private int[] longestRepeatedRun = new int[INITIAL_CAPACITY];
+    private int[] numericSequence = new int[INITIAL_CAPACITY];
+    private int[] numericDirection = new int[INITIAL_CAPACITY];
+    private int[] longestNumericSequence = new int[INITIAL_CAPACITY];
+    private int length;
+
+    public PasswordQualityEvaluator(@Nullable WidgetModel.PasswordWidgetModel.Validator validator) {
+        if (validator == null) {
+            this.minLength = 0;
+            this.maxNumericSequence = Integer.MAX_VALUE;
+            this.maxRepeatedCharacters = Integer.MAX_VALUE;
+            return;
+        }
+
+        this.minLength = validator.getMinLength() == null ? 0 : validator.getMinLength();
+        this.maxNumericSequence =
+            validator.getMaxNumericCharacterSequences() == null
+                ? Integer.MAX_VALUE
+                : validator.getMaxNumericCharacterSequences();
+        this.maxRepeatedCharacters =
+            validator.getMaxRepeatedCharacters() == null ? Integer.MAX_VALUE : validator.getMaxRepeatedCharacters();
+
+        if (validator.getMustContain() != null) {
+            for (String id : validator.getMustContain()) {
+                CharacterClass characterClass = CharacterClass.fromId(id);
+                if (characterClass != null) {
+                    mustContain[characterClass.ordinal()] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies an edit: {@code count} characters of {@code s} starting at {@code start} replaced {@code before}
+     * characters of the previous text. Everything in front of {@code start} is unchanged.
+     */
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+        truncate(Math.min(start, length));
+        for (int i = length; i < s.length(); i++) {
+            append(s.charAt(i));
+        }
+    }
+
+    /**
+     * Re-evaluates the whole text, for when the edit that produced it is unknown.
+     */
+    public void reset(CharSequence s) {
+        onTextChanged(s, 0, length, s.length());
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int getLongestRepeatedRun() {
+        return length == 0 ? 0 : longestRepeatedRun[length - 1];
+    }
+
+    public int getLongestNumericSequence() {
+        return length == 0 ? 0 : longestNumericSequence[length - 1];
+    }
+
+    public boolean contains(CharacterClass characterClass) {
+        return classCounts[characterClass.ordinal()] > 0;
+    }
+
+    /**
+     * @return {@code true} if the password passes every rule of the validator
+     */
+    public boolean satisfiesRules() {
+        if (length < minLength) {
+            return false;
+        }
+
+        for (int i = 0; i < mustContain.length; i++) {
+            if (mustContain[i] && classCounts[i] == 0) {
+                return false;
+            }
+        }
+
+        return getLongestNumericSequence() <= maxNumericSequence && getLongestRepeatedRun() <= maxRepeatedCharacters;
+    }
+
+    /**
+     * @return the strength of the password between 0 and {@link #MAX_SCORE}; passwords breaking a rule score at most 1
+     */
+    public int score() {
+        if (length == 0) {
+            return 0;
+        }
+
+        int classes = 0;
+        for (int count : classCounts) {
+            if (count > 0) {
+                classes++;
+            }
+        }
+
+        int score = 0;
+        if (length >= Math.max(minLength, DEFAULT_MIN_LENGTH)) {
+            score++;
+        }
+        if (length >= STRONG_LENGTH) {
+            score++;
+        }
+        if (classes >= 3) {
+            score++;
+        }
+        if (classes == CHARACTER_CLASSES.length) {
+            score++;
+        }
+        if (getLongestRepeatedRun() > 2 || getLongestNumericSequence() > 2) {
+            score--;
+        }
+
+        score = Math.max(score, 1);
+        return satisfiesRules() ? score : 1;
+    }
+
+    private void truncate(int newLength) {
+        for (int i = newLength; i < length; i++) {
+            CharacterClass characterClass = CharacterClass.of(text[i]);
+            if (characterClass != null) {
+                classCounts[characterClass.ordinal()]--;
+            }
+            text[i] = 0;
+        }
+
+        length = newLength;
+    }
+
+    private void append(char c) {
+        ensureCapacity(length + 1);
+
+        int i = length;
+        char previous = i == 0 ? 0 : text[i - 1];
+        text[i] = c;
+
+        CharacterClass characterClass = CharacterClass.of(c);
+        if (characterClass != null) {
+            classCounts[characterClass.ordinal()]++;
+        }
+
+        repeatedRun[i] = i > 0 && previous == c ? repeatedRun[i - 1] + 1 : 1;
+
+        if (!isDigit(c)) {
+            numericSequence[i] = 0;
+            numericDirection[i] = 0;
+        } else if (i == 0 || !isDigit(previous)) {
+            numericSequence[i] = 1;
+            numericDirection[i] = 0;
+        } else {
+            int step = c - previous;
+            if (step != 1 && step != -1) {
+                numericSequence[i] = 1;
+                numericDirection[i] = 0;
+            } else if (numericDirection[i - 1] == 0 || numericDirection[i - 1] == step) {
+                numericSequence[i] = numericSequence[i - 1] + 1;
+                numericDirection[i] = step;
+            } else {
+                numericSequence[i] = 2;
+                numericDirection[i] = step;
+            }
+        }
+
+        longestRepeatedRun[i] = i == 0 ? repeatedRun[i] : Math.max(longestRepeatedRun[i - 1], repeatedRun[i]);
+        longestNumericSequence[i] =
+            i == 0 ? numericSequence[i] : Math.max(longestNumericSequence[i - 1], numericSequence[i]);
+
+        length++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= text.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, text.length * 2);
+        text = Arrays.copyOf(text, newCapacity);
+        repeatedRun = Arrays.copyOf(repeatedRun, newCapacity);
+        longestRepeatedRun = Arrays.copyOf(longestRepeatedRun, newCapacity);
+        numericSequence = Arrays.copyOf(numericSequence, newCapacity);
+        numericDirection = Arrays.copyOf(numericDirection, newCapacity);
+        longestNumericSequence = Arrays.copyOf(longestNumericSequence, newCapacity);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,12 @@
+package com.strivacity.android.native_sdk.render.validation;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.StringRes;
+
+/**
+ * Looks up the error messages of the validators, e.g. {@link android.content.res.Resources#getString(int, Object...)}.
+ */
+public interface ValidationMessages {
+    @NonNull
+    String get(@StringRes int id, Object... formatArgs);
+}
@@ -0,0 +1,352 @@
+package com.strivacity.android.native_sdk.render.validation;
+
+import android.content.res.Resources;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.R;
+import com.strivacity.android.native_sdk.render.models.WidgetModel;
+import com.strivacity.android.native_sdk.render.phone.PhoneNumber;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles the validators of widget models into {@link WidgetValidator}s.
+ * <p>
+ * Compilation happens once per screen, so everything that can be prepared up front (regular expressions, character
+ * class requirements) is prepared here and evaluation on every keystroke stays cheap.
+ */
+public final class Validators {
+
+    private Validators() {}
+
+    /**
+     * @return the compiled validator, or {@code null} if the widget has nothing to validate locally
+     */
+    @Nullable
+    public static WidgetValidator compile(@NonNull Resources resources, @NonNull WidgetModel widgetModel) {
+        return compile(resources::getString, widgetModel);
+    }
+
+    /**
+     * @return the compiled validator, or {@code null} if the widget has nothing to validate locally
+     */
+    @Nullable
+    public static WidgetValidator compile(@NonNull ValidationMessages messages, @NonNull WidgetModel widgetModel) {
+        if (widgetModel instanceof WidgetModel.InputWidgetModel) {
+            WidgetModel.InputWidgetModel.Validator validator =
+                ((WidgetModel.InputWidgetModel) widgetModel).getValidator();
+            return validator == null ? null : new InputValidator(messages, validator);
+        } else if (widgetModel instanceof WidgetModel.PasswordWidgetModel) {
+            WidgetModel.PasswordWidgetModel.Validator validator =
+                ((WidgetModel.PasswordWidgetModel) widgetModel).getValidator();
+            return validator == null ? null : new PasswordValidator(messages, validator);
+        } else if (widgetModel instanceof WidgetModel.MultiSelectWidgetModel) {
+            WidgetModel.MultiSelectWidgetModel.Validator validator =
+                ((WidgetModel.MultiSelectWidgetModel) widgetModel).getValidator();
+            return validator == null ? null : new MultiSelectValidator(messages, validator);
+        } else if (widgetModel instanceof WidgetModel.PasscodeWidgetModel) {
+            WidgetModel.PasscodeWidgetModel.Validator validator =
+                ((WidgetModel.PasscodeWidgetModel) widgetModel).getValidator();
+            return validator == null || validator.getLength() == null
+                ? null
+                : new PasscodeValidator(messages, validator.getLength());
+        } else if (widgetModel instanceof WidgetModel.CheckboxWidgetModel) {
+            WidgetModel.CheckboxWidgetModel.Validator validator =
+                ((WidgetModel.CheckboxWidgetModel) widgetModel).getValidator();
+            return validator != null && validator.isRequired() ? new RequiredValidator(messages) : null;
+        } else if (widgetModel instanceof WidgetModel.SelectWidgetModel) {
+            WidgetModel.SelectWidgetModel.Validator validator =
+                ((WidgetModel.SelectWidgetModel) widgetModel).getValidator();
+            return validator != null && validator.isRequired() ? new RequiredValidator(messages) : null;
+        } else if (widgetModel instanceof WidgetModel.PhoneWidgetModel) {
+            WidgetModel.PhoneWidgetModel.Validator validator =
+                ((WidgetModel.PhoneWidgetModel) widgetModel).getValidator();
+            return validator == null ? null : new PhoneValidator(messages, validator.isRequired());
+        } else if (widgetModel instanceof WidgetModel.DateWidgetModel) {
+            WidgetModel.DateWidgetModel.Validator validator =
+                ((WidgetModel.DateWidgetModel) widgetModel).getValidator();
+            return validator != null && validator.isRequired() ? new RequiredValidator(messages) : null;
+        }
+
+        return null;
+    }
+
+    static boolean isEmpty(@Nullable Object value) {
+        if (value == null) {
+            return true;
+        }
+
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() == 0;
+        }
+
+        if (value instanceof Boolean) {
+            return !((Boolean) value);
+        }
+
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).isEmpty();
+        }
+
+        return false;
+    }
+
+    static class RequiredValidator implements WidgetValidator {
+
+        private final String requiredMessage;
+
+        RequiredValidator(ValidationMessages messages) {
+            this.requiredMessage = messages.get(R.string.native_sdk_validation_required);
+        }
+
+        @Nullable
+        @Override
+        public String validate(@Nullable Object value) {
+            return isEmpty(value) ? requiredMessage : null;
+        }
+    }
+
+    static class InputValidator implements WidgetValidator {
+
+        private final ValidationMessages messages;
+        private final WidgetModel.InputWidgetModel.Validator validator;
+
+        @Nullable
+        private final Pattern pattern;
+
+        InputValidator(ValidationMessages messages, WidgetModel.InputWidgetModel.Validator validator) {
+            this.messages = messages;
+            this.validator = validator;
+            this.pattern = compilePattern(validator.getRegexp());
+        }
+
+        @Nullable
+        @Override
+        public String validate(@Nullable Object value) {
+            if (isEmpty(value)) {
+                return validator.isRequired() ? messages.get(R.string.native_sdk_validation_required) : null;
+            }
+
+            String text = value.toString();
+            if (validator.getMinLength() != null && text.length() < validator.getMinLength()) {
+                return messages.get(R.string.native_sdk_validation_min_length, validator.getMinLength());
+            }
+
+            if (validator.getMaxLength() != null && text.length() > validator.getMaxLength()) {
+                return messages.get(R.string.native_sdk_validation_max_length, validator.getMaxLength());
+            }
+
+            if (pattern != null && !pattern.matcher(text).find()) {
+                return messages.get(R.string.native_sdk_validation_pattern);
+            }
+
+            return null;
+        }
+
+        @Nullable
+        private static Pattern compilePattern(@Nullable String regexp) {
+            if (regexp == null || regexp.isEmpty()) {
+                return null;
+            }
+
+            try {
+                return Pattern.compile(regexp);
+            } catch (PatternSyntaxException e) {
+                // Not every server side pattern is valid in Java, those are left to the server
+                return null;
+            }
+        }
+    }
+
+    static class PasswordValidator implements WidgetValidator {
+
+        private final ValidationMessages messages;
+        private final WidgetModel.PasswordWidgetModel.Validator validator;
+        private final List<CharacterClass> mustContain = new ArrayList<>();
+
+        PasswordValidator(ValidationMessages messages, WidgetModel.PasswordWidgetModel.Validator validator) {
+            this.messages = messages;
+            this.validator = validator;
+
+            if (validator.getMustContain() != null) {
+                for (String name : validator.getMustContain()) {
+                    CharacterClass characterClass = CharacterClass.fromId(name);
+                    if (characterClass != null) {
+                        mustContain.add(characterClass);
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        @Override
+        public String validate(@Nullable Object value) {
+            String password = value == null ? "" : value.toString();
+
+            if (validator.getMinLength() != null && password.length() < validator.getMinLength()) {
+                return messages.get(R.string.native_sdk_validation_min_length, validator.getMinLength());
+            }
+
+            for (CharacterClass characterClass : mustContain) {
+                if (!characterClass.containedIn(password)) {
+                    return messages.get(R.string.native_sdk_validation_must_contain, characterClass.getId());
+                }
+            }
+
+            Integer maxNumericSequence = validator.getMaxNumericCharacterSequences();
+            if (maxNumericSequence != null && longestNumericSequence(password) > maxNumericSequence) {
+                return messages.get(R.string.native_sdk_validation_numeric_sequence, maxNumericSequence);
+            }
+
+            Integer maxRepeated = validator.getMaxRepeatedCharacters();
+            if (maxRepeated != null && longestRepeatedRun(password) > maxRepeated) {
+                return messages.get(R.string.native_sdk_validation_repeated_characters, maxRepeated);
+            }
+
+            return null;
+        }
+
+        /**
+         * Length of the longest run of digits that step by one in the same direction, e.g. {@code 1234} or
+         * {@code 9876}.
+         */
+        static int longestNumericSequence(CharSequence text) {
+            int longest = 0;
+            int current = 0;
+            int direction = 0;
+
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    current = 0;
+                    direction = 0;
+                    continue;
+                }
+
+                if (current == 0) {
+                    current = 1;
+                } else {
+                    int step = c - text.charAt(i - 1);
+                    if ((step == 1 || step == -1) && (direction == 0 || direction == step)) {
+                        current++;
+                        direction = step;
+                    } else if (step == 1 || step == -1) {
+                        current = 2;
+                        direction = step;
+                    } else {
+                        current = 1;
+                        direction = 0;
+                    }
+                }
+
+                longest = Math.max(longest, current);
+            }
+
+            return longest;
+        }
+
+        static int longestRepeatedRun(CharSequence text) {
+            int longest = 0;
+            int current = 0;
+
+            for (int i = 0; i < text.length(); i++) {
+                current = i > 0 && text.charAt(i) == text.charAt(i - 1) ? current + 1 : 1;
+                longest = Math.max(longest, current);
+            }
+
+            return longest;
+        }
+    }
+
+    static class MultiSelectValidator implements WidgetValidator {
+
+        private final ValidationMessages messages;
+        private final WidgetModel.MultiSelectWidgetModel.Validator validator;
+
+        MultiSelectValidator(ValidationMessages messages, WidgetModel.MultiSelectWidgetModel.Validator validator) {
+            this.messages = messages;
+            this.validator = validator;
+        }
+
+        @Nullable
+        @Override
+        public String validate(@Nullable Object value) {
+            int selected = value instanceof Collection ? ((Collection<?>) value).size() : 0;
+
+            if (validator.getMinSelectable() != null && selected < validator.getMinSelectable()) {
+                return messages.get(R.string.native_sdk_validation_min_selectable, validator.getMinSelectable());
+            }
+
+            if (validator.getMaxSelectable() != null && selected > validator.getMaxSelectable()) {
+                return messages.get(R.string.native_sdk_validation_max_selectable, validator.getMaxSelectable());
+            }
+
+            return null;
+        }
+    }
+
+    static class PasscodeValidator implements WidgetValidator {
+
+        private final int length;
+        private final String lengthMessage;
+
+        PasscodeValidator(ValidationMessages messages, int length) {
+            this.length = length;
+            this.lengthMessage = messages.get(R.string.native_sdk_validation_passcode_length, length);
+        }
+
+        @Nullable
+        @Override
+        public String validate(@Nullable Object value) {
+            return value == null || value.toString().length() != length ? lengthMessage : null;
+        }
+    }
+
+    /**
+     * Only compiled when the server asked for the number to be validated, the number itself is checked against the
+     * rules of its territory.
+     */
+    static class PhoneValidator implements WidgetValidator {
+
+        private final ValidationMessages messages;
+        private final boolean required;
+
+        PhoneValidator(ValidationMessages messages, boolean required) {
+            this.messages = messages;
+            this.required = required;
+        }
+
+        @Nullable
+        @Override
+        public String validate(@Nullable Object value) {
+            if (isEmpty(value)) {
+                return required ? messages.get(R.string.native_sdk_validation_required) : null;
+            }
+
+            PhoneNumber.ParseResult result = PhoneNumber.parse(value.toString());
+            if (result.isValid()) {
+                return null;
+            }
+
+            switch (result.getError()) {
+                case INVALID_COUNTRY_CODE:
+                    return messages.get(R.string.native_sdk_validation_phone_country_code);
+                case TOO_SHORT:
+                    return messages.get(R.string.native_sdk_validation_phone_too_short);
+                case TOO_LONG:
+                    return messages.get(R.string.native_sdk_validation_phone_too_long);
+                case UNKNOWN_REGION:
+                    // Without the region of the device a national number can't be checked, it is left to the server
+                    return null;
+                default:
+                    return messages.get(R.string.native_sdk_validation_phone_invalid);
+            }
+        }
+    }
+}
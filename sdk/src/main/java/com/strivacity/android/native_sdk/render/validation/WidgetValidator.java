@@ -0,0 +1,18 @@
+package com.strivacity.android.native_sdk.render.validation;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Client-side check compiled from the validator a widget model carries.
+ * <p>
+ * Validators only reject values the server would reject as well, anything they cannot decide locally is accepted and
+ * left to the server.
+ */
+public interface WidgetValidator {
+    /**
+     * @param value the current value of the widget
+     * @return the error message to show, or {@code null} when the value is valid
+     */
+    @Nullable
+    String validate(@Nullable Object value);
+}
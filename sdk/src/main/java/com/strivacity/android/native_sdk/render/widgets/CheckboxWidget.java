@@ -1,14 +1,13 @@
 package com.strivacity.android.native_sdk.render.widgets;
 
 import android.content.Context;
-import android.graphics.Color;
 import android.text.Html;
 import android.view.ViewGroup;
 import android.widget.CheckBox;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import com.strivacity.android.native_sdk.render.constants.Colors;
+import com.strivacity.android.native_sdk.render.constants.Theme;
 import com.strivacity.android.native_sdk.render.models.WidgetModel;
 
 public class CheckboxWidget extends EditableWidget {
@@ -19,7 +18,11 @@ public class CheckboxWidget extends EditableWidget {
     protected final TextView errorLabelView;
 
     public CheckboxWidget(Context context, WidgetModel.CheckboxWidgetModel widgetModel) {
-        super(context);
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public CheckboxWidget(Context context, Theme theme, WidgetModel.CheckboxWidgetModel widgetModel) {
+        super(context, theme);
         this.widgetModel = widgetModel;
 
         // Creating the parent layout
@@ -41,6 +44,7 @@ public class CheckboxWidget extends EditableWidget {
 
                 checkboxView.setEnabled(!widgetModel.isReadonly());
                 checkboxView.setChecked(widgetModel.isValue());
+                checkboxView.setOnCheckedChangeListener((buttonView, isChecked) -> notifyValueChanged());
 
                 this.checkboxView = checkboxView;
                 break;
@@ -68,7 +72,7 @@ public class CheckboxWidget extends EditableWidget {
         errorLabelView.setLayoutParams(
             new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
         );
-        errorLabelView.setTextColor(Color.parseColor(Colors.danger));
+        errorLabelView.setTextColor(getTheme().getDangerColor());
 
         // Adding views
 
@@ -2,7 +2,6 @@ package com.strivacity.android.native_sdk.render.widgets;
 
 import android.app.DatePickerDialog;
 import android.content.Context;
-import android.graphics.Color;
 import android.text.InputType;
 import android.view.Gravity;
 import android.view.ViewGroup;
@@ -13,14 +12,11 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import com.strivacity.android.native_sdk.R;
-import com.strivacity.android.native_sdk.render.constants.Colors;
+import com.strivacity.android.native_sdk.render.constants.Theme;
+import com.strivacity.android.native_sdk.render.models.DateFormats;
 import com.strivacity.android.native_sdk.render.models.WidgetModel;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Locale;
-import java.util.Objects;
+import java.time.LocalDate;
 
 public class DateWidget extends EditableWidget {
 
@@ -36,7 +32,11 @@ public class DateWidget extends EditableWidget {
     protected TextView errorLabelView;
 
     public DateWidget(Context context, WidgetModel.DateWidgetModel widgetModel) {
-        super(context);
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public DateWidget(Context context, Theme theme, WidgetModel.DateWidgetModel widgetModel) {
+        super(context, theme);
         this.widgetModel = widgetModel;
 
         // Creating the parent layout
@@ -50,7 +50,7 @@ public class DateWidget extends EditableWidget {
         labelView.setText(widgetModel.getLabel());
 
         errorLabelView = new TextView(context);
-        errorLabelView.setTextColor(Color.parseColor(Colors.danger));
+        errorLabelView.setTextColor(getTheme().getDangerColor());
 
         switch (widgetModel.getRender().getType()) {
             case "native":
@@ -80,13 +80,10 @@ public class DateWidget extends EditableWidget {
 
                 if (widgetModel.getValue() != null) {
                     dateAPIFormat = widgetModel.getValue();
-                    String[] dateParts = widgetModel.getValue().split("-");
-                    String formattedDate = formatDateBasedOnPattern(
-                        Integer.parseInt(dateParts[0]),
-                        Integer.parseInt(dateParts[1]),
-                        Integer.parseInt(dateParts[2])
+                    LocalDate date = DateFormats.parseIsoDate(dateAPIFormat);
+                    datePickerButton.setText(
+                        date == null ? dateAPIFormat : DateFormats.getDefault().getFormatter().format(date)
                     );
-                    datePickerButton.setText(formattedDate);
                 } else {
                     datePickerButton.setText(widgetModel.getLabel());
                 }
@@ -122,44 +119,35 @@ public class DateWidget extends EditableWidget {
                     1.0f
                 );
 
-                Calendar calendar = Calendar.getInstance();
+                LocalDate today = LocalDate.now();
                 dayInput = new EditText(context);
-                SimpleDateFormat dayFormat = new SimpleDateFormat("dd", Locale.getDefault());
-                dayInput.setHint(dayFormat.format(calendar.getTime())); // Set current day as hint
+                dayInput.setHint(twoDigits(today.getDayOfMonth())); // Set current day as hint
                 dayInput.setInputType(InputType.TYPE_CLASS_NUMBER);
                 dayInput.setLayoutParams(inputParams);
 
                 monthInput = new EditText(context);
-                SimpleDateFormat monthFormat = new SimpleDateFormat("MM", Locale.getDefault());
-                monthInput.setHint(monthFormat.format(calendar.getTime())); // Set current month as hint
+                monthInput.setHint(twoDigits(today.getMonthValue())); // Set current month as hint
                 monthInput.setInputType(InputType.TYPE_CLASS_NUMBER);
                 monthInput.setLayoutParams(inputParams);
 
                 yearInput = new EditText(context);
-                SimpleDateFormat yearFormat = new SimpleDateFormat("yyyy", Locale.getDefault());
-                yearInput.setHint(yearFormat.format(calendar.getTime())); // Set current year as hint
+                yearInput.setHint(String.valueOf(today.getYear())); // Set current year as hint
                 yearInput.setInputType(InputType.TYPE_CLASS_NUMBER);
                 yearInput.setLayoutParams(inputParams);
 
-                // Arrange the input fields
-                Locale currentLocale = Locale.getDefault();
-                String datePattern =
-                    ((SimpleDateFormat) DateFormat.getDateInstance(DateFormat.SHORT, currentLocale)).toPattern();
-                if (datePattern.startsWith("d")) {
-                    // Format like DD/MM/YYYY
-                    dateInputLayout.addView(dayInput);
-                    dateInputLayout.addView(monthInput);
-                    dateInputLayout.addView(yearInput);
-                } else if (datePattern.startsWith("M")) {
-                    // Format like MM/DD/YYYY
-                    dateInputLayout.addView(monthInput);
-                    dateInputLayout.addView(dayInput);
-                    dateInputLayout.addView(yearInput);
-                } else {
-                    // Default fallback (YYYY/MM/DD)
-                    dateInputLayout.addView(yearInput);
-                    dateInputLayout.addView(monthInput);
-                    dateInputLayout.addView(dayInput);
+                // Arrange the input fields in the order of the locale (e.g. DD/MM/YYYY, MM/DD/YYYY or YYYY/MM/DD)
+                for (DateFormats.Field field : DateFormats.getDefault().getFieldOrder()) {
+                    switch (field) {
+                        case DAY:
+                            dateInputLayout.addView(dayInput);
+                            break;
+                        case MONTH:
+                            dateInputLayout.addView(monthInput);
+                            break;
+                        case YEAR:
+                            dateInputLayout.addView(yearInput);
+                            break;
+                    }
                 }
 
                 parentLayoutView.addView(labelView);
@@ -174,20 +162,15 @@ public class DateWidget extends EditableWidget {
     }
 
     private void showDatePickerDialog() {
-        Calendar calendar = Calendar.getInstance();
-        int year = calendar.get(Calendar.YEAR);
-        int month = calendar.get(Calendar.MONTH);
-        int day = calendar.get(Calendar.DAY_OF_MONTH);
+        LocalDate today = LocalDate.now();
+        int year = today.getYear();
+        int month = today.getMonthValue() - 1; // The dialog expects a 0-based month
+        int day = today.getDayOfMonth();
 
         DatePickerDialog datePickerDialog = new DatePickerDialog(
             context,
             (view, selectedYear, selectedMonth, selectedDay) -> {
-                dateAPIFormat =
-                    dateAPIFormatter(
-                        String.valueOf(selectedYear),
-                        String.valueOf(selectedMonth + 1),
-                        String.valueOf(selectedDay)
-                    );
+                dateAPIFormat = DateFormats.toIsoDate(selectedYear, selectedMonth + 1, selectedDay);
                 String formattedDate = formatDateBasedOnPattern(selectedYear, selectedMonth + 1, selectedDay);
                 datePickerButton.setText(formattedDate);
 
@@ -206,45 +189,22 @@ public class DateWidget extends EditableWidget {
     }
 
     protected static String getDateFormatPattern() {
-        Locale locale = Locale.getDefault();
-        DateFormat dateFormat = DateFormat.getDateInstance(DateFormat.SHORT, locale);
-
-        if (dateFormat instanceof SimpleDateFormat) {
-            SimpleDateFormat simpleDateFormat = (SimpleDateFormat) dateFormat;
-            return simpleDateFormat.toPattern();
-        } else {
-            return "dd/MM/yyyy";
-        }
+        return DateFormats.getDefault().getPattern();
     }
 
     //This will handle the yyyy mm dd in the right order with the right separator (/, .)
     protected static String formatDateBasedOnPattern(int year, int month, int day) {
-        String pattern = getDateFormatPattern();
-
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern, Locale.getDefault());
-
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(year, month - 1, day); // month is 0-based in Calendar, so subtract 1
-
-        return simpleDateFormat.format(calendar.getTime());
+        return DateFormats.getDefault().format(year, month, day);
     }
 
     protected String dateAPIFormatter(String year, String month, String day) {
-        if (Objects.equals(year, "") && Objects.equals(month, "") && Objects.equals(day, "")) {
-            return null;
-        }
-
-        // if we want to format an empty string with Integer.parseInt, it will throw an error
-        String formattedMonth, formattedDay;
-        if (Objects.equals(month, "") || Objects.equals(day, "")) {
-            formattedMonth = "";
-            formattedDay = "";
-        } else {
-            formattedMonth = String.format("%02d", Integer.parseInt(month));
-            formattedDay = String.format("%02d", Integer.parseInt(day));
-        }
+        return DateFormats.toIsoDate(year, month, day);
+    }
 
-        return year + "-" + formattedMonth + "-" + formattedDay;
+    private static String twoDigits(int value) {
+        StringBuilder builder = new StringBuilder(2);
+        DateFormats.appendTwoDigits(builder, value);
+        return builder.toString();
     }
 
     public final boolean isReadonly() {
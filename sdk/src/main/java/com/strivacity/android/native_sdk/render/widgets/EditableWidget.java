@@ -1,8 +1,15 @@
 package com.strivacity.android.native_sdk.render.widgets;
 
 import android.content.Context;
+import android.text.Editable;
+import android.text.TextWatcher;
+
+import androidx.annotation.Nullable;
+
+import com.strivacity.android.native_sdk.render.constants.Theme;
 
 import lombok.Getter;
+import lombok.Setter;
 
 @Getter
 public abstract class EditableWidget extends Widget {
@@ -10,10 +17,18 @@ public abstract class EditableWidget extends Widget {
     private boolean readonly;
     private boolean valid = true;
 
+    @Setter
+    @Nullable
+    private Runnable onValueChangeListener;
+
     public EditableWidget(Context context) {
         super(context);
     }
 
+    public EditableWidget(Context context, Theme theme) {
+        super(context, theme);
+    }
+
     public abstract Object getValue();
 
     public void clearError() {
@@ -23,4 +38,28 @@ public abstract class EditableWidget extends Widget {
     public void showError(String message) {
         valid = false;
     }
+
+    /**
+     * Called by subclasses whenever the user changes the value of the widget.
+     */
+    protected void notifyValueChanged() {
+        if (onValueChangeListener != null) {
+            onValueChangeListener.run();
+        }
+    }
+
+    protected TextWatcher valueChangeWatcher() {
+        return new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                notifyValueChanged();
+            }
+        };
+    }
 }
@@ -1,14 +1,13 @@
 package com.strivacity.android.native_sdk.render.widgets;
 
 import android.content.Context;
-import android.graphics.Color;
 import android.text.InputType;
 import android.view.ViewGroup;
 import android.widget.EditText;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import com.strivacity.android.native_sdk.render.constants.Colors;
+import com.strivacity.android.native_sdk.render.constants.Theme;
 import com.strivacity.android.native_sdk.render.models.WidgetModel;
 
 public class InputWidget extends EditableWidget {
@@ -22,7 +21,11 @@ public class InputWidget extends EditableWidget {
     protected TextView errorLabelView;
 
     public InputWidget(Context context, WidgetModel.InputWidgetModel widgetModel) {
-        super(context);
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public InputWidget(Context context, Theme theme, WidgetModel.InputWidgetModel widgetModel) {
+        super(context, theme);
         this.widgetModel = widgetModel;
 
         // Creating the parent layout
@@ -37,7 +40,7 @@ public class InputWidget extends EditableWidget {
         labelView.setText(widgetModel.getLabel());
 
         errorLabelView = new TextView(context);
-        errorLabelView.setTextColor(Color.parseColor(Colors.danger));
+        errorLabelView.setTextColor(getTheme().getDangerColor());
 
         inputView = new EditText(context);
 
@@ -51,6 +54,8 @@ public class InputWidget extends EditableWidget {
             }
         }
 
+        inputView.addTextChangedListener(valueChangeWatcher());
+
         parentLayoutView.addView(labelView);
         parentLayoutView.addView(inputView);
         parentLayoutView.addView(errorLabelView);
@@ -1,24 +1,54 @@
 package com.strivacity.android.native_sdk.render.widgets;
 
 import android.view.Gravity;
+import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 import android.widget.LinearLayout;
 
 import com.strivacity.android.native_sdk.render.Form;
+import com.strivacity.android.native_sdk.render.ScreenRenderer;
 import com.strivacity.android.native_sdk.render.ViewFactory;
+import com.strivacity.android.native_sdk.render.layout.FlatLayoutCompiler;
+import com.strivacity.android.native_sdk.render.layout.MeasureCountingLinearLayout;
 import com.strivacity.android.native_sdk.render.models.BrandingModel;
 import com.strivacity.android.native_sdk.render.models.LayoutModel;
 
-import lombok.Getter;
-
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
-@Getter
+/**
+ * Lays out widgets and nested layouts.
+ * <p>
+ * When {@link ViewFactory#isLazyLayout()} is set, vertical layouts start with empty stubs sized like their items and
+ * replace them with the real views, top to bottom, once a stub comes within the look-ahead distance of the bottom of
+ * the window. Nested layouts of stubs are not built until then either.
+ * <p>
+ * When {@link ViewFactory#isFlatLayout()} is set, the whole layout tree is compiled into a single ConstraintLayout by
+ * {@link FlatLayoutCompiler} and {@link #getItems()} returns the widgets placed in it.
+ */
 public class LayoutWidget extends Widget {
 
-    private final List<Widget> items;
+    /**
+     * Height (in dp) assumed for a widget that is not shown yet
+     */
+    private static final float ESTIMATED_WIDGET_HEIGHT = 56;
+
+    private final ViewFactory viewFactory;
+    private final BrandingModel brandingModel;
+    private final Map<String, Form> forms;
+    private final List<LayoutModel> itemModels;
+    private final Widget[] items;
+
+    /**
+     * Number of items shown, items after it are still stubs
+     */
+    private int materialized;
+
+    private final ViewTreeObserver.OnPreDrawListener materializeOnPreDraw = this::materializeVisible;
+    private final int[] location = new int[2];
 
     public LayoutWidget(
         ViewFactory viewFactory,
@@ -27,7 +57,23 @@ public class LayoutWidget extends Widget {
         LayoutModel.SingleLayoutModel singleLayoutModel
     ) {
         super(viewFactory.getContext());
-        LinearLayout linearLayout = new LinearLayout(getContext());
+        this.viewFactory = viewFactory;
+        this.brandingModel = brandingModel;
+        this.forms = forms;
+
+        if (viewFactory.isFlatLayout()) {
+            FlatLayoutCompiler compiler = new FlatLayoutCompiler(getContext(), forms);
+            setView(compiler.compile(singleLayoutModel));
+            this.itemModels = Collections.emptyList();
+            this.items = compiler.getWidgets().toArray(new Widget[0]);
+            this.materialized = items.length;
+            return;
+        }
+
+        this.itemModels = singleLayoutModel.getItems();
+        this.items = new Widget[itemModels.size()];
+
+        LinearLayout linearLayout = new MeasureCountingLinearLayout(getContext());
         linearLayout.setLayoutParams(
             new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
         );
@@ -45,32 +91,135 @@ public class LayoutWidget extends Widget {
                 throw new RuntimeException();
         }
 
-        items =
-            singleLayoutModel
-                .getItems()
-                .stream()
-                .map(layoutModel -> {
-                    if (layoutModel instanceof LayoutModel.WidgetReferenceModel) {
-                        LayoutModel.WidgetReferenceModel widgetReferenceModel = (LayoutModel.WidgetReferenceModel) layoutModel;
-                        return forms
-                            .get(widgetReferenceModel.getFormId())
-                            .getWidgets()
-                            .get(widgetReferenceModel.getWidgetId());
+        if (viewFactory.isLazyLayout() && "vertical".equals(singleLayoutModel.getType())) {
+            itemModels.forEach(itemModel -> linearLayout.addView(createStub(itemModel)));
+            linearLayout.addOnAttachStateChangeListener(
+                new View.OnAttachStateChangeListener() {
+                    @Override
+                    public void onViewAttachedToWindow(View view) {
+                        if (materialized < items.length) {
+                            view.getViewTreeObserver().addOnPreDrawListener(materializeOnPreDraw);
+                        }
                     }
 
-                    if (layoutModel instanceof LayoutModel.SingleLayoutModel) {
-                        return viewFactory.layoutWidget(
-                            forms,
-                            brandingModel,
-                            (LayoutModel.SingleLayoutModel) layoutModel
-                        );
+                    @Override
+                    public void onViewDetachedFromWindow(View view) {
+                        view.getViewTreeObserver().removeOnPreDrawListener(materializeOnPreDraw);
                     }
+                }
+            );
+        } else {
+            materializeRemaining();
+        }
+    }
+
+    /**
+     * @return every item of the layout; items that were not shown yet are built first
+     */
+    public List<Widget> getItems() {
+        materializeAll();
+        return Collections.unmodifiableList(Arrays.asList(items));
+    }
+
+    /**
+     * Builds every item that is still a stub, including the items of nested lazy layouts. Used before something has
+     * to reach a widget below the fold, e.g. to focus the first invalid field.
+     */
+    public void materializeAll() {
+        materializeRemaining();
+
+        for (Widget item : items) {
+            if (item instanceof LayoutWidget) {
+                ((LayoutWidget) item).materializeAll();
+            }
+        }
+    }
+
+    private void materializeRemaining() {
+        while (materialized < items.length) {
+            materializeNext();
+        }
+    }
+
+    private boolean materializeVisible() {
+        View view = getView();
+        int lookAhead = viewFactory.getTheme(brandingModel).toPixel(viewFactory.getLazyLayoutLookAhead());
+        int limit = view.getRootView().getHeight() + lookAhead;
+
+        boolean changed = false;
+        while (materialized < items.length) {
+            this.<ViewGroup>typedView().getChildAt(materialized).getLocationInWindow(location);
+            if (location[1] > limit) {
+                break;
+            }
+
+            materializeNext();
+            changed = true;
+        }
+
+        if (materialized == items.length) {
+            view.getViewTreeObserver().removeOnPreDrawListener(materializeOnPreDraw);
+        }
 
-                    throw new RuntimeException();
-                })
-                .collect(Collectors.toList());
+        // Skip the frame that would show empty stubs, the next one is laid out with the real views
+        return !changed;
+    }
+
+    private void materializeNext() {
+        int index = materialized;
+        Widget item = build(itemModels.get(index));
+        items[index] = item;
+        materialized++;
 
         ViewGroup viewGroup = typedView();
-        items.forEach(item -> viewGroup.addView(item.getView()));
+        if (viewGroup.getChildCount() > index) {
+            // Replacing the stub
+            viewGroup.removeViewAt(index);
+        }
+        viewGroup.addView(item.getView(), index);
+
+        if (!viewGroup.isEnabled()) {
+            ScreenRenderer.setEnabled(item.getView(), false);
+        }
+    }
+
+    private Widget build(LayoutModel layoutModel) {
+        if (layoutModel instanceof LayoutModel.WidgetReferenceModel) {
+            LayoutModel.WidgetReferenceModel widgetReferenceModel = (LayoutModel.WidgetReferenceModel) layoutModel;
+            return forms.get(widgetReferenceModel.getFormId()).getWidgets().get(widgetReferenceModel.getWidgetId());
+        }
+
+        if (layoutModel instanceof LayoutModel.SingleLayoutModel) {
+            return viewFactory.layoutWidget(forms, brandingModel, (LayoutModel.SingleLayoutModel) layoutModel);
+        }
+
+        throw new RuntimeException();
+    }
+
+    private View createStub(LayoutModel layoutModel) {
+        View stub = new View(getContext());
+        stub.setLayoutParams(
+            new LinearLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT,
+                viewFactory.getTheme(brandingModel).toPixel(estimateHeight(layoutModel))
+            )
+        );
+        return stub;
+    }
+
+    private static float estimateHeight(LayoutModel layoutModel) {
+        if (!(layoutModel instanceof LayoutModel.SingleLayoutModel)) {
+            return ESTIMATED_WIDGET_HEIGHT;
+        }
+
+        LayoutModel.SingleLayoutModel singleLayoutModel = (LayoutModel.SingleLayoutModel) layoutModel;
+        boolean horizontal = "horizontal".equals(singleLayoutModel.getType());
+        float height = 0;
+        for (LayoutModel item : singleLayoutModel.getItems()) {
+            float itemHeight = estimateHeight(item);
+            height = horizontal ? Math.max(height, itemHeight) : height + itemHeight;
+        }
+
+        return height;
     }
 }
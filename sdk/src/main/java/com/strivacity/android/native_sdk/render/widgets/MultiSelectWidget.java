@@ -1,18 +1,19 @@
 package com.strivacity.android.native_sdk.render.widgets;
 
 import android.content.Context;
-import android.graphics.Color;
 import android.view.ViewGroup;
 import android.widget.CheckBox;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import com.strivacity.android.native_sdk.render.constants.Colors;
+import com.strivacity.android.native_sdk.render.constants.Theme;
+import com.strivacity.android.native_sdk.render.models.OptionIndex;
 import com.strivacity.android.native_sdk.render.models.WidgetModel.MultiSelectWidgetModel;
 
 import lombok.Data;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
 
@@ -21,7 +22,8 @@ public class MultiSelectWidget extends EditableWidget {
     protected static final String NOT_A_VALID_SELECT_OPTION_TYPE = "Not a valid option type in the select widget";
     private static final String OPTIONS_ARE_EMPTY = "Options is an empty array";
     protected final TextView errorLabelView;
-    protected final List<String> selectedItems = new ArrayList<>();
+    protected final BitSet selection;
+    protected final OptionIndex<MultiSelectWidgetModel.Option> optionIndex;
     protected final List<MultiSelectWidgetModel.Option> flattenedOptions;
     protected final TextView multiSelectLabel;
     protected final List<CheckBoxContainer> checkBoxContainers;
@@ -29,7 +31,11 @@ public class MultiSelectWidget extends EditableWidget {
     private final MultiSelectWidgetModel widgetModel;
 
     public MultiSelectWidget(Context context, MultiSelectWidgetModel widgetModel) {
-        super(context);
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public MultiSelectWidget(Context context, Theme theme, MultiSelectWidgetModel widgetModel) {
+        super(context, theme);
         this.widgetModel = widgetModel;
 
         // Creating the parent layout
@@ -44,22 +50,20 @@ public class MultiSelectWidget extends EditableWidget {
         multiSelectLabel.setText(widgetModel.getLabel());
         parentLayoutView.addView(multiSelectLabel);
 
-        List<MultiSelectWidgetModel.Option> widgetOptions = widgetModel.getOptions();
-        if (!widgetModel.getOptions().isEmpty()) {
-            boolean hasGroup = widgetModel.getOptions().stream().anyMatch(option -> option.getType().equals("group"));
-            if (hasGroup) {
-                flattenedOptions = MultiSelectWidget.flatten(widgetOptions);
-            } else {
-                flattenedOptions = widgetModel.getOptions();
-            }
-        } else {
+        optionIndex = widgetModel.getOptionIndex();
+        if (optionIndex.isEmpty()) {
             throw new RuntimeException(OPTIONS_ARE_EMPTY);
         }
 
+        flattenedOptions = optionIndex.getOptions();
+        selection = optionIndex.selectionOf(widgetModel.getValues());
+
         ArrayList<CheckBoxContainer> checkBoxContainers = new ArrayList<>();
         ArrayList<GroupTitleContainer> groupTitleContainers = new ArrayList<>();
 
-        for (MultiSelectWidgetModel.Option option : flattenedOptions) {
+        for (int position = 0; position < flattenedOptions.size(); position++) {
+            MultiSelectWidgetModel.Option option = flattenedOptions.get(position);
+
             // Checkbox layout
             LinearLayout checkboxLayoutView = new LinearLayout(context);
             checkboxLayoutView.setOrientation(LinearLayout.VERTICAL);
@@ -76,13 +80,13 @@ public class MultiSelectWidget extends EditableWidget {
                 checkBox.setText(option.getLabel());
                 checkBoxContainers.add(new CheckBoxContainer(checkboxLayoutView, checkBox));
 
-                if (widgetModel.getValue().contains(option.getValue())) {
+                if (selection.get(position)) {
                     checkBox.setChecked(true);
-                    selectedItems.add(option.getValue());
                 }
 
                 checkBox.setOnCheckedChangeListener((buttonView, isChecked) -> {
                     checkedChangeListener(checkBox, checkboxLayoutView, option.getValue());
+                    notifyValueChanged();
                 });
 
                 checkboxLayoutView.addView(checkBox);
@@ -107,7 +111,7 @@ public class MultiSelectWidget extends EditableWidget {
         errorLabelView.setLayoutParams(
             new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
         );
-        errorLabelView.setTextColor(Color.parseColor(Colors.danger));
+        errorLabelView.setTextColor(getTheme().getDangerColor());
         parentLayoutView.addView(errorLabelView);
 
         // Adding views
@@ -115,10 +119,9 @@ public class MultiSelectWidget extends EditableWidget {
     }
 
     protected void checkedChangeListener(CheckBox checkbox, LinearLayout layout, String value) {
-        if (checkbox.isChecked()) {
-            selectedItems.add(value);
-        } else {
-            selectedItems.remove(value);
+        int position = optionIndex.indexOf(value);
+        if (position >= 0) {
+            selection.set(position, checkbox.isChecked());
         }
     }
 
@@ -128,7 +131,7 @@ public class MultiSelectWidget extends EditableWidget {
 
     @Override
     public List<String> getValue() {
-        return selectedItems;
+        return optionIndex.valuesOf(selection);
     }
 
     @Override
@@ -143,25 +146,6 @@ public class MultiSelectWidget extends EditableWidget {
         errorLabelView.setText(message);
     }
 
-    protected static List<MultiSelectWidgetModel.Option> flatten(List<MultiSelectWidgetModel.Option> options) {
-        List<MultiSelectWidgetModel.Option> flattened = new ArrayList<>();
-
-        // We de not support nested groups above 2 level
-        for (MultiSelectWidgetModel.Option option : options) {
-            if (!(Objects.equals(option.getType(), "group") || Objects.equals(option.getType(), "item"))) {
-                throw new RuntimeException();
-            }
-
-            flattened.add(option);
-
-            if (option.getOptions() != null) {
-                flattened.addAll(option.getOptions());
-            }
-        }
-
-        return flattened;
-    }
-
     @Data
     protected static class CheckBoxContainer {
 
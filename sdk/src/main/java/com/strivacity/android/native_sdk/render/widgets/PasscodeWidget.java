@@ -1,14 +1,13 @@
 package com.strivacity.android.native_sdk.render.widgets;
 
 import android.content.Context;
-import android.graphics.Color;
 import android.text.InputType;
 import android.view.ViewGroup;
 import android.widget.EditText;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import com.strivacity.android.native_sdk.render.constants.Colors;
+import com.strivacity.android.native_sdk.render.constants.Theme;
 import com.strivacity.android.native_sdk.render.models.WidgetModel;
 
 public class PasscodeWidget extends EditableWidget {
@@ -19,7 +18,11 @@ public class PasscodeWidget extends EditableWidget {
     protected TextView errorLabelView;
 
     public PasscodeWidget(Context context, WidgetModel.PasscodeWidgetModel widgetModel) {
-        super(context);
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public PasscodeWidget(Context context, Theme theme, WidgetModel.PasscodeWidgetModel widgetModel) {
+        super(context, theme);
         // Creating the parent layout
 
         LinearLayout parentLayoutView = new LinearLayout(context);
@@ -35,6 +38,7 @@ public class PasscodeWidget extends EditableWidget {
         inputView = new EditText(context);
         inputView.setInputType(InputType.TYPE_CLASS_NUMBER);
         inputView.setAutofillHints("smsOTPCode");
+        inputView.addTextChangedListener(valueChangeWatcher());
 
         // Creating the label for the input
 
@@ -42,7 +46,7 @@ public class PasscodeWidget extends EditableWidget {
         labelView.setText(widgetModel.getLabel());
 
         errorLabelView = new TextView(context);
-        errorLabelView.setTextColor(Color.parseColor(Colors.danger));
+        errorLabelView.setTextColor(getTheme().getDangerColor());
 
         parentLayoutView.addView(labelView);
         parentLayoutView.addView(inputView);
@@ -1,23 +1,27 @@
 package com.strivacity.android.native_sdk.render.widgets;
 
 import android.content.Context;
-import android.graphics.Color;
 import android.graphics.drawable.Drawable;
+import android.text.Editable;
 import android.text.InputType;
+import android.text.TextWatcher;
 import android.text.method.PasswordTransformationMethod;
 import android.text.method.SingleLineTransformationMethod;
 import android.view.ViewGroup;
 import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
+import android.widget.ProgressBar;
 import android.widget.RelativeLayout;
 import android.widget.TextView;
 
+import androidx.annotation.Nullable;
 import androidx.core.content.res.ResourcesCompat;
 
 import com.strivacity.android.native_sdk.R;
-import com.strivacity.android.native_sdk.render.constants.Colors;
+import com.strivacity.android.native_sdk.render.constants.Theme;
 import com.strivacity.android.native_sdk.render.models.WidgetModel;
+import com.strivacity.android.native_sdk.render.validation.PasswordQualityEvaluator;
 
 public class PasswordWidget extends EditableWidget {
 
@@ -30,8 +34,23 @@ public class PasswordWidget extends EditableWidget {
     protected final TextView errorLabelView;
     protected final ImageView passwordToggleView;
 
+    @Nullable
+    protected final PasswordQualityEvaluator qualityEvaluator;
+
+    @Nullable
+    protected final ProgressBar qualityIndicatorView;
+
+    @Nullable
+    protected final TextView qualityLabelView;
+
+    private boolean qualityUpdatePending;
+
     public PasswordWidget(Context context, WidgetModel.PasswordWidgetModel widgetModel) {
-        super(context);
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public PasswordWidget(Context context, Theme theme, WidgetModel.PasswordWidgetModel widgetModel) {
+        super(context, theme);
         // Creating the parent layout
 
         final LinearLayout parentLayoutView = new LinearLayout(context);
@@ -54,7 +73,7 @@ public class PasswordWidget extends EditableWidget {
         labelView.setText(widgetModel.getLabel());
 
         errorLabelView = new TextView(context);
-        errorLabelView.setTextColor(Color.parseColor(Colors.danger));
+        errorLabelView.setTextColor(getTheme().getDangerColor());
 
         // Modifying the input
 
@@ -64,6 +83,7 @@ public class PasswordWidget extends EditableWidget {
         );
         inputView.setInputType(InputType.TYPE_TEXT_VARIATION_PASSWORD);
         inputView.setTransformationMethod(PasswordTransformationMethod.getInstance());
+        inputView.addTextChangedListener(valueChangeWatcher());
 
         // Creating the password toggle image
 
@@ -77,12 +97,50 @@ public class PasswordWidget extends EditableWidget {
         passwordToggleView.setLayoutParams(passwordToggleParams);
         passwordToggleView.setImageResource(R.drawable.icon_eye_on);
 
+        // Creating the quality indicator below the input
+
+        if (widgetModel.isQualityIndicator()) {
+            qualityEvaluator = new PasswordQualityEvaluator(widgetModel.getValidator());
+
+            qualityIndicatorView = new ProgressBar(context, null, android.R.attr.progressBarStyleHorizontal);
+            qualityIndicatorView.setLayoutParams(
+                new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
+            );
+            qualityIndicatorView.setMax(PasswordQualityEvaluator.MAX_SCORE);
+
+            qualityLabelView = new TextView(context);
+
+            inputView.addTextChangedListener(
+                new TextWatcher() {
+                    @Override
+                    public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+                    @Override
+                    public void onTextChanged(CharSequence s, int start, int before, int count) {
+                        qualityEvaluator.onTextChanged(s, start, before, count);
+                        scheduleQualityUpdate();
+                    }
+
+                    @Override
+                    public void afterTextChanged(Editable s) {}
+                }
+            );
+        } else {
+            qualityEvaluator = null;
+            qualityIndicatorView = null;
+            qualityLabelView = null;
+        }
+
         // Adding views
 
         parentLayoutView.addView(labelView);
         inputLayoutView.addView(inputView);
         inputLayoutView.addView(passwordToggleView);
         parentLayoutView.addView(inputLayoutView);
+        if (qualityIndicatorView != null) {
+            parentLayoutView.addView(qualityIndicatorView);
+            parentLayoutView.addView(qualityLabelView);
+        }
         parentLayoutView.addView(errorLabelView);
         setView(parentLayoutView);
 
@@ -95,6 +153,43 @@ public class PasswordWidget extends EditableWidget {
         return false;
     }
 
+    /**
+     * The evaluator is updated on every keystroke, the indicator views at most once per frame.
+     */
+    private void scheduleQualityUpdate() {
+        if (qualityUpdatePending) {
+            return;
+        }
+
+        qualityUpdatePending = true;
+        qualityIndicatorView.postOnAnimation(() -> {
+            qualityUpdatePending = false;
+            renderQuality(qualityEvaluator.score());
+        });
+    }
+
+    protected void renderQuality(int score) {
+        qualityIndicatorView.setProgress(score);
+
+        switch (score) {
+            case 0:
+                qualityLabelView.setText(null);
+                break;
+            case 1:
+                qualityLabelView.setText(R.string.native_sdk_password_quality_weak);
+                break;
+            case 2:
+                qualityLabelView.setText(R.string.native_sdk_password_quality_fair);
+                break;
+            case 3:
+                qualityLabelView.setText(R.string.native_sdk_password_quality_good);
+                break;
+            default:
+                qualityLabelView.setText(R.string.native_sdk_password_quality_strong);
+                break;
+        }
+    }
+
     protected void addPasswordToggleBehavior(ImageView passwordToggle, EditText inputView) {
         final Drawable eyeOffIcon = ResourcesCompat.getDrawable(
             getContext().getResources(),
@@ -1,15 +1,19 @@
 package com.strivacity.android.native_sdk.render.widgets;
 
 import android.content.Context;
-import android.graphics.Color;
+import android.text.Editable;
 import android.text.InputType;
+import android.text.Selection;
+import android.text.TextWatcher;
 import android.view.ViewGroup;
 import android.widget.EditText;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import com.strivacity.android.native_sdk.render.constants.Colors;
+import com.strivacity.android.native_sdk.render.constants.Theme;
 import com.strivacity.android.native_sdk.render.models.WidgetModel;
+import com.strivacity.android.native_sdk.render.phone.AsYouTypePhoneFormatter;
+import com.strivacity.android.native_sdk.render.phone.PhoneNumber;
 
 public class PhoneWidget extends EditableWidget {
 
@@ -21,8 +25,14 @@ public class PhoneWidget extends EditableWidget {
 
     protected TextView errorLabelView;
 
+    protected final AsYouTypePhoneFormatter formatter = new AsYouTypePhoneFormatter();
+
     public PhoneWidget(Context context, WidgetModel.PhoneWidgetModel widgetModel) {
-        super(context);
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public PhoneWidget(Context context, Theme theme, WidgetModel.PhoneWidgetModel widgetModel) {
+        super(context, theme);
         this.widgetModel = widgetModel;
 
         // Creating the parent layout
@@ -39,6 +49,8 @@ public class PhoneWidget extends EditableWidget {
         inputView.setInputType(InputType.TYPE_CLASS_PHONE);
         // autofill with the user's full phone number with country code
         inputView.setAutofillHints("phoneNumber");
+        inputView.addTextChangedListener(new FormattingTextWatcher());
+        inputView.addTextChangedListener(valueChangeWatcher());
 
         // Creating the label for the input
 
@@ -46,7 +58,7 @@ public class PhoneWidget extends EditableWidget {
         labelView.setText(widgetModel.getLabel());
 
         errorLabelView = new TextView(context);
-        errorLabelView.setTextColor(Color.parseColor(Colors.danger));
+        errorLabelView.setTextColor(getTheme().getDangerColor());
 
         parentLayoutView.addView(labelView);
         parentLayoutView.addView(inputView);
@@ -58,9 +70,25 @@ public class PhoneWidget extends EditableWidget {
         return widgetModel.isReadonly();
     }
 
+    /**
+     * @return the number without the separators of the formatter. Numbers typed with a calling code are submitted in
+     * E.164 format, e.g. {@code +36201234567}; normalizing national numbers is left to the server.
+     */
     @Override
     public Object getValue() {
-        return inputView.getText() == null ? null : inputView.getText().toString();
+        if (inputView.getText() == null) {
+            return null;
+        }
+
+        String number = PhoneNumber.removeSeparators(inputView.getText());
+        if (number.startsWith("+") || number.startsWith("00")) {
+            PhoneNumber.ParseResult result = PhoneNumber.parse(number);
+            if (result.isValid()) {
+                return result.getNumber().toE164();
+            }
+        }
+
+        return number;
     }
 
     @Override
@@ -84,4 +112,91 @@ public class PhoneWidget extends EditableWidget {
                 errorLabelView.setText(message);
             });
     }
+
+    /**
+     * Formats the number as it is typed. Digits typed at the end are passed to the formatter one by one, any other
+     * edit formats the whole text again and keeps the cursor behind the same digit.
+     */
+    private class FormattingTextWatcher implements TextWatcher {
+
+        private boolean selfChange;
+        private boolean appended;
+        private int deletedSeparator = -1;
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            if (selfChange) {
+                return;
+            }
+
+            boolean deletesOneCharacter = count == 1 && after == 0;
+            deletedSeparator = deletesOneCharacter && !isDialable(s.charAt(start)) ? start : -1;
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+            if (selfChange) {
+                return;
+            }
+
+            appended = before == 0 && count == 1 && start == s.length() - 1;
+        }
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            if (selfChange) {
+                return;
+            }
+
+            String formatted;
+            int cursor;
+            if (appended) {
+                formatted = formatter.inputDigit(s.charAt(s.length() - 1));
+                cursor = formatted.length();
+            } else {
+                CharSequence text = s;
+                cursor = Selection.getSelectionEnd(s);
+
+                // Deleting a separator wouldn't change the number, the digit in front of it is deleted instead
+                if (deletedSeparator > 0) {
+                    int digit = deletedSeparator - 1;
+                    while (digit >= 0 && !isDialable(s.charAt(digit))) {
+                        digit--;
+                    }
+
+                    if (digit >= 0) {
+                        text = new StringBuilder(s).deleteCharAt(digit);
+                        cursor = digit;
+                    }
+                }
+
+                int dialableBeforeCursor = 0;
+                for (int i = 0; i < Math.max(cursor, 0) && i < text.length(); i++) {
+                    if (isDialable(text.charAt(i))) {
+                        dialableBeforeCursor++;
+                    }
+                }
+
+                formatted = formatter.format(text);
+                cursor = 0;
+                while (cursor < formatted.length() && dialableBeforeCursor > 0) {
+                    if (isDialable(formatted.charAt(cursor++))) {
+                        dialableBeforeCursor--;
+                    }
+                }
+            }
+
+            if (!formatted.contentEquals(s)) {
+                selfChange = true;
+                s.replace(0, s.length(), formatted);
+                selfChange = false;
+            }
+
+            Selection.setSelection(s, Math.min(cursor, s.length()));
+        }
+
+        private boolean isDialable(char c) {
+            return (c >= '0' && c <= '9') || c == '+';
+        }
+    }
 }
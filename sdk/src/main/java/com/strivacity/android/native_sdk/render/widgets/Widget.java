@@ -4,6 +4,8 @@ import android.content.Context;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.strivacity.android.native_sdk.render.constants.Theme;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,8 +17,15 @@ public abstract class Widget {
 
     protected Context context;
 
+    private final Theme theme;
+
     public Widget(Context context) {
+        this(context, Theme.getDefault());
+    }
+
+    public Widget(Context context, Theme theme) {
         this.context = context;
+        this.theme = theme;
     }
 
     public <T> T typedView() {
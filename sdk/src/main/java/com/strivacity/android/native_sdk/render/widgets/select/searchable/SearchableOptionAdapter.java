@@ -0,0 +1,154 @@
+package com.strivacity.android.native_sdk.render.widgets.select.searchable;
+
+import android.graphics.Typeface;
+import android.view.ViewGroup;
+import android.widget.RadioButton;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.strivacity.android.native_sdk.render.models.OptionIndex;
+import com.strivacity.android.native_sdk.render.models.OptionSearchIndex;
+import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rows of {@link SearchableSelectWidget}. Without a query every option is shown together with the group headers,
+ * while searching only the matching items are shown.
+ */
+class SearchableOptionAdapter extends RecyclerView.Adapter<SearchableOptionAdapter.OptionViewHolder> {
+
+    private static final int VIEW_TYPE_ITEM = 0;
+    private static final int VIEW_TYPE_GROUP = 1;
+
+    interface OnOptionSelectedListener {
+        void onOptionSelected(int position);
+    }
+
+    private final OptionIndex<Option> optionIndex;
+    private final OptionSearchIndex searchIndex;
+    private final OnOptionSelectedListener onOptionSelectedListener;
+
+    private boolean filtered;
+    private int selectedPosition;
+    private boolean enabled = true;
+
+    SearchableOptionAdapter(
+        OptionIndex<Option> optionIndex,
+        int selectedPosition,
+        OnOptionSelectedListener onOptionSelectedListener
+    ) {
+        this.optionIndex = optionIndex;
+        this.selectedPosition = selectedPosition;
+        this.onOptionSelectedListener = onOptionSelectedListener;
+
+        List<String> labels = new ArrayList<>(optionIndex.size());
+        for (int i = 0; i < optionIndex.size(); i++) {
+            labels.add(optionIndex.isItem(i) ? optionIndex.get(i).getLabel() : null);
+        }
+        this.searchIndex = new OptionSearchIndex(labels);
+
+        setHasStableIds(true);
+    }
+
+    void filter(CharSequence query) {
+        filtered = query != null && query.toString().trim().length() > 0;
+        searchIndex.search(filtered ? query : null);
+
+        // Stable ids let the RecyclerView keep the rows that are still shown
+        notifyDataSetChanged();
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        notifyDataSetChanged();
+    }
+
+    int getSelectedPosition() {
+        return selectedPosition;
+    }
+
+    private int positionAt(int row) {
+        return filtered ? searchIndex.resultAt(row) : row;
+    }
+
+    @Override
+    public int getItemCount() {
+        return filtered ? searchIndex.resultCount() : optionIndex.size();
+    }
+
+    @Override
+    public long getItemId(int row) {
+        return positionAt(row);
+    }
+
+    @Override
+    public int getItemViewType(int row) {
+        return optionIndex.isItem(positionAt(row)) ? VIEW_TYPE_ITEM : VIEW_TYPE_GROUP;
+    }
+
+    @NonNull
+    @Override
+    public OptionViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        TextView view;
+        if (viewType == VIEW_TYPE_GROUP) {
+            view = new TextView(parent.getContext());
+            view.setTypeface(null, Typeface.BOLD);
+        } else {
+            view = new RadioButton(parent.getContext());
+        }
+
+        view.setLayoutParams(
+            new RecyclerView.LayoutParams(
+                RecyclerView.LayoutParams.MATCH_PARENT,
+                RecyclerView.LayoutParams.WRAP_CONTENT
+            )
+        );
+
+        OptionViewHolder holder = new OptionViewHolder(view);
+        if (view instanceof RadioButton) {
+            view.setOnClickListener(v -> {
+                int row = holder.getBindingAdapterPosition();
+                if (row != RecyclerView.NO_POSITION) {
+                    select(positionAt(row));
+                }
+            });
+        }
+
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull OptionViewHolder holder, int row) {
+        int position = positionAt(row);
+        holder.label.setText(optionIndex.get(position).getLabel());
+
+        if (holder.label instanceof RadioButton) {
+            ((RadioButton) holder.label).setChecked(position == selectedPosition);
+            holder.label.setEnabled(enabled);
+        }
+    }
+
+    private void select(int position) {
+        if (position == selectedPosition) {
+            return;
+        }
+
+        selectedPosition = position;
+        notifyDataSetChanged();
+        onOptionSelectedListener.onOptionSelected(position);
+    }
+
+    static class OptionViewHolder extends RecyclerView.ViewHolder {
+
+        final TextView label;
+
+        OptionViewHolder(@NonNull TextView label) {
+            super(label);
+            this.label = label;
+        }
+    }
+}
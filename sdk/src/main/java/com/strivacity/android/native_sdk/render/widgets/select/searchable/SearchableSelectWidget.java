@@ -0,0 +1,138 @@
+package com.strivacity.android.native_sdk.render.widgets.select.searchable;
+
+import android.content.Context;
+import android.text.Editable;
+import android.text.InputType;
+import android.text.TextWatcher;
+import android.view.MotionEvent;
+import android.view.ViewGroup;
+import android.widget.EditText;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.strivacity.android.native_sdk.R;
+import com.strivacity.android.native_sdk.render.constants.Theme;
+import com.strivacity.android.native_sdk.render.models.OptionIndex;
+import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel;
+import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel.Option;
+import com.strivacity.android.native_sdk.render.widgets.select.simple.SelectWidget;
+
+/**
+ * Select widget for long option lists (render type {@code searchable}).
+ * <p>
+ * Options are shown in a {@link RecyclerView} with a fixed height, so only the visible rows exist as views no matter
+ * how many options the model has. The search field above the list filters the options by their labels.
+ */
+public class SearchableSelectWidget extends SelectWidget {
+
+    public static final String RENDER_TYPE = "searchable";
+
+    /**
+     * Height of the option list in dp
+     */
+    private static final float LIST_HEIGHT = 280;
+
+    protected final TextView selectLabel;
+    protected final EditText searchView;
+
+    private final OptionIndex<Option> optionIndex;
+    private final SearchableOptionAdapter adapter;
+
+    public SearchableSelectWidget(Context context, SelectWidgetModel widgetModel) {
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public SearchableSelectWidget(Context context, Theme theme, SelectWidgetModel widgetModel) {
+        super(context, theme, widgetModel);
+
+        optionIndex = widgetModel.getOptionIndex();
+        if (optionIndex.isEmpty()) {
+            throw new RuntimeException(OPTIONS_ARE_EMPTY);
+        }
+
+        LinearLayout searchableSelectView = new LinearLayout(context);
+        searchableSelectView.setLayoutParams(
+            new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
+        );
+        searchableSelectView.setOrientation(LinearLayout.VERTICAL);
+
+        // Set the label of the select
+        selectLabel = new TextView(context);
+        selectLabel.setText(widgetModel.getLabel());
+
+        adapter =
+            new SearchableOptionAdapter(
+                optionIndex,
+                optionIndex.indexOf(widgetModel.getValue()),
+                position -> notifyValueChanged()
+            );
+        adapter.setEnabled(!widgetModel.isReadonly());
+
+        // Creating the search field
+        searchView = new EditText(context);
+        searchView.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS);
+        searchView.setHint(R.string.native_sdk_select_search_hint);
+        searchView.setEnabled(!widgetModel.isReadonly());
+        searchView.addTextChangedListener(
+            new TextWatcher() {
+                @Override
+                public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+                @Override
+                public void onTextChanged(CharSequence s, int start, int before, int count) {
+                    adapter.filter(s);
+                }
+
+                @Override
+                public void afterTextChanged(Editable s) {}
+            }
+        );
+
+        // Creating the option list
+        RecyclerView optionListView = new RecyclerView(context);
+        optionListView.setLayoutParams(
+            new LinearLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT,
+                getTheme().toPixel(LIST_HEIGHT)
+            )
+        );
+        optionListView.setLayoutManager(new LinearLayoutManager(context));
+        optionListView.setAdapter(adapter);
+        optionListView.addOnItemTouchListener(new KeepTouchInList());
+
+        if (adapter.getSelectedPosition() > 0) {
+            optionListView.scrollToPosition(adapter.getSelectedPosition());
+        }
+
+        searchableSelectView.addView(selectLabel);
+        searchableSelectView.addView(searchView);
+        searchableSelectView.addView(optionListView);
+        setView(searchableSelectView);
+    }
+
+    @Override
+    public String getValue() {
+        int position = adapter.getSelectedPosition();
+        return position < 0 ? null : optionIndex.get(position).getValue();
+    }
+
+    /**
+     * Screens are usually placed in a scroll view, which would take over vertical drags started on the list.
+     */
+    private static class KeepTouchInList extends RecyclerView.SimpleOnItemTouchListener {
+
+        @Override
+        public boolean onInterceptTouchEvent(@NonNull RecyclerView recyclerView, @NonNull MotionEvent event) {
+            if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                boolean canScroll = recyclerView.canScrollVertically(1) || recyclerView.canScrollVertically(-1);
+                recyclerView.getParent().requestDisallowInterceptTouchEvent(canScroll);
+            }
+
+            return false;
+        }
+    }
+}
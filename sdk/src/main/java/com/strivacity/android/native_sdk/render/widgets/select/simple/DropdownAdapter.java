@@ -0,0 +1,231 @@
+package com.strivacity.android.native_sdk.render.widgets.select.simple;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.AbsListView;
+import android.widget.BaseAdapter;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.RelativeLayout;
+import android.widget.Spinner;
+import android.widget.TextView;
+
+import com.strivacity.android.native_sdk.R;
+import com.strivacity.android.native_sdk.render.constants.Dimensions;
+import com.strivacity.android.native_sdk.render.constants.Theme;
+import com.strivacity.android.native_sdk.render.models.OptionIndex;
+import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel.Option;
+
+import java.util.List;
+
+/**
+ * Adapter of {@link DropdownWidget} that recycles its rows.
+ * <p>
+ * Spinners only support a single view type, so group headers and items share one row that is restyled on bind from the
+ * row types computed up front. The options never change once the adapter is created, so positions are stable ids.
+ * Binding a recycled row only updates its text and style, no views or layout params are allocated while scrolling.
+ */
+public class DropdownAdapter extends BaseAdapter {
+
+    private static final int ROW_PLACEHOLDER = 0;
+    private static final int ROW_ITEM = 1;
+    private static final int ROW_GROUP = 2;
+
+    private final Context context;
+    private final Spinner spinner;
+    private final List<Option> options;
+    private final int[] rowTypes;
+    private final int groupTextColor;
+    private final int selectedLabelOffset;
+    private final Drawable selectedRowBackground;
+
+    /**
+     * @param options the options to show, the first one is the placeholder shown while nothing is selected
+     */
+    public DropdownAdapter(Context context, Spinner spinner, List<Option> options) {
+        this(context, Theme.getDefault(), spinner, options);
+    }
+
+    /**
+     * @param options the options to show, the first one is the placeholder shown while nothing is selected
+     */
+    public DropdownAdapter(Context context, Theme theme, Spinner spinner, List<Option> options) {
+        this.context = context;
+        this.spinner = spinner;
+        this.options = options;
+        this.groupTextColor = theme.getDisabledItemColor();
+        this.selectedLabelOffset = theme.getInputFocusTranslateY();
+        this.selectedRowBackground = theme.newSelectedDropdownItemDrawable();
+
+        rowTypes = new int[options.size()];
+        for (int i = 1; i < rowTypes.length; i++) {
+            rowTypes[i] = OptionIndex.TYPE_GROUP.equals(options.get(i).getType()) ? ROW_GROUP : ROW_ITEM;
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return options.size();
+    }
+
+    @Override
+    public Option getItem(int position) {
+        return options.get(position);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return position;
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+
+    @Override
+    public boolean areAllItemsEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled(int position) {
+        return rowTypes[position] != ROW_GROUP;
+    }
+
+    /**
+     * The view of the closed dropdown, showing the label and the selected option.
+     */
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        SelectedViewHolder holder = convertView != null && convertView.getTag() instanceof SelectedViewHolder
+            ? (SelectedViewHolder) convertView.getTag()
+            : new SelectedViewHolder();
+
+        boolean placeholder = rowTypes[position] == ROW_PLACEHOLDER;
+
+        holder.fieldLabel.setText(options.get(0).getLabel());
+        holder.fieldLabel.setTranslationY(placeholder ? 0 : -selectedLabelOffset);
+
+        holder.selectedOption.setText(options.get(position).getLabel());
+        holder.selectedOption.setVisibility(placeholder ? View.GONE : View.VISIBLE);
+
+        // The clear button is only shown while an option is selected
+        holder.clearButton.setVisibility(placeholder ? View.GONE : View.VISIBLE);
+
+        return holder.root;
+    }
+
+    @Override
+    public View getDropDownView(int position, View convertView, ViewGroup parent) {
+        RowViewHolder holder = convertView != null && convertView.getTag() instanceof RowViewHolder
+            ? (RowViewHolder) convertView.getTag()
+            : new RowViewHolder();
+
+        TextView textView = holder.textView;
+        textView.setText(options.get(position).getLabel());
+
+        if (rowTypes[position] == ROW_PLACEHOLDER) {
+            // The placeholder can't be picked from the list
+            textView.setHeight(0);
+        } else {
+            textView.setMinHeight(0);
+            textView.setMaxHeight(Integer.MAX_VALUE);
+        }
+
+        // Make a group item to look like a disabled label
+        if (rowTypes[position] == ROW_GROUP) {
+            textView.setTextColor(groupTextColor);
+            textView.setTextSize(TypedValue.COMPLEX_UNIT_SP, Dimensions.textSizeSmall);
+            textView.setTypeface(null, Typeface.BOLD);
+        } else {
+            textView.setTextColor(holder.defaultTextColors);
+            textView.setTextSize(TypedValue.COMPLEX_UNIT_PX, holder.defaultTextSize);
+            textView.setTypeface(holder.defaultTypeface);
+        }
+
+        textView.setBackground(position == spinner.getSelectedItemPosition() ? selectedRowBackground : null);
+
+        return textView;
+    }
+
+    private class SelectedViewHolder {
+
+        final RelativeLayout root;
+        final TextView fieldLabel;
+        final TextView selectedOption;
+        final ImageView clearButton;
+
+        SelectedViewHolder() {
+            root = new RelativeLayout(context);
+            root.setLayoutParams(
+                new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
+            );
+
+            // Select label
+            fieldLabel = new TextView(context);
+            fieldLabel.setLayoutParams(
+                new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
+            );
+
+            // Selected option value
+            selectedOption = new TextView(context);
+            selectedOption.setLayoutParams(
+                new RelativeLayout.LayoutParams(
+                    RelativeLayout.LayoutParams.MATCH_PARENT,
+                    RelativeLayout.LayoutParams.WRAP_CONTENT
+                )
+            );
+
+            // Buttons layout
+            LinearLayout buttonsLayout = new LinearLayout(context);
+            RelativeLayout.LayoutParams buttonsLayoutParams = new RelativeLayout.LayoutParams(
+                RelativeLayout.LayoutParams.WRAP_CONTENT,
+                RelativeLayout.LayoutParams.WRAP_CONTENT
+            );
+            buttonsLayoutParams.addRule(RelativeLayout.ALIGN_PARENT_END);
+            buttonsLayoutParams.addRule(RelativeLayout.CENTER_VERTICAL);
+            buttonsLayout.setOrientation(LinearLayout.HORIZONTAL);
+            buttonsLayout.setLayoutParams(buttonsLayoutParams);
+
+            clearButton = new ImageView(context);
+            clearButton.setImageResource(R.drawable.close);
+            clearButton.setOnClickListener(view -> spinner.setSelection(0));
+            buttonsLayout.addView(clearButton);
+
+            root.addView(fieldLabel);
+            root.addView(selectedOption);
+            root.addView(buttonsLayout);
+            root.setTag(this);
+        }
+    }
+
+    private class RowViewHolder {
+
+        final TextView textView;
+        final ColorStateList defaultTextColors;
+        final float defaultTextSize;
+        final Typeface defaultTypeface;
+
+        RowViewHolder() {
+            textView = new TextView(context);
+            textView.setLayoutParams(
+                new AbsListView.LayoutParams(
+                    AbsListView.LayoutParams.MATCH_PARENT,
+                    AbsListView.LayoutParams.WRAP_CONTENT
+                )
+            );
+
+            defaultTextColors = textView.getTextColors();
+            defaultTextSize = textView.getTextSize();
+            defaultTypeface = textView.getTypeface();
+
+            textView.setTag(this);
+        }
+    }
+}
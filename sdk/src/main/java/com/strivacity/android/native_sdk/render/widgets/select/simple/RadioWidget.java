@@ -7,6 +7,7 @@ import android.widget.RadioButton;
 import android.widget.RadioGroup;
 import android.widget.TextView;
 
+import com.strivacity.android.native_sdk.render.constants.Theme;
 import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel;
 import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel.Option;
 
@@ -25,7 +26,11 @@ public class RadioWidget extends SelectWidget {
     protected final TextView selectLabel;
 
     public RadioWidget(Context context, SelectWidgetModel widgetModel) {
-        super(context, widgetModel);
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public RadioWidget(Context context, Theme theme, SelectWidgetModel widgetModel) {
+        super(context, theme, widgetModel);
         LinearLayout radioSelectView = new LinearLayout(context);
         radioSelectView.setLayoutParams(
             new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
@@ -40,15 +45,8 @@ public class RadioWidget extends SelectWidget {
 
         RadioGroup.LayoutParams radioLayoutParams = (RadioGroup.LayoutParams) radioGroup.getLayoutParams();
 
-        List<Option> flattenedOptions;
-        if (!widgetModel.getOptions().isEmpty()) {
-            boolean hasGroup = widgetModel.getOptions().stream().anyMatch(option -> option.getType().equals("group"));
-            if (hasGroup) {
-                flattenedOptions = RadioWidget.flatten(widgetModel.getOptions());
-            } else {
-                flattenedOptions = widgetModel.getOptions();
-            }
-        } else {
+        List<Option> flattenedOptions = widgetModel.getOptionIndex().getOptions();
+        if (flattenedOptions.isEmpty()) {
             throw new RuntimeException(OPTIONS_ARE_EMPTY);
         }
 
@@ -76,6 +74,8 @@ public class RadioWidget extends SelectWidget {
             }
         });
 
+        radioGroup.setOnCheckedChangeListener((group, checkedId) -> notifyValueChanged());
+
         radioSelectView.addView(radioGroup);
         setView(radioSelectView);
     }
@@ -1,20 +1,15 @@
 package com.strivacity.android.native_sdk.render.widgets.select.simple;
 
 import android.content.Context;
-import android.graphics.Color;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import com.strivacity.android.native_sdk.render.constants.Colors;
+import com.strivacity.android.native_sdk.render.constants.Theme;
 import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel;
 import com.strivacity.android.native_sdk.render.widgets.EditableWidget;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-
 public abstract class SelectWidget extends EditableWidget {
 
     protected static final String OPTIONS_ARE_EMPTY = "Options is an empty array";
@@ -25,7 +20,11 @@ public abstract class SelectWidget extends EditableWidget {
     private View childView;
 
     public SelectWidget(Context context, SelectWidgetModel widgetModel) {
-        super(context);
+        this(context, Theme.getDefault(), widgetModel);
+    }
+
+    public SelectWidget(Context context, Theme theme, SelectWidgetModel widgetModel) {
+        super(context, theme);
         this.widgetModel = widgetModel;
 
         // Creating the parent layout
@@ -67,7 +66,7 @@ public abstract class SelectWidget extends EditableWidget {
         errorLabelView.setLayoutParams(
             new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
         );
-        errorLabelView.setTextColor(Color.parseColor(Colors.danger));
+        errorLabelView.setTextColor(getTheme().getDangerColor());
         parentLayoutView.addView(errorLabelView);
     }
 
@@ -75,23 +74,4 @@ public abstract class SelectWidget extends EditableWidget {
     public <T> T typedView() {
         return (T) childView;
     }
-
-    protected static List<SelectWidgetModel.Option> flatten(List<SelectWidgetModel.Option> options) {
-        List<SelectWidgetModel.Option> flattened = new ArrayList<>();
-
-        // We de not support nested groups above 2 level
-        for (SelectWidgetModel.Option option : options) {
-            if (!(Objects.equals(option.getType(), "group") || Objects.equals(option.getType(), "item"))) {
-                throw new RuntimeException(NOT_A_VALID_SELECT_OPTION_TYPE);
-            }
-
-            flattened.add(option);
-
-            if (option.getOptions() != null) {
-                flattened.addAll(option.getOptions());
-            }
-        }
-
-        return flattened;
-    }
 }
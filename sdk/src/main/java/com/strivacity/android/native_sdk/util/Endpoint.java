@@ -0,0 +1,31 @@
+package com.strivacity.android.native_sdk.util;
+
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+
+import lombok.Value;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * An endpoint address in the two forms the SDK needs it: the {@link Uri} used for logging and recording, and the
+ * {@link URL} a connection is opened to. Endpoints that are called repeatedly are created once, so requests to them
+ * skip parsing the address again.
+ */
+@Value
+public class Endpoint {
+
+    Uri uri;
+    URL url;
+
+    @NonNull
+    public static Endpoint of(@NonNull Uri uri) {
+        try {
+            return new Endpoint(uri, new URL(uri.toString()));
+        } catch (MalformedURLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -3,18 +3,24 @@ package com.strivacity.android.native_sdk.util;
 import android.net.Uri;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.CookieHandler;
 import java.net.HttpURLConnection;
 import java.net.ProtocolException;
+import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -26,25 +32,38 @@ import java.util.function.Function;
 public class HttpClient {
 
     @NonNull
-    private final Logging logging;
+    protected final Logging logging;
+
+    /**
+     * When set, every request/response exchange is handed to the recorder after it completes.
+     */
+    @Getter
+    @Setter
+    @Nullable
+    private volatile HttpExchangeRecorder recorder;
 
     public HttpClient(@NonNull Logging logging) {
         this.logging = logging;
     }
 
     public HttpResponse get(Uri uri, CookieHandler cookieHandler, Consumer<HttpRequest> httpCustomizer) {
-        return send("GET", uri, cookieHandler, httpCustomizer);
+        return send("GET", Endpoint.of(uri), cookieHandler, httpCustomizer);
+    }
+
+    public HttpResponse get(Endpoint endpoint, CookieHandler cookieHandler, Consumer<HttpRequest> httpCustomizer) {
+        return send("GET", endpoint, cookieHandler, httpCustomizer);
     }
 
     public HttpResponse post(Uri uri, CookieHandler cookieHandler, Consumer<HttpRequest> httpCustomizer) {
-        return send("POST", uri, cookieHandler, httpCustomizer);
+        return send("POST", Endpoint.of(uri), cookieHandler, httpCustomizer);
     }
 
-    public HttpResponse followUntil(Uri uri, CookieHandler cookieHandler, Function<HttpResponse, Boolean> predicate) {
-        CookieHandler defaultHandler = CookieHandler.getDefault();
+    public HttpResponse post(Endpoint endpoint, CookieHandler cookieHandler, Consumer<HttpRequest> httpCustomizer) {
+        return send("POST", endpoint, cookieHandler, httpCustomizer);
+    }
 
+    public HttpResponse followUntil(Uri uri, CookieHandler cookieHandler, Function<HttpResponse, Boolean> predicate) {
         try {
-            CookieHandler.setDefault(cookieHandler);
             int redirectionCounter = 0;
             HttpResponse response;
 
@@ -62,33 +81,39 @@ public class HttpClient {
             } while (redirectionCounter++ < 10);
         } catch (Exception e) {
             throw new RuntimeException(e);
-        } finally {
-            CookieHandler.setDefault(defaultHandler);
         }
 
         throw new NoSuchElementException();
     }
 
-    private HttpResponse send(
+    protected HttpResponse send(
         String method,
-        Uri uri,
+        Endpoint endpoint,
         CookieHandler cookieHandler,
         Consumer<HttpRequest> httpCustomizer
     ) {
+        Uri uri = endpoint.getUri();
         logging.debug(String.format("HTTP REQ [%s] %s", method, uri.getPath()));
-        CookieHandler defaultHandler = CookieHandler.getDefault();
+        long startedAt = System.nanoTime();
+        HttpExchangeRecorder recorder = this.recorder;
 
         try {
-            CookieHandler.setDefault(cookieHandler);
-            URL url = new URL(uri.toString());
+            URL url = endpoint.getUrl();
+            URI cookieUri = url.toURI();
             HttpURLConnection httpURLConnection = (HttpURLConnection) url.openConnection();
             HttpRequest httpRequest = new HttpRequest(httpURLConnection, method) {
                 {
                     setFollowRedirects(false);
                 }
             };
+            httpRequest.keepBody = recorder != null;
+            // Cookies are attached before the customizer runs, writing a body opens the connection
+            addCookies(httpURLConnection, cookieUri, cookieHandler);
             httpCustomizer.accept(httpRequest);
             final HttpResponse response = httpRequest.connect();
+            if (cookieHandler != null) {
+                cookieHandler.put(cookieUri, response.getHeaders());
+            }
             final int statusCode = response.getResponseCode();
             if (statusCode == 301 || statusCode == 302) {
                 final Uri locationUri = Uri.parse(response.getHeader("Location"));
@@ -117,11 +142,33 @@ public class HttpClient {
             } else {
                 logging.debug(String.format("HTTP RES [%d] %s", response.getResponseCode(), uri.getPath()));
             }
+
+            if (recorder != null) {
+                recorder.record(method, uri, httpRequest.getBody(), response, System.nanoTime() - startedAt);
+            }
             return response;
         } catch (Exception e) {
             throw new RuntimeException(e);
-        } finally {
-            CookieHandler.setDefault(defaultHandler);
+        }
+    }
+
+    /**
+     * Cookies are read from and stored into the given handler per request, instead of installing it as the process
+     * wide {@link CookieHandler#setDefault(CookieHandler) default}. Swapping the global default raced between
+     * concurrent flows and let one flow's requests pick up another flow's cookie jar.
+     */
+    private static void addCookies(HttpURLConnection httpURLConnection, URI uri, CookieHandler cookieHandler)
+        throws IOException {
+        if (cookieHandler == null) {
+            return;
+        }
+
+        Map<String, List<String>> cookieHeaders = cookieHandler.get(uri, httpURLConnection.getRequestProperties());
+        for (Map.Entry<String, List<String>> cookieHeader : cookieHeaders.entrySet()) {
+            List<String> values = cookieHeader.getValue();
+            if (values != null && !values.isEmpty()) {
+                httpURLConnection.setRequestProperty(cookieHeader.getKey(), String.join("; ", values));
+            }
         }
     }
 
@@ -142,10 +189,24 @@ public class HttpClient {
         }
     }
 
+    /**
+     * A request body that is written directly to the connection instead of being built as a string first.
+     */
+    public interface RequestBody {
+        void writeTo(Writer writer) throws IOException;
+    }
+
     public static class HttpRequest {
 
         private final HttpURLConnection httpURLConnection;
 
+        private String body;
+
+        /**
+         * Whether a streamed body is kept as sent, for {@link #getBody()}
+         */
+        private boolean keepBody;
+
         public HttpRequest(HttpURLConnection httpURLConnection, String method) throws ProtocolException {
             this.httpURLConnection = httpURLConnection;
             httpURLConnection.setRequestMethod(method);
@@ -160,6 +221,7 @@ public class HttpClient {
         }
 
         public void setBody(String body) {
+            this.body = body;
             try {
                 httpURLConnection.setDoOutput(true);
                 OutputStream outputStream = httpURLConnection.getOutputStream();
@@ -173,6 +235,38 @@ public class HttpClient {
             }
         }
 
+        public void setBody(RequestBody requestBody) {
+            try {
+                httpURLConnection.setDoOutput(true);
+                OutputStream outputStream = httpURLConnection.getOutputStream();
+                if (!keepBody) {
+                    try (Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+                        requestBody.writeTo(writer);
+                    }
+                    return;
+                }
+
+                // The body is rendered once, the bytes kept are the ones sent
+                ByteArrayOutputStream sent = new ByteArrayOutputStream();
+                try (Writer writer = new OutputStreamWriter(sent, StandardCharsets.UTF_8)) {
+                    requestBody.writeTo(writer);
+                }
+                try (OutputStream output = outputStream) {
+                    sent.writeTo(output);
+                }
+                body = new String(sent.toByteArray(), StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        /**
+         * @return the body sent; a streamed body is only kept while a recorder is installed, {@code null} otherwise
+         */
+        public String getBody() {
+            return body;
+        }
+
         public void setBearerToken(String bearerToken) {
             httpURLConnection.setRequestProperty("Authorization", "Bearer " + bearerToken);
         }
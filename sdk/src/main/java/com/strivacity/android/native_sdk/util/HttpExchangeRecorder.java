@@ -0,0 +1,353 @@
+package com.strivacity.android.native_sdk.util;
+
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import lombok.Data;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures the HTTP exchanges of a Journey Flow so they can be replayed later with {@link HttpReplayClient}.
+ * <p>
+ * Attach an instance to a {@link HttpClient} with {@link HttpClient#setRecorder(HttpExchangeRecorder)}. Tokens,
+ * authorization codes, PKCE parameters, session identifiers, cookies and every value the user submitted in a form are
+ * redacted before an exchange is stored, so a recording can be shared without leaking credentials.
+ * <p>
+ * The redacted values stay placeholders a replay can complete the journey with: {@code state} and {@code nonce} are
+ * stored as {@link #REDACTED} and filled in with the values of the live flow by {@link HttpReplayClient}, and ID
+ * tokens are replaced by an unsigned token that only keeps the issuer, audience and time claims of the original.
+ * <p>
+ * Recordings are written as JSON lines: a header line followed by one compact object per exchange.
+ */
+public class HttpExchangeRecorder {
+
+    public static final String REDACTED = "REDACTED";
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final Set<String> SECRET_PARAMETERS = new HashSet<>(
+        Arrays.asList(
+            "code",
+            "code_verifier",
+            "code_challenge",
+            "state",
+            "nonce",
+            "session_id",
+            "token",
+            "refresh_token",
+            "id_token_hint",
+            "login_hint",
+            "challenge"
+        )
+    );
+
+    private static final Set<String> SECRET_JSON_KEYS = new HashSet<>(
+        Arrays.asList("access_token", "refresh_token")
+    );
+
+    /**
+     * Claims of an ID token that identify neither the user nor the session
+     */
+    private static final Set<String> PUBLIC_CLAIMS = new HashSet<>(
+        Arrays.asList("iss", "aud", "azp", "exp", "iat", "auth_time")
+    );
+
+    private static final Set<String> SECRET_HEADERS = new HashSet<>(
+        Arrays.asList("set-cookie", "cookie", "authorization")
+    );
+
+    private static final String KEY_VERSION = "v";
+    private static final String KEY_METHOD = "m";
+    private static final String KEY_URL = "u";
+    private static final String KEY_REQUEST_BODY = "q";
+    private static final String KEY_STATUS = "s";
+    private static final String KEY_HEADERS = "h";
+    private static final String KEY_RESPONSE_BODY = "b";
+    private static final String KEY_DURATION = "t";
+
+    private final List<Exchange> exchanges = Collections.synchronizedList(new ArrayList<>());
+
+    public void record(
+        @NonNull String method,
+        @NonNull Uri uri,
+        @Nullable String requestBody,
+        @NonNull HttpClient.HttpResponse response,
+        long durationNanos
+    ) {
+        Exchange exchange = new Exchange();
+        exchange.setMethod(method);
+        exchange.setUrl(redactUri(uri.toString()));
+        exchange.setRequestBody(redactRequestBody(requestBody));
+        exchange.setResponseCode(response.getResponseCode());
+        exchange.setHeaders(redactHeaders(response.getHeaders()));
+        exchange.setResponseBody(redactResponseBody(response.getBody()));
+        exchange.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        exchanges.add(exchange);
+    }
+
+    @NonNull
+    public List<Exchange> getExchanges() {
+        synchronized (exchanges) {
+            return new ArrayList<>(exchanges);
+        }
+    }
+
+    public void clear() {
+        exchanges.clear();
+    }
+
+    public void writeTo(@NonNull OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try {
+            writer.write(new JSONObject().put(KEY_VERSION, FORMAT_VERSION).toString());
+            writer.write('\n');
+
+            for (Exchange exchange : getExchanges()) {
+                writer.write(toJson(exchange).toString());
+                writer.write('\n');
+            }
+        } catch (JSONException e) {
+            throw new IOException(e);
+        }
+
+        writer.flush();
+    }
+
+    @NonNull
+    public static List<Exchange> readFrom(@NonNull InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<Exchange> exchanges = new ArrayList<>();
+
+        try {
+            String header = reader.readLine();
+            if (header == null) {
+                return exchanges;
+            }
+
+            int version = new JSONObject(header).getInt(KEY_VERSION);
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported recording format version: " + version);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    exchanges.add(fromJson(new JSONObject(line)));
+                }
+            }
+        } catch (JSONException e) {
+            throw new IOException(e);
+        }
+
+        return exchanges;
+    }
+
+    private static JSONObject toJson(Exchange exchange) throws JSONException {
+        JSONObject headers = new JSONObject();
+        for (Map.Entry<String, List<String>> header : exchange.getHeaders().entrySet()) {
+            headers.put(header.getKey(), new JSONArray(header.getValue()));
+        }
+
+        return new JSONObject()
+            .put(KEY_METHOD, exchange.getMethod())
+            .put(KEY_URL, exchange.getUrl())
+            .putOpt(KEY_REQUEST_BODY, exchange.getRequestBody())
+            .put(KEY_STATUS, exchange.getResponseCode())
+            .put(KEY_HEADERS, headers)
+            .putOpt(KEY_RESPONSE_BODY, exchange.getResponseBody())
+            .put(KEY_DURATION, exchange.getDurationMillis());
+    }
+
+    private static Exchange fromJson(JSONObject json) throws JSONException {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        JSONObject jsonHeaders = json.getJSONObject(KEY_HEADERS);
+        for (Iterator<String> it = jsonHeaders.keys(); it.hasNext();) {
+            String name = it.next();
+            headers.put(name, JSON.parseStringList(jsonHeaders, name));
+        }
+
+        Exchange exchange = new Exchange();
+        exchange.setMethod(json.getString(KEY_METHOD));
+        exchange.setUrl(json.getString(KEY_URL));
+        exchange.setRequestBody(JSON.parseString(json, KEY_REQUEST_BODY));
+        exchange.setResponseCode(json.getInt(KEY_STATUS));
+        exchange.setHeaders(headers);
+        exchange.setResponseBody(JSON.parseString(json, KEY_RESPONSE_BODY));
+        exchange.setDurationMillis(json.getLong(KEY_DURATION));
+        return exchange;
+    }
+
+    static String redactUri(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+
+        Uri uri = Uri.parse(value);
+        if (uri.isOpaque() || uri.getQuery() == null) {
+            return value;
+        }
+
+        Uri.Builder builder = uri.buildUpon().clearQuery();
+        for (String name : uri.getQueryParameterNames()) {
+            for (String parameter : uri.getQueryParameters(name)) {
+                builder.appendQueryParameter(name, SECRET_PARAMETERS.contains(name) ? REDACTED : parameter);
+            }
+        }
+        return builder.build().toString();
+    }
+
+    private static String redactRequestBody(@Nullable String body) {
+        if (body == null || body.isEmpty()) {
+            return body;
+        }
+
+        try {
+            return redactAllValues(new JSONObject(body)).toString();
+        } catch (JSONException e) {
+            // Not JSON, so it is an application/x-www-form-urlencoded body
+            Uri uri = Uri.parse(redactUri("redacted:///?" + body));
+            return uri.getEncodedQuery();
+        }
+    }
+
+    private static String redactResponseBody(@Nullable String body) {
+        if (body == null || body.isEmpty()) {
+            return body;
+        }
+
+        try {
+            JSONObject json = new JSONObject(body);
+            for (String key : SECRET_JSON_KEYS) {
+                if (json.has(key)) {
+                    json.put(key, REDACTED);
+                }
+            }
+            if (!json.isNull("id_token")) {
+                json.put("id_token", placeholderIdToken(json.getString("id_token")));
+            }
+            return json.toString();
+        } catch (JSONException e) {
+            // Redirect bodies carry the location URI
+            return redactUri(body);
+        }
+    }
+
+    /**
+     * @return an unsigned token with the public claims of {@code idToken}, its subject and nonce are {@link #REDACTED}
+     */
+    static String placeholderIdToken(@NonNull String idToken) throws JSONException {
+        JSONObject claims = new JSONObject();
+        try {
+            JSONObject original = JWTUtils.decoded(idToken);
+            for (String claim : PUBLIC_CLAIMS) {
+                claims.putOpt(claim, original.opt(claim));
+            }
+        } catch (RuntimeException e) {
+            // Not a JWT, the placeholder has none of its claims
+        }
+
+        claims.put("sub", REDACTED);
+        claims.put("nonce", REDACTED);
+        return unsignedToken(claims);
+    }
+
+    static String unsignedToken(@NonNull JSONObject claims) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return (
+            encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) +
+            "." +
+            encoder.encodeToString(claims.toString().getBytes(StandardCharsets.UTF_8)) +
+            "."
+        );
+    }
+
+    private static Map<String, List<String>> redactHeaders(@Nullable Map<String, List<String>> headers) {
+        Map<String, List<String>> redacted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (headers == null) {
+            return redacted;
+        }
+
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            String name = header.getKey();
+            if (name == null || header.getValue() == null) {
+                continue;
+            }
+
+            List<String> values = new ArrayList<>(header.getValue().size());
+            for (String value : header.getValue()) {
+                if (SECRET_HEADERS.contains(name.toLowerCase())) {
+                    values.add(REDACTED);
+                } else if ("location".equalsIgnoreCase(name)) {
+                    values.add(redactUri(value));
+                } else {
+                    values.add(value);
+                }
+            }
+            redacted.put(name, values);
+        }
+
+        return redacted;
+    }
+
+    private static Object redactAllValues(Object value) throws JSONException {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            JSONObject redacted = new JSONObject();
+            for (Iterator<String> it = object.keys(); it.hasNext();) {
+                String key = it.next();
+                redacted.put(key, redactAllValues(object.get(key)));
+            }
+            return redacted;
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            JSONArray redacted = new JSONArray();
+            for (int i = 0; i < array.length(); i++) {
+                redacted.put(redactAllValues(array.get(i)));
+            }
+            return redacted;
+        } else if (value == JSONObject.NULL) {
+            return value;
+        }
+
+        return REDACTED;
+    }
+
+    @Data
+    public static class Exchange {
+
+        private String method;
+        private String url;
+        private String requestBody;
+        private int responseCode;
+        private Map<String, List<String>> headers;
+        private String responseBody;
+        private long durationMillis;
+    }
+}
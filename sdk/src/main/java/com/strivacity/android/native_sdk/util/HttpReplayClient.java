@@ -0,0 +1,185 @@
+package com.strivacity.android.native_sdk.util;
+
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.net.CookieHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link HttpClient} that serves a recording made with {@link HttpExchangeRecorder} instead of going to the network.
+ * <p>
+ * Exchanges are served in the order they were recorded, so a {@link com.strivacity.android.native_sdk.NativeSDK}
+ * built with this client walks through the exact screen sequence of the original journey. The recorded latency of
+ * every exchange is reproduced divided by {@code speed}: {@code 1} replays at the original pace, {@code 10} ten times
+ * faster and {@code 0} without any delay.
+ * <p>
+ * The {@code state} and {@code nonce} of the live flow are taken from its authorization request and put in place of
+ * the redacted ones of the recording, so the journey passes the state and nonce checks and completes with the
+ * placeholder tokens of the recording.
+ */
+public class HttpReplayClient extends HttpClient {
+
+    private final List<HttpExchangeRecorder.Exchange> exchanges;
+    private final double speed;
+    private int position;
+
+    @Nullable
+    private volatile String state;
+
+    @Nullable
+    private volatile String nonce;
+
+    public HttpReplayClient(
+        @NonNull Logging logging,
+        @NonNull List<HttpExchangeRecorder.Exchange> exchanges,
+        double speed
+    ) {
+        super(logging);
+        if (speed < 0) {
+            throw new IllegalArgumentException("Replay speed cannot be negative");
+        }
+
+        this.exchanges = new ArrayList<>(exchanges);
+        this.speed = speed;
+    }
+
+    public synchronized boolean isFinished() {
+        return position >= exchanges.size();
+    }
+
+    public synchronized void rewind() {
+        position = 0;
+    }
+
+    @Override
+    protected HttpResponse send(
+        String method,
+        Endpoint endpoint,
+        CookieHandler cookieHandler,
+        Consumer<HttpRequest> httpCustomizer
+    ) {
+        Uri uri = endpoint.getUri();
+        HttpExchangeRecorder.Exchange exchange = next(method, uri);
+        if (uri.getQueryParameter("state") != null) {
+            state = uri.getQueryParameter("state");
+            nonce = uri.getQueryParameter("nonce");
+        }
+
+        logging.debug(String.format("HTTP REPLAY [%s] %s", method, uri.getPath()));
+
+        if (speed > 0 && exchange.getDurationMillis() > 0) {
+            try {
+                Thread.sleep((long) (exchange.getDurationMillis() / speed));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, List<String>> header : exchange.getHeaders().entrySet()) {
+            List<String> values = new ArrayList<>(header.getValue().size());
+            for (String value : header.getValue()) {
+                values.add("location".equalsIgnoreCase(header.getKey()) ? restoreUri(value) : value);
+            }
+            headers.put(header.getKey(), values);
+        }
+
+        HttpResponse response = new HttpResponse();
+        response.setResponseCode(exchange.getResponseCode());
+        response.setHeaders(headers);
+        response.setBody(restoreBody(exchange.getResponseBody()));
+        response.setUrl(Uri.parse(exchange.getUrl()));
+        return response;
+    }
+
+    /**
+     * Puts the live state in place of the redacted one of a redirect URI
+     */
+    private String restoreUri(String value) {
+        Uri uri = Uri.parse(value);
+        String state = this.state;
+        if (state == null || uri.isOpaque() || !HttpExchangeRecorder.REDACTED.equals(uri.getQueryParameter("state"))) {
+            return value;
+        }
+
+        Uri.Builder builder = uri.buildUpon().clearQuery();
+        for (String name : uri.getQueryParameterNames()) {
+            for (String parameter : uri.getQueryParameters(name)) {
+                builder.appendQueryParameter(name, "state".equals(name) ? state : parameter);
+            }
+        }
+        return builder.build().toString();
+    }
+
+    /**
+     * Restores the state of redirect bodies and the nonce of the placeholder ID token of token responses
+     */
+    private String restoreBody(@Nullable String body) {
+        if (body == null || !body.contains(HttpExchangeRecorder.REDACTED)) {
+            return body;
+        }
+
+        JSONObject json;
+        try {
+            json = new JSONObject(body);
+        } catch (JSONException e) {
+            // Redirect bodies carry the location URI
+            return restoreUri(body);
+        }
+
+        String nonce = this.nonce;
+        try {
+            if (nonce == null || json.isNull("id_token")) {
+                return body;
+            }
+
+            JSONObject claims = JWTUtils.decoded(json.getString("id_token"));
+            if (!HttpExchangeRecorder.REDACTED.equals(claims.optString("nonce"))) {
+                return body;
+            }
+
+            claims.put("nonce", nonce);
+            return json.put("id_token", HttpExchangeRecorder.unsignedToken(claims)).toString();
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private synchronized HttpExchangeRecorder.Exchange next(String method, Uri uri) {
+        if (position >= exchanges.size()) {
+            throw new IllegalStateException(
+                String.format("Replay exhausted, no recorded exchange for [%s] %s", method, uri.getPath())
+            );
+        }
+
+        HttpExchangeRecorder.Exchange exchange = exchanges.get(position);
+        String recordedPath = Uri.parse(exchange.getUrl()).getPath();
+        if (!exchange.getMethod().equals(method) || !Objects.equals(recordedPath, uri.getPath())) {
+            throw new IllegalStateException(
+                String.format(
+                    "Replay diverged at exchange %d: expected [%s] %s but got [%s] %s",
+                    position,
+                    exchange.getMethod(),
+                    recordedPath,
+                    method,
+                    uri.getPath()
+                )
+            );
+        }
+
+        position++;
+        return exchange;
+    }
+}
@@ -1,25 +1,64 @@
 package com.strivacity.android.native_sdk.util;
 
-import android.util.Base64;
-
 import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 
 public class JWTUtils {
 
     public static JSONObject decoded(String JWTEncoded) {
-        String[] parts = JWTEncoded.split("\\.");
         try {
-            return new JSONObject(getJson(parts[1]));
+            return new JSONObject(new String(payload(JWTEncoded), StandardCharsets.UTF_8));
         } catch (JSONException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private static String getJson(String strEncoded) {
-        byte[] decodedBytes = Base64.decode(strEncoded, Base64.URL_SAFE);
-        return new String(decodedBytes, StandardCharsets.UTF_8);
+    /**
+     * Decodes the payload of a JWT, the part between the first and the second dot, without splitting the token.
+     */
+    public static byte[] payload(String JWTEncoded) {
+        int start = JWTEncoded.indexOf('.') + 1;
+        int end = payloadEnd(JWTEncoded, start);
+        if (end < 0) {
+            throw new RuntimeException("Not a JWT");
+        }
+
+        // Base64 is ASCII, the characters can be copied as bytes without encoding them
+        byte[] encoded = new byte[end - start];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = (byte) JWTEncoded.charAt(start + i);
+        }
+
+        return Base64.getUrlDecoder().decode(encoded);
+    }
+
+    /**
+     * Checks a decoded payload against a JWT by encoding it again and comparing it to the payload of the token.
+     */
+    public static boolean hasPayload(String JWTEncoded, byte[] payload) {
+        int start = JWTEncoded.indexOf('.') + 1;
+        int end = payloadEnd(JWTEncoded, start);
+        if (end < 0) {
+            return false;
+        }
+
+        byte[] encoded = Base64.getUrlEncoder().withoutPadding().encode(payload);
+        if (encoded.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < encoded.length; i++) {
+            if (encoded[i] != JWTEncoded.charAt(start + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int payloadEnd(String JWTEncoded, int start) {
+        return start == 0 ? -1 : JWTEncoded.indexOf('.', start);
     }
 }
@@ -1,26 +1,43 @@
 package com.strivacity.android.native_sdk.util;
 
-import android.util.Base64;
-
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Base64;
 
+/**
+ * Generates the PKCE and OIDC parameters of an authorization request.
+ * <p>
+ * Seeding a {@link SecureRandom} and looking up a {@link MessageDigest} provider are the expensive parts, so every
+ * parameter of the SDK comes from the one random source of this class and every thread keeps its own SHA-256 digest.
+ * Values are encoded with {@link java.util.Base64}, the generator runs on a plain JVM as well.
+ */
 public class OIDCParamGenerator {
 
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    });
+
     public static String generateRandomString(int byteLengths) {
-        SecureRandom random = new SecureRandom();
         byte[] bytes = new byte[byteLengths];
-        random.nextBytes(bytes);
+        SECURE_RANDOM.nextBytes(bytes);
 
-        return Base64.encodeToString(bytes, Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+        return ENCODER.encodeToString(bytes);
     }
 
     public static String generateCodeChallenge(String codeVerifier) throws NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
-        byte[] hash = digest.digest(codeVerifier.getBytes(StandardCharsets.UTF_8));
+        // digest() resets the digest, the next call starts from scratch
+        byte[] hash = SHA_256.get().digest(codeVerifier.getBytes(StandardCharsets.US_ASCII));
 
-        return Base64.encodeToString(hash, Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+        return ENCODER.encodeToString(hash);
     }
 }
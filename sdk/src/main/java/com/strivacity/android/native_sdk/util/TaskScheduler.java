@@ -0,0 +1,313 @@
+package com.strivacity.android.native_sdk.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the work of the SDK on separate lanes, so a slow call on one lane never waits behind another lane.
+ * <p>
+ * Every lane runs on a small, fixed number of threads, which can be shared by several SDK instances through a
+ * {@link com.strivacity.android.native_sdk.NativeSDKRuntime}. An instance submits its tasks through
+ * {@link #serialExecutor serial executors}: they run one after the other and in order, so state that is only touched
+ * from one of them needs no locking, and a quota caps how many of them can wait. Lanes differ in thread priority, and
+ * every lane counts its queued, peak and completed tasks. The queue of the I/O lane is bounded, a burst of disk work
+ * is rejected instead of piling up behind a slow disk.
+ */
+public class TaskScheduler {
+
+    /**
+     * Number of tasks that can wait on the I/O lane, further tasks are rejected
+     */
+    static final int IO_QUEUE_CAPACITY = 64;
+
+    public enum Lane {
+        /**
+         * Journeys: starting a flow, submitting forms and rendering the screens
+         */
+        INTERACTIVE(2, Thread.NORM_PRIORITY, Integer.MAX_VALUE),
+        /**
+         * Session maintenance the user isn't waiting for: token refresh, logout and revoke
+         */
+        BACKGROUND(1, Thread.MIN_PRIORITY, Integer.MAX_VALUE),
+        /**
+         * Disk access, e.g. loading the stored session
+         */
+        IO(2, Thread.NORM_PRIORITY - 1, IO_QUEUE_CAPACITY);
+
+        private final int threads;
+        private final int priority;
+        private final int queueCapacity;
+
+        Lane(int threads, int priority, int queueCapacity) {
+            this.threads = threads;
+            this.priority = priority;
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    @Value
+    public static class Metrics {
+
+        Lane lane;
+
+        /**
+         * Tasks waiting to run
+         */
+        int queueDepth;
+
+        /**
+         * Most tasks that were waiting at once
+         */
+        int peakQueueDepth;
+
+        long completedTasks;
+    }
+
+    private final Map<Lane, LaneExecutor> lanes = new EnumMap<>(Lane.class);
+
+    @Getter
+    private volatile boolean shutdown;
+
+    public TaskScheduler() {
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, new LaneExecutor(lane));
+        }
+    }
+
+    /**
+     * @throws RejectedExecutionException if the scheduler was shut down or the queue of the lane is full
+     */
+    public void execute(@NonNull Lane lane, @NonNull Runnable task) {
+        lanes.get(lane).execute(task);
+    }
+
+    @NonNull
+    public Executor executor(@NonNull Lane lane) {
+        return lanes.get(lane);
+    }
+
+    @NonNull
+    public Metrics getMetrics(@NonNull Lane lane) {
+        LaneExecutor executor = lanes.get(lane);
+        return new Metrics(
+            lane,
+            executor.queueDepth.get(),
+            executor.peakQueueDepth.get(),
+            executor.getCompletedTaskCount()
+        );
+    }
+
+    /**
+     * An executor running its tasks on the lane one at a time, in the order they were submitted.
+     *
+     * @param quota the number of tasks that can wait, further tasks are rejected
+     */
+    @NonNull
+    public SerialExecutor serialExecutor(@NonNull Lane lane, int quota) {
+        return new SerialExecutor(lanes.get(lane), quota);
+    }
+
+    /**
+     * Stops accepting tasks. Tasks that were already submitted still run, and the threads end once they are done.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (LaneExecutor executor : lanes.values()) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Waits until every task submitted before {@link #shutdown()} has completed.
+     *
+     * @return {@code false} if the timeout elapsed first
+     */
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (LaneExecutor executor : lanes.values()) {
+            if (!executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static class LaneExecutor extends ThreadPoolExecutor {
+
+        final AtomicInteger queueDepth = new AtomicInteger();
+        final AtomicInteger peakQueueDepth = new AtomicInteger();
+
+        LaneExecutor(Lane lane) {
+            super(
+                lane.threads,
+                lane.threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(lane.queueCapacity),
+                threadFactory(lane)
+            );
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            queued();
+            try {
+                super.execute(command);
+            } catch (RejectedExecutionException e) {
+                queueDepth.decrementAndGet();
+                throw e;
+            }
+        }
+
+        /**
+         * Submits a task without counting it, serial executors count their tasks when they are submitted to them.
+         */
+        void executeCounted(Runnable command) {
+            super.execute(command);
+        }
+
+        void queued() {
+            int depth = queueDepth.incrementAndGet();
+            int peak;
+            do {
+                peak = peakQueueDepth.get();
+            } while (depth > peak && !peakQueueDepth.compareAndSet(peak, depth));
+        }
+
+        @Override
+        protected void beforeExecute(Thread thread, Runnable runnable) {
+            queueDepth.decrementAndGet();
+            super.beforeExecute(thread, runnable);
+        }
+
+        private static ThreadFactory threadFactory(Lane lane) {
+            String name = "NativeSDK-" + lane.name().toLowerCase(Locale.ROOT);
+            AtomicInteger count = new AtomicInteger();
+            return runnable -> {
+                Thread thread = new Thread(runnable, lane.threads > 1 ? name + "-" + count.incrementAndGet() : name);
+                thread.setDaemon(true);
+                thread.setPriority(lane.priority);
+                return thread;
+            };
+        }
+    }
+
+    /**
+     * Runs the tasks of one submitter on a lane one at a time. Tasks go back to the lane one by one, so serial
+     * executors sharing a lane take turns.
+     */
+    public static class SerialExecutor implements Executor {
+
+        private final LaneExecutor lane;
+        private final int quota;
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+        private boolean running;
+        private boolean shutdown;
+
+        SerialExecutor(LaneExecutor lane, int quota) {
+            this.lane = lane;
+            this.quota = quota;
+        }
+
+        /**
+         * @throws RejectedExecutionException if the quota is used up, this executor or its lane was shut down, or the
+         *                                    queue of the lane is full
+         */
+        @Override
+        public void execute(@NonNull Runnable task) {
+            synchronized (tasks) {
+                if (shutdown || lane.isShutdown()) {
+                    throw new RejectedExecutionException("Executor is shut down");
+                }
+                if (tasks.size() >= quota) {
+                    throw new RejectedExecutionException("Quota of " + quota + " waiting tasks is used up");
+                }
+
+                tasks.add(task);
+                lane.queued();
+                if (!running) {
+                    try {
+                        lane.executeCounted(this::runNext);
+                    } catch (RejectedExecutionException e) {
+                        tasks.removeLast();
+                        lane.queueDepth.decrementAndGet();
+                        throw e;
+                    }
+                    running = true;
+                }
+            }
+        }
+
+        /**
+         * Stops accepting tasks, the ones that are already waiting still run.
+         */
+        public void shutdown() {
+            synchronized (tasks) {
+                shutdown = true;
+            }
+        }
+
+        public int getQueueDepth() {
+            synchronized (tasks) {
+                return tasks.size();
+            }
+        }
+
+        private void runNext() {
+            Runnable task;
+            synchronized (tasks) {
+                task = tasks.poll();
+            }
+
+            while (task != null) {
+                try {
+                    task.run();
+                } finally {
+                    task = scheduleNext();
+                }
+            }
+        }
+
+        /**
+         * Hands the next task back to the lane, so other serial executors get their turn in between.
+         *
+         * @return the next task if it has to run on this thread right away, because the lane was shut down or its
+         * queue is full
+         */
+        @Nullable
+        private Runnable scheduleNext() {
+            synchronized (tasks) {
+                if (tasks.isEmpty()) {
+                    running = false;
+                    return null;
+                }
+
+                try {
+                    lane.executeCounted(this::runNext);
+                    return null;
+                } catch (RejectedExecutionException e) {
+                    lane.queueDepth.decrementAndGet();
+                    return tasks.poll();
+                }
+            }
+        }
+    }
+}
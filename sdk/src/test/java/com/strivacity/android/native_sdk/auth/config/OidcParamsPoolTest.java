@@ -0,0 +1,48 @@
+package com.strivacity.android.native_sdk.auth.config;
+
+import com.strivacity.android.native_sdk.util.OIDCParamGenerator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Set;
+
+public class OidcParamsPoolTest {
+
+    @Test
+    public void fillStopsAtCapacity() {
+        OidcParamsPool pool = new OidcParamsPool(3);
+        pool.fill();
+        pool.fill();
+
+        Assert.assertEquals(3, pool.size());
+    }
+
+    @Test
+    public void takeHandsOutEverySetOnce() {
+        OidcParamsPool pool = new OidcParamsPool(3);
+        pool.fill();
+
+        Set<String> verifiers = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            verifiers.add(pool.take().getCodeVerifier());
+        }
+
+        Assert.assertEquals(5, verifiers.size());
+        Assert.assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void takeGeneratesWhenEmpty() throws NoSuchAlgorithmException {
+        OidcParams params = new OidcParamsPool(1).take();
+
+        Assert.assertEquals(
+            OIDCParamGenerator.generateCodeChallenge(params.getCodeVerifier()),
+            params.getCodeChallenge()
+        );
+        Assert.assertEquals(22, params.getState().length());
+        Assert.assertEquals(22, params.getNonce().length());
+    }
+}
@@ -0,0 +1,71 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+public class AesGcmSessionCipherTest {
+
+    private static SecretKey newKey() throws Exception {
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256);
+        return keyGenerator.generateKey();
+    }
+
+    @Test
+    public void roundTrips() throws Exception {
+        AesGcmSessionCipher cipher = new AesGcmSessionCipher(newKey());
+        byte[] plaintext = "{\"accessToken\":\"token\"}".getBytes(StandardCharsets.UTF_8);
+
+        byte[] encrypted = cipher.encrypt(plaintext);
+
+        assertEquals(1 + 12 + plaintext.length + 16, encrypted.length);
+        assertArrayEquals(plaintext, cipher.decrypt(encrypted));
+    }
+
+    @Test
+    public void usesAFreshIvForEveryEncryption() throws Exception {
+        AesGcmSessionCipher cipher = new AesGcmSessionCipher(newKey());
+        byte[] plaintext = new byte[] { 1, 2, 3 };
+
+        assertFalse(Arrays.equals(cipher.encrypt(plaintext), cipher.encrypt(plaintext)));
+    }
+
+    @Test
+    public void rejectsTamperedData() throws Exception {
+        AesGcmSessionCipher cipher = new AesGcmSessionCipher(newKey());
+        byte[] encrypted = cipher.encrypt(new byte[] { 1, 2, 3 });
+        encrypted[encrypted.length - 1] ^= 1;
+
+        try {
+            cipher.decrypt(encrypted);
+            fail();
+        } catch (GeneralSecurityException expected) {}
+    }
+
+    @Test
+    public void resolvesTheKeyOnce() throws Exception {
+        SecretKey key = newKey();
+        AtomicInteger lookups = new AtomicInteger();
+        AesGcmSessionCipher cipher = new AesGcmSessionCipher(() -> {
+            lookups.incrementAndGet();
+            return key;
+        });
+
+        cipher.decrypt(cipher.encrypt(new byte[] { 1 }));
+        cipher.decrypt(cipher.encrypt(new byte[] { 2 }));
+
+        assertEquals(1, lookups.get());
+    }
+}
@@ -0,0 +1,85 @@
+package com.strivacity.android.native_sdk.auth.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.strivacity.android.native_sdk.auth.FlowCheckpoint;
+import com.strivacity.android.native_sdk.auth.config.OidcParams;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+public class FlowCheckpointCodecTest {
+
+    private final FlowCheckpointCodec codec = new FlowCheckpointCodec();
+
+    static FlowCheckpoint checkpoint(String screen) {
+        return new FlowCheckpoint(
+            FlowCheckpoint.Type.LOGIN,
+            "session-id",
+            new OidcParams("verifier", "challenge", "state", "nonce"),
+            screen,
+            Instant.ofEpochMilli(1700000000123L)
+        );
+    }
+
+    @Test
+    public void roundTrips() {
+        FlowCheckpoint checkpoint = checkpoint("{\"screen\":\"\u00c1rv\u00edzt\u0171r\u0151\"}");
+
+        assertEquals(checkpoint, codec.decode(codec.encode(checkpoint)));
+    }
+
+    @Test
+    public void keepsTheType() {
+        FlowCheckpoint checkpoint = new FlowCheckpoint(
+            FlowCheckpoint.Type.ENTRY,
+            "session-id",
+            new OidcParams(null, null, null, null),
+            "{}",
+            Instant.ofEpochMilli(0)
+        );
+
+        assertEquals(checkpoint, codec.decode(codec.encode(checkpoint)));
+    }
+
+    @Test
+    public void rejectsOtherData() {
+        assertRejected(new byte[0]);
+        assertRejected("{\"accessToken\":\"token\"}".getBytes());
+    }
+
+    @Test
+    public void rejectsNewerVersions() {
+        byte[] data = codec.encode(checkpoint("{}"));
+        data[1]++;
+
+        assertRejected(data);
+    }
+
+    @Test
+    public void rejectsTruncatedData() {
+        byte[] data = codec.encode(checkpoint("{}"));
+
+        assertRejected(Arrays.copyOf(data, data.length - 1));
+        assertRejected(Arrays.copyOf(data, 12));
+    }
+
+    @Test
+    public void rejectsCorruptLengths() {
+        byte[] data = codec.encode(checkpoint("{}"));
+        // Length of the session ID, right after the magic, version, type and creation time
+        data[11] = 0x7f;
+
+        assertRejected(data);
+    }
+
+    private void assertRejected(byte[] data) {
+        try {
+            codec.decode(data);
+            fail();
+        } catch (RuntimeException expected) {}
+    }
+}
@@ -0,0 +1,30 @@
+package com.strivacity.android.native_sdk.fallback;
+
+import static org.junit.Assert.assertEquals;
+
+import com.strivacity.android.native_sdk.render.RenderCapabilities;
+
+import org.junit.Test;
+
+public class FallbackMetricsTest {
+
+    @Test
+    public void countsFallbacksByUnsupportedType() {
+        FallbackMetrics metrics = new FallbackMetrics();
+        RenderCapabilities.Unsupported captcha = new RenderCapabilities.Unsupported(
+            RenderCapabilities.Kind.WIDGET,
+            "captcha",
+            "captcha"
+        );
+
+        metrics.recordUnsupported(captcha);
+        metrics.recordUnsupported(captcha);
+        metrics.recordUnsupported(new RenderCapabilities.Unsupported(RenderCapabilities.Kind.LAYOUT, null, "grid"));
+        metrics.recordFailure();
+
+        assertEquals(3, metrics.getUnsupportedCount());
+        assertEquals(2, metrics.getUnsupported().size());
+        assertEquals(Long.valueOf(2), metrics.getUnsupported().get(captcha));
+        assertEquals(1, metrics.getFailures());
+    }
+}
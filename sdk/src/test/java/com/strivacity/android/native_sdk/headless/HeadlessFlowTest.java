@@ -0,0 +1,270 @@
+package com.strivacity.android.native_sdk.headless;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.strivacity.android.native_sdk.fallback.BrowserFallback;
+import com.strivacity.android.native_sdk.render.models.LayoutModel;
+import com.strivacity.android.native_sdk.util.HttpClient;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+public class HeadlessFlowTest {
+
+    private static final String IDENTIFICATION =
+        "{\"hostedUrl\":\"https://example.org/hosted\",\"screen\":\"identification\"," +
+        "\"branding\":{\"logoUrl\":\"https://example.org/logo.png\"}," +
+        "\"layout\":{\"type\":\"vertical\",\"items\":[" +
+        "{\"type\":\"widget\",\"formId\":\"identifier\",\"widgetId\":\"identifier\"}," +
+        "{\"type\":\"widget\",\"formId\":\"identifier\",\"widgetId\":\"submit\"}]}," +
+        "\"forms\":[{\"id\":\"identifier\",\"type\":\"form\",\"widgets\":[" +
+        "{\"type\":\"input\",\"id\":\"identifier\",\"label\":\"Email\"}," +
+        "{\"type\":\"submit\",\"id\":\"submit\",\"label\":\"Continue\",\"render\":{\"type\":\"button\"}}]}]}";
+
+    private static final String MESSAGES =
+        "{\"hostedUrl\":\"https://example.org/hosted\"," +
+        "\"messages\":{\"global\":{\"type\":\"error\",\"text\":\"Try again\"}," +
+        "\"identifier\":{\"identifier\":{\"type\":\"error\",\"text\":\"Unknown user\"}}}}";
+
+    private static final String FINALIZE =
+        "{\"hostedUrl\":\"https://example.org/hosted\",\"finalizeUrl\":\"https://example.org/finalize\"}";
+
+    private static class FakeJourney implements HeadlessFlow.Journey {
+
+        final Deque<HttpClient.HttpResponse> responses = new ArrayDeque<>();
+        final List<String> requests = new ArrayList<>();
+        boolean completes = true;
+
+        void respond(int responseCode, String body) {
+            HttpClient.HttpResponse response = new HttpClient.HttpResponse();
+            response.setResponseCode(responseCode);
+            response.setBody(body);
+            responses.add(response);
+        }
+
+        @Override
+        public boolean start() {
+            requests.add("start");
+            return true;
+        }
+
+        @Override
+        public HttpClient.HttpResponse init() {
+            requests.add("init");
+            return responses.remove();
+        }
+
+        @Override
+        public HttpClient.HttpResponse submit(String formId, String requestBody) {
+            requests.add("submit " + formId + " " + requestBody);
+            return responses.remove();
+        }
+
+        @Override
+        public boolean complete(String finalizeUrl) {
+            requests.add("complete " + finalizeUrl);
+            return completes;
+        }
+    }
+
+    private static class FakeBrowserFallback implements BrowserFallback {
+
+        final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void warmUp() {
+            calls.add("warmUp");
+        }
+
+        @Override
+        public void mayLaunch(String url) {
+            calls.add("mayLaunch " + url);
+        }
+
+        @Override
+        public void launch(String url) {
+            calls.add("launch " + url);
+        }
+
+        @Override
+        public void release() {
+            calls.add("release");
+        }
+    }
+
+    private final FakeJourney journey = new FakeJourney();
+    private final FakeBrowserFallback browserFallback = new FakeBrowserFallback();
+    private final List<Screen> screens = new ArrayList<>();
+    private final List<Throwable> errors = new ArrayList<>();
+    private final HeadlessFlow flow = new HeadlessFlow(
+        journey,
+        Runnable::run,
+        Runnable::run,
+        screens::add,
+        errors::add,
+        browserFallback
+    );
+
+    @Test
+    public void emitsScreenModels() {
+        journey.respond(200, IDENTIFICATION);
+
+        flow.start();
+
+        assertEquals(1, screens.size());
+        Screen screen = screens.get(0);
+        assertEquals("identification", screen.getScreenId());
+        assertEquals("https://example.org/logo.png", screen.getBranding().getLogoUrl());
+        assertEquals(2, screen.getLayout().getItems().size());
+        assertEquals(
+            "identifier",
+            ((LayoutModel.WidgetReferenceModel) screen.getLayout().getItems().get(0)).getWidgetId()
+        );
+        assertEquals(2, screen.getForm("identifier").getWidgets().size());
+        assertNull(screen.getGlobalMessage());
+        assertEquals("https://example.org/hosted", flow.getFallbackUrl());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void keepsTheScreenForMessages() {
+        journey.respond(200, IDENTIFICATION);
+        journey.respond(200, MESSAGES);
+
+        flow.start();
+        flow.submit("identifier", new LinkedHashMap<>());
+
+        assertEquals(2, screens.size());
+        Screen screen = screens.get(1);
+        assertEquals("identification", screen.getScreenId());
+        assertEquals(screens.get(0).getForms(), screen.getForms());
+        assertEquals("Try again", screen.getGlobalMessage().getText());
+        assertEquals("Unknown user", screen.getMessage("identifier", "identifier").getText());
+        assertTrue(screen.getMessage("identifier", "identifier").isError());
+    }
+
+    @Test
+    public void submitsValueMaps() throws Exception {
+        journey.respond(200, IDENTIFICATION);
+        journey.respond(200, IDENTIFICATION);
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("identifier", "user@example.org");
+        values.put("attributes.address.city", "Budapest");
+        values.put("attributes.phone", "");
+        values.put("keepMeLoggedIn", true);
+        values.put("skipped", null);
+
+        flow.start();
+        flow.submit("identifier", values);
+
+        String request = journey.requests.get(2);
+        JSONObject body = new JSONObject(request.substring("submit identifier ".length()));
+        assertEquals("user@example.org", body.getString("identifier"));
+        assertEquals("Budapest", body.getJSONObject("attributes").getJSONObject("address").getString("city"));
+        assertTrue(body.getBoolean("keepMeLoggedIn"));
+        assertEquals(1, body.getJSONObject("attributes").length());
+        assertEquals(3, body.length());
+    }
+
+    @Test
+    public void completesAtTheFinalizeUrl() {
+        journey.respond(200, FINALIZE);
+
+        flow.start();
+
+        assertEquals("complete https://example.org/finalize", journey.requests.get(2));
+        assertTrue(screens.isEmpty());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void initializesAgainWhenTheJourneyContinues() {
+        journey.completes = false;
+        journey.respond(200, FINALIZE);
+        journey.respond(200, IDENTIFICATION);
+
+        flow.start();
+
+        assertEquals(4, journey.requests.size());
+        assertEquals("init", journey.requests.get(3));
+        assertEquals(1, screens.size());
+    }
+
+    @Test
+    public void reportsFailedRequests() {
+        journey.respond(500, "");
+
+        flow.start();
+
+        assertTrue(screens.isEmpty());
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    public void reportsRejectedRequests() {
+        HeadlessFlow rejecting = new HeadlessFlow(
+            journey,
+            task -> {
+                throw new RejectedExecutionException("Quota used up");
+            },
+            Runnable::run,
+            screens::add,
+            errors::add
+        );
+
+        rejecting.start();
+
+        assertTrue(journey.requests.isEmpty());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void stopsEmittingWhenCancelled() {
+        journey.respond(200, IDENTIFICATION);
+
+        flow.cancel();
+        flow.start();
+
+        assertTrue(screens.isEmpty());
+        assertTrue(journey.requests.isEmpty());
+    }
+
+    @Test
+    public void hintsTheFallbackUrlOfEveryScreen() {
+        journey.respond(200, IDENTIFICATION);
+        journey.respond(200, MESSAGES);
+
+        flow.start();
+        flow.submit("identifier", new LinkedHashMap<>());
+
+        assertEquals(2, browserFallback.calls.size());
+        assertEquals("mayLaunch https://example.org/hosted", browserFallback.calls.get(1));
+    }
+
+    @Test
+    public void launchesTheFallbackOfTheCurrentScreen() {
+        journey.respond(200, IDENTIFICATION);
+
+        flow.start();
+        flow.launchFallback();
+
+        assertEquals("launch https://example.org/hosted", browserFallback.calls.get(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void launchingTheFallbackNeedsAScreen() {
+        flow.launchFallback();
+    }
+}
@@ -0,0 +1,119 @@
+package com.strivacity.android.native_sdk.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.strivacity.android.native_sdk.util.JSON;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class RenderCapabilitiesTest {
+
+    private final RenderCapabilities capabilities = new RenderCapabilities();
+
+    @Test
+    public void acceptsSupportedScreens() {
+        assertNull(
+            capabilities.scan(
+                screen(
+                    "{\"type\":\"horizontal\",\"items\":[{\"type\":\"widget\"}]}",
+                    "{\"type\":\"input\",\"id\":\"identifier\",\"inputmode\":\"email\"}," +
+                    "{\"type\":\"password\",\"id\":\"password\"}," +
+                    "{\"type\":\"select\",\"id\":\"country\",\"render\":{\"type\":\"searchable\"},\"options\":[" +
+                    "{\"type\":\"group\",\"options\":[{\"type\":\"item\"}]}]}," +
+                    "{\"type\":\"submit\",\"id\":\"submit\",\"render\":{\"type\":\"button\"}}"
+                )
+            )
+        );
+    }
+
+    @Test
+    public void acceptsMessages() {
+        assertNull(capabilities.scan(json("{\"messages\":{\"global\":{\"type\":\"error\",\"text\":\"Try again\"}}}")));
+    }
+
+    @Test
+    public void reportsUnknownLayoutTypes() {
+        assertEquals(
+            new RenderCapabilities.Unsupported(RenderCapabilities.Kind.LAYOUT, null, "grid"),
+            capabilities.scan(screen("{\"type\":\"vertical\",\"items\":[{\"type\":\"grid\",\"items\":[]}]}", ""))
+        );
+    }
+
+    @Test
+    public void reportsUnknownWidgetTypes() {
+        assertEquals(
+            new RenderCapabilities.Unsupported(RenderCapabilities.Kind.WIDGET, "captcha", "captcha"),
+            capabilities.scan(screen(null, "{\"type\":\"captcha\",\"id\":\"captcha\"}"))
+        );
+    }
+
+    @Test
+    public void reportsUnknownAndMissingRenderTypes() {
+        assertEquals(
+            new RenderCapabilities.Unsupported(RenderCapabilities.Kind.RENDER_TYPE, "select", "chips"),
+            capabilities.scan(screen(null, "{\"type\":\"select\",\"id\":\"country\",\"render\":{\"type\":\"chips\"}}"))
+        );
+        assertEquals(
+            new RenderCapabilities.Unsupported(RenderCapabilities.Kind.RENDER_TYPE, "static", null),
+            capabilities.scan(screen(null, "{\"type\":\"static\",\"id\":\"title\",\"value\":\"Sign in\"}"))
+        );
+    }
+
+    @Test
+    public void reportsUnknownInputModes() {
+        assertEquals(
+            new RenderCapabilities.Unsupported(RenderCapabilities.Kind.INPUT_MODE, "input", "numeric"),
+            capabilities.scan(screen(null, "{\"type\":\"input\",\"id\":\"code\",\"inputmode\":\"numeric\"}"))
+        );
+    }
+
+    @Test
+    public void reportsUnknownNestedOptionTypes() {
+        assertEquals(
+            new RenderCapabilities.Unsupported(RenderCapabilities.Kind.OPTION, "multiSelect", "separator"),
+            capabilities.scan(
+                screen(
+                    null,
+                    "{\"type\":\"multiSelect\",\"id\":\"topics\",\"options\":[" +
+                    "{\"type\":\"group\",\"options\":[{\"type\":\"separator\"}]}]}"
+                )
+            )
+        );
+    }
+
+    @Test
+    public void acceptsRegisteredTypes() {
+        capabilities.supportRenderType("select", "chips");
+        capabilities.supportInputMode("numeric");
+
+        assertNull(
+            capabilities.scan(
+                screen(
+                    null,
+                    "{\"type\":\"select\",\"id\":\"country\",\"render\":{\"type\":\"chips\"}}," +
+                    "{\"type\":\"input\",\"id\":\"code\",\"inputmode\":\"numeric\"}"
+                )
+            )
+        );
+    }
+
+    private static JSON screen(String layout, String widgets) {
+        return json(
+            "{\"screen\":\"test\",\"layout\":" +
+            (layout == null ? "{\"type\":\"vertical\",\"items\":[]}" : layout) +
+            ",\"forms\":[{\"id\":\"form\",\"type\":\"form\",\"widgets\":[" +
+            widgets +
+            "]}]}"
+        );
+    }
+
+    private static JSON json(String body) {
+        try {
+            return new JSON(new JSONObject(body));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
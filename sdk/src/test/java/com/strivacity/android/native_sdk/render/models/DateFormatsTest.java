@@ -0,0 +1,80 @@
+package com.strivacity.android.native_sdk.render.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+
+public class DateFormatsTest {
+
+    @Test
+    public void cachesFormatsPerLocale() {
+        assertSame(DateFormats.of(Locale.US), DateFormats.of(Locale.US));
+        assertSame(DateFormats.of(Locale.US), DateFormats.of(new Locale("en", "US")));
+    }
+
+    @Test
+    public void resolvesFieldOrderOfLocale() {
+        assertEquals(
+            Arrays.asList(DateFormats.Field.MONTH, DateFormats.Field.DAY, DateFormats.Field.YEAR),
+            DateFormats.of(Locale.US).getFieldOrder()
+        );
+        assertEquals(
+            Arrays.asList(DateFormats.Field.DAY, DateFormats.Field.MONTH, DateFormats.Field.YEAR),
+            DateFormats.of(Locale.GERMANY).getFieldOrder()
+        );
+        assertEquals(
+            Arrays.asList(DateFormats.Field.YEAR, DateFormats.Field.MONTH, DateFormats.Field.DAY),
+            DateFormats.of(new Locale("hu", "HU")).getFieldOrder()
+        );
+    }
+
+    @Test
+    public void formatsWithShortPatternOfLocale() {
+        DateFormats formats = DateFormats.of(Locale.GERMANY);
+
+        assertEquals(formats.getFormatter().format(LocalDate.of(2024, 3, 7)), formats.format(2024, 3, 7));
+    }
+
+    @Test
+    public void encodesIsoDates() {
+        assertEquals("2024-03-07", DateFormats.toIsoDate(2024, 3, 7));
+        assertEquals("1999-12-31", DateFormats.toIsoDate(1999, 12, 31));
+    }
+
+    @Test
+    public void encodesDateInputs() {
+        assertEquals("2024-03-07", DateFormats.toIsoDate("2024", "3", "07"));
+        assertEquals("2024--", DateFormats.toIsoDate("2024", "", "7"));
+        assertEquals("--", DateFormats.toIsoDate("", "", "7"));
+        assertNull(DateFormats.toIsoDate("", "", ""));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void rejectsNonNumericDateInputs() {
+        DateFormats.toIsoDate("2024", "march", "7");
+    }
+
+    @Test
+    public void decodesIsoDates() {
+        assertEquals(LocalDate.of(2024, 3, 7), DateFormats.parseIsoDate("2024-03-07"));
+        assertEquals(LocalDate.of(2024, 3, 7), DateFormats.parseIsoDate("2024-3-7"));
+        assertEquals(LocalDate.of(2024, 2, 29), DateFormats.parseIsoDate("2024-02-29"));
+    }
+
+    @Test
+    public void rejectsInvalidIsoDates() {
+        assertNull(DateFormats.parseIsoDate(null));
+        assertNull(DateFormats.parseIsoDate(""));
+        assertNull(DateFormats.parseIsoDate("2024--"));
+        assertNull(DateFormats.parseIsoDate("2024-03"));
+        assertNull(DateFormats.parseIsoDate("2024-03-07T10:00"));
+        assertNull(DateFormats.parseIsoDate("2023-02-29"));
+        assertNull(DateFormats.parseIsoDate("2024-13-01"));
+    }
+}
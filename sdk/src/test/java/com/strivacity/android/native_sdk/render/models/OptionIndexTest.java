@@ -0,0 +1,78 @@
+package com.strivacity.android.native_sdk.render.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.strivacity.android.native_sdk.render.models.WidgetModel.SelectWidgetModel.Option;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+public class OptionIndexTest {
+
+    private static final List<Option> TREE = Arrays.asList(
+        new Option("item", "Hungary", "hu", null),
+        new Option(
+            "group",
+            "America",
+            null,
+            Arrays.asList(new Option("item", "Canada", "ca", null), new Option("item", "Mexico", "mx", null))
+        ),
+        new Option("item", "Japan", "jp", null)
+    );
+
+    @Test
+    public void flattensGroupsInDisplayOrder() {
+        OptionIndex<Option> index = index(TREE);
+
+        assertEquals(5, index.size());
+        assertTrue(index.hasGroups());
+        assertEquals("America", index.get(1).getLabel());
+        assertFalse(index.isItem(1));
+        assertEquals(2, index.indexOf("ca"));
+        assertEquals(4, index.indexOf("jp"));
+        assertEquals(-1, index.indexOf("xx"));
+        assertEquals(-1, index.indexOf(null));
+    }
+
+    @Test
+    public void tracksSelectionInDisplayOrder() {
+        OptionIndex<Option> index = index(TREE);
+
+        BitSet selection = index.selectionOf(Arrays.asList("jp", "unknown", "hu"));
+        assertEquals(Arrays.asList("hu", "jp"), index.valuesOf(selection));
+
+        selection.set(index.indexOf("mx"));
+        selection.clear(index.indexOf("hu"));
+        assertEquals(Arrays.asList("mx", "jp"), index.valuesOf(selection));
+    }
+
+    @Test
+    public void doesNotModifyTheModel() {
+        List<Option> tree = new ArrayList<>(TREE);
+        OptionIndex<Option> index = index(tree);
+
+        tree.clear();
+
+        assertEquals(5, index.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void optionsCannotBeModified() {
+        index(TREE).getOptions().add(0, new Option("item", "Label", null, null));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void rejectsUnknownOptionTypes() {
+        index(Arrays.asList(new Option("separator", null, null, null)));
+    }
+
+    private static OptionIndex<Option> index(List<Option> tree) {
+        return OptionIndex.of(tree, Option::getType, Option::getValue, Option::getOptions);
+    }
+}
@@ -0,0 +1,93 @@
+package com.strivacity.android.native_sdk.render.models;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class OptionSearchIndexTest {
+
+    private static final List<String> LABELS = Arrays.asList(
+        "Europe",
+        "Hungary",
+        "Åland Islands",
+        null,
+        "United States",
+        "Saint Lucia",
+        "Estonia",
+        "Mexico"
+    );
+
+    @Test
+    public void emptyQueryReturnsEverySearchablePosition() {
+        OptionSearchIndex index = new OptionSearchIndex(LABELS);
+
+        assertEquals(Arrays.asList(0, 1, 2, 4, 5, 6, 7), results(index, ""));
+        assertEquals(Arrays.asList(0, 1, 2, 4, 5, 6, 7), results(index, null));
+    }
+
+    @Test
+    public void ranksWordStartsFirst() {
+        OptionSearchIndex index = new OptionSearchIndex(LABELS);
+
+        // Both "united states" and "estonia" contain "st", only the first one at the start of a word
+        assertEquals(Arrays.asList(4, 6), results(index, "st"));
+        assertEquals(Arrays.asList(0, 6, 4, 7), results(index, "e"));
+        assertEquals(Arrays.asList(4), results(index, "sta"));
+    }
+
+    @Test
+    public void ignoresCaseAndDiacritics() {
+        OptionSearchIndex index = new OptionSearchIndex(LABELS);
+
+        assertEquals(Arrays.asList(2), results(index, "ALAND"));
+        assertEquals(Arrays.asList(2), results(index, "Åla"));
+    }
+
+    @Test
+    public void narrowingAndWideningMatchFreshSearches() {
+        List<String> labels = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            labels.add(i % 50 == 0 ? null : randomWords(random));
+        }
+
+        OptionSearchIndex incremental = new OptionSearchIndex(labels);
+        StringBuilder query = new StringBuilder();
+
+        for (int i = 0; i < 500; i++) {
+            if (query.length() > 0 && random.nextInt(3) == 0) {
+                query.setLength(random.nextInt(query.length()));
+            } else {
+                query.append(random.nextInt(5) == 0 ? ' ' : (char) ('a' + random.nextInt(4)));
+            }
+
+            assertEquals(results(new OptionSearchIndex(labels), query), results(incremental, query));
+        }
+    }
+
+    private static List<Integer> results(OptionSearchIndex index, CharSequence query) {
+        int count = index.search(query);
+
+        List<Integer> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(index.resultAt(i));
+        }
+
+        return results;
+    }
+
+    private static String randomWords(Random random) {
+        StringBuilder label = new StringBuilder();
+        int length = 3 + random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            label.append(i > 0 && random.nextInt(5) == 0 ? ' ' : (char) ('a' + random.nextInt(4)));
+        }
+
+        return label.toString();
+    }
+}
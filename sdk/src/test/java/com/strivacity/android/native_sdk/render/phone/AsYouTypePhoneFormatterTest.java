@@ -0,0 +1,105 @@
+package com.strivacity.android.native_sdk.render.phone;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class AsYouTypePhoneFormatterTest {
+
+    @Test
+    public void formatsInternationalNumbersWhileTyping() {
+        AsYouTypePhoneFormatter formatter = new AsYouTypePhoneFormatter("US");
+
+        assertEquals(
+            Arrays.asList(
+                "+",
+                "+3",
+                "+36",
+                "+36 2",
+                "+36 20",
+                "+36 20 1",
+                "+36 20 12",
+                "+36 20 123",
+                "+36 20 123 4",
+                "+36 20 123 45",
+                "+36 20 123 456",
+                "+36 20 123 4567"
+            ),
+            type(formatter, "+36201234567")
+        );
+    }
+
+    @Test
+    public void formatsNationalNumbersWithPrefix() {
+        AsYouTypePhoneFormatter formatter = new AsYouTypePhoneFormatter("HU");
+
+        assertEquals("06 20 123 4567", formatter.format("06201234567"));
+        assertEquals("20 123 4567", formatter.format("201234567"));
+        assertEquals("06 1 234 5678", formatter.format("0612345678"));
+        assertEquals("0", formatter.format("0"));
+        assertEquals("06", formatter.format("06"));
+    }
+
+    @Test
+    public void picksGroupingByLeadingDigits() {
+        AsYouTypePhoneFormatter formatter = new AsYouTypePhoneFormatter("GB");
+
+        assertEquals("+44 7700 900123", formatter.format("+447700900123"));
+        assertEquals("+44 20 7123 4567", formatter.format("+442071234567"));
+        assertEquals("020 7123 4567", formatter.format("02071234567"));
+        assertEquals("07700 900123", formatter.format("07700900123"));
+        assertEquals("1800 123 456", new AsYouTypePhoneFormatter("AU").format("1800123456"));
+        assertEquals("+852 800 123 456", new AsYouTypePhoneFormatter("HU").format("+852800123456"));
+    }
+
+    @Test
+    public void writesTrunkPrefixTogetherWithFirstGroup() {
+        assertEquals("06 12 34 56 78", new AsYouTypePhoneFormatter("FR").format("0612345678"));
+        assertEquals("030 12345678", new AsYouTypePhoneFormatter("DE").format("03012345678"));
+        assertEquals(
+            Arrays.asList("0", "02", "020", "020 7", "020 71"),
+            type(new AsYouTypePhoneFormatter("GB"), "02071")
+        );
+    }
+
+    @Test
+    public void keepsUnknownNumbersUnformatted() {
+        assertEquals("+2812345", new AsYouTypePhoneFormatter("HU").format("+2812345"));
+        assertEquals("201234567", new AsYouTypePhoneFormatter("ZZ").format("201234567"));
+        assertEquals("+234 1234567890", new AsYouTypePhoneFormatter("HU").format("+234 123 456 7890"));
+    }
+
+    @Test
+    public void typingMatchesFormattingFromScratch() {
+        Random random = new Random(42);
+        List<String> regions = Arrays.asList("US", "HU", "GB", "DE", "FR", "BR", "AU", "ZZ");
+
+        for (int run = 0; run < 500; run++) {
+            String region = regions.get(random.nextInt(regions.size()));
+            StringBuilder text = new StringBuilder(random.nextBoolean() ? "+" : "");
+            int length = 1 + random.nextInt(16);
+            for (int i = 0; i < length; i++) {
+                text.append((char) ('0' + random.nextInt(10)));
+            }
+
+            AsYouTypePhoneFormatter typing = new AsYouTypePhoneFormatter(region);
+            AsYouTypePhoneFormatter scratch = new AsYouTypePhoneFormatter(region);
+            for (int i = 0; i < text.length(); i++) {
+                assertEquals(scratch.format(text.subSequence(0, i + 1)), typing.inputDigit(text.charAt(i)));
+            }
+        }
+    }
+
+    private static List<String> type(AsYouTypePhoneFormatter formatter, String text) {
+        String[] outputs = new String[text.length()];
+        for (int i = 0; i < text.length(); i++) {
+            outputs[i] = formatter.inputDigit(text.charAt(i));
+        }
+
+        return Arrays.asList(outputs);
+    }
+}
@@ -0,0 +1,81 @@
+package com.strivacity.android.native_sdk.render.phone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class PhoneNumberTest {
+
+    @Test
+    public void normalizesInternationalNumbers() {
+        assertEquals("+36201234567", e164("+36 20 123 4567", null));
+        assertEquals("+36201234567", e164("0036 (20) 123-4567", "US"));
+        assertEquals("+16502530000", e164("+1 650-253-0000", "HU"));
+        assertEquals("+442071234567", e164("+44 (0)20 7123 4567", null));
+    }
+
+    @Test
+    public void normalizesNationalNumbersOfDefaultRegion() {
+        assertEquals("+36201234567", e164("06 20 123 4567", "HU"));
+        assertEquals("+36201234567", e164("20/123-4567", "hu"));
+        assertEquals("+16502530000", e164("(650) 253-0000", "US"));
+        assertEquals("+16502530000", e164("1 650 253 0000", "US"));
+        assertEquals("+74951234567", e164("8 495 123-45-67", "RU"));
+    }
+
+    @Test
+    public void acceptsNonGeographicNumbers() {
+        assertEquals("+611800123456", e164("1800 123 456", "AU"));
+        assertEquals("+61131234", e164("13 12 34", "AU"));
+        assertEquals("+852800123456", e164("+852 800 123 456", null));
+        assertEquals("+9118001234567", e164("1800 123 4567", "IN"));
+        assertEquals("+904441234", e164("444 12 34", "TR"));
+    }
+
+    @Test
+    public void acceptsTerritoriesWithoutRulesWithinE164Limits() {
+        assertEquals("+2341234567890", e164("+234 123 456 7890", null));
+    }
+
+    @Test
+    public void reportsWhyNumbersAreInvalid() {
+        assertSame(PhoneNumber.Error.NOT_A_NUMBER, error("call me", "HU"));
+        assertSame(PhoneNumber.Error.NOT_A_NUMBER, error("+", "HU"));
+        assertSame(PhoneNumber.Error.INVALID_COUNTRY_CODE, error("+28 1234 5678", "HU"));
+        assertSame(PhoneNumber.Error.UNKNOWN_REGION, error("20 123 4567", null));
+        assertSame(PhoneNumber.Error.TOO_SHORT, error("+36 20 123", null));
+        assertSame(PhoneNumber.Error.TOO_LONG, error("+36 20 123 45678", null));
+        assertSame(PhoneNumber.Error.TOO_LONG, error("+234 1234 5678 90123", null));
+    }
+
+    @Test
+    public void removesSeparators() {
+        assertEquals("+36201234567", PhoneNumber.removeSeparators("+36 20 123 4567"));
+        assertEquals("06201234567", PhoneNumber.removeSeparators("06 (20) 123-4567"));
+        assertEquals("callme", PhoneNumber.removeSeparators("call me"));
+    }
+
+    @Test
+    public void loadsTerritoriesLazily() {
+        PhoneMetadata metadata = PhoneMetadata.getInstance();
+
+        assertSame(metadata.territory(36), metadata.territoryOfRegion("HU"));
+        assertSame(metadata.territory(1), metadata.territoryOfRegion("CA"));
+        assertNull(metadata.territory(28));
+        assertNull(metadata.territoryOfRegion("ZZ"));
+    }
+
+    private static String e164(String text, String defaultRegion) {
+        PhoneNumber.ParseResult result = PhoneNumber.parse(text, defaultRegion);
+        assertNull(result.getError());
+        return result.getNumber().toE164();
+    }
+
+    private static PhoneNumber.Error error(String text, String defaultRegion) {
+        PhoneNumber.ParseResult result = PhoneNumber.parse(text, defaultRegion);
+        assertNull(result.getNumber());
+        return result.getError();
+    }
+}
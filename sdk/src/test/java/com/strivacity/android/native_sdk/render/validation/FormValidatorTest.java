@@ -0,0 +1,115 @@
+package com.strivacity.android.native_sdk.render.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.strivacity.android.native_sdk.R;
+import com.strivacity.android.native_sdk.render.models.FormModel;
+import com.strivacity.android.native_sdk.render.widgets.EditableWidget;
+import com.strivacity.android.native_sdk.render.widgets.Widget;
+import com.strivacity.android.native_sdk.util.JSON;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class FormValidatorTest {
+
+    private static final String FORM =
+        "{\"id\":\"profile\",\"type\":\"form\",\"widgets\":[" +
+        "{\"type\":\"input\",\"id\":\"name\",\"validator\":{\"required\":true}}," +
+        "{\"type\":\"input\",\"id\":\"nickname\"}," +
+        "{\"type\":\"input\",\"id\":\"code\",\"validator\":{\"minLength\":3}}," +
+        "{\"type\":\"passcode\",\"id\":\"otp\",\"validator\":{\"length\":6}}]}";
+
+    private static class FakeWidget extends EditableWidget {
+
+        final Object value;
+        String error;
+
+        FakeWidget(Object value) {
+            super(null, null);
+            this.value = value;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public void showError(String message) {
+            super.showError(message);
+            error = message;
+        }
+
+        @Override
+        public void clearError() {
+            super.clearError();
+            error = null;
+        }
+    }
+
+    private final FormValidator formValidator = new FormValidator(ValidatorsTest.MESSAGES, form());
+
+    @Test
+    public void focusesTheFirstInvalidWidgetOfTheForm() {
+        FakeWidget otp = new FakeWidget("123");
+        FakeWidget code = new FakeWidget("ab");
+        FakeWidget name = new FakeWidget("Jane");
+
+        // Widgets are kept in a map, the order of the form decides which one gets the focus
+        Map<String, Widget> widgets = new LinkedHashMap<>();
+        widgets.put("otp", otp);
+        widgets.put("code", code);
+        widgets.put("name", name);
+
+        assertSame(code, formValidator.validateAll(widgets));
+        assertNull(name.error);
+        assertEquals(ValidatorsTest.message(R.string.native_sdk_validation_min_length, 3), code.error);
+        assertEquals(ValidatorsTest.message(R.string.native_sdk_validation_passcode_length, 6), otp.error);
+    }
+
+    @Test
+    public void showsRequiredErrorsOnSubmit() {
+        FakeWidget name = new FakeWidget("");
+        Map<String, Widget> widgets = new LinkedHashMap<>();
+        widgets.put("name", name);
+
+        assertSame(name, formValidator.validateAll(widgets));
+        assertEquals(ValidatorsTest.message(R.string.native_sdk_validation_required), name.error);
+    }
+
+    @Test
+    public void clearsErrorsOnceValid() {
+        FakeWidget code = new FakeWidget("abc");
+        code.showError("previous error");
+        Map<String, Widget> widgets = new LinkedHashMap<>();
+        widgets.put("name", new FakeWidget("Jane"));
+        widgets.put("code", code);
+        widgets.put("otp", new FakeWidget("123456"));
+
+        assertNull(formValidator.validateAll(widgets));
+        assertNull(code.error);
+    }
+
+    @Test
+    public void onlyWidgetsWithValidatorsAreChecked() {
+        assertTrue(formValidator.hasValidator("name"));
+        assertFalse(formValidator.hasValidator("nickname"));
+    }
+
+    private static FormModel form() {
+        try {
+            return new FormModel(new JSON(new JSONObject(FORM)));
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
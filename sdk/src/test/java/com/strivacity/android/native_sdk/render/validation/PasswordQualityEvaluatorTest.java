@@ -0,0 +1,122 @@
+package com.strivacity.android.native_sdk.render.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.strivacity.android.native_sdk.render.models.WidgetModel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class PasswordQualityEvaluatorTest {
+
+    private static final String ALPHABET = "aAbB0123456789!?";
+
+    @Test
+    public void tracksRunsAndSequencesWhileTyping() {
+        PasswordQualityEvaluator evaluator = new PasswordQualityEvaluator(null);
+        StringBuilder text = new StringBuilder();
+
+        for (char c : "ab1234xxx9".toCharArray()) {
+            type(evaluator, text, c);
+        }
+
+        assertEquals(4, evaluator.getLongestNumericSequence());
+        assertEquals(3, evaluator.getLongestRepeatedRun());
+        assertTrue(evaluator.contains(CharacterClass.LOWERCASE));
+        assertTrue(evaluator.contains(CharacterClass.NUMERIC));
+        assertFalse(evaluator.contains(CharacterClass.UPPERCASE));
+
+        // Deleting back to "ab12" drops the longer run and sequence
+        for (int i = 0; i < 6; i++) {
+            backspace(evaluator, text);
+        }
+
+        assertEquals(2, evaluator.getLongestNumericSequence());
+        assertEquals(1, evaluator.getLongestRepeatedRun());
+    }
+
+    @Test
+    public void checksValidatorRules() {
+        PasswordQualityEvaluator evaluator = new PasswordQualityEvaluator(
+            new WidgetModel.PasswordWidgetModel.Validator(8, 3, 2, Arrays.asList("uppercase", "numeric"))
+        );
+
+        evaluator.reset("Passw0rd");
+        assertTrue(evaluator.satisfiesRules());
+
+        evaluator.reset("passw0rd");
+        assertFalse(evaluator.satisfiesRules());
+        assertEquals(1, evaluator.score());
+
+        evaluator.reset("Pass1234");
+        assertFalse(evaluator.satisfiesRules());
+
+        evaluator.reset("Passsw0rd");
+        assertFalse(evaluator.satisfiesRules());
+
+        evaluator.reset("Pw0rd");
+        assertFalse(evaluator.satisfiesRules());
+    }
+
+    @Test
+    public void scoresStrongerPasswordsHigher() {
+        PasswordQualityEvaluator evaluator = new PasswordQualityEvaluator(null);
+
+        evaluator.reset("");
+        assertEquals(0, evaluator.score());
+
+        evaluator.reset("abc");
+        assertEquals(1, evaluator.score());
+
+        evaluator.reset("Correct-Horse7");
+        assertEquals(PasswordQualityEvaluator.MAX_SCORE, evaluator.score());
+    }
+
+    @Test
+    public void randomEditsMatchFullScan() {
+        Random random = new Random(42);
+        PasswordQualityEvaluator evaluator = new PasswordQualityEvaluator(null);
+        StringBuilder text = new StringBuilder();
+
+        for (int i = 0; i < 5000; i++) {
+            int start = text.length() == 0 ? 0 : random.nextInt(text.length() + 1);
+            int before = random.nextInt(Math.min(3, text.length() - start) + 1);
+            int count = random.nextInt(4);
+
+            StringBuilder inserted = new StringBuilder();
+            for (int j = 0; j < count; j++) {
+                inserted.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+
+            text.replace(start, start + before, inserted.toString());
+            evaluator.onTextChanged(text, start, before, count);
+
+            assertEquals(text.length(), evaluator.length());
+            assertEquals(
+                Validators.PasswordValidator.longestRepeatedRun(text),
+                evaluator.getLongestRepeatedRun()
+            );
+            assertEquals(
+                Validators.PasswordValidator.longestNumericSequence(text),
+                evaluator.getLongestNumericSequence()
+            );
+            for (CharacterClass characterClass : CharacterClass.values()) {
+                assertEquals(characterClass.containedIn(text), evaluator.contains(characterClass));
+            }
+        }
+    }
+
+    private static void type(PasswordQualityEvaluator evaluator, StringBuilder text, char c) {
+        text.append(c);
+        evaluator.onTextChanged(text, text.length() - 1, 0, 1);
+    }
+
+    private static void backspace(PasswordQualityEvaluator evaluator, StringBuilder text) {
+        text.deleteCharAt(text.length() - 1);
+        evaluator.onTextChanged(text, text.length(), 1, 0);
+    }
+}
@@ -0,0 +1,135 @@
+package com.strivacity.android.native_sdk.render.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.strivacity.android.native_sdk.R;
+import com.strivacity.android.native_sdk.render.models.WidgetModel;
+import com.strivacity.android.native_sdk.util.JSON;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ValidatorsTest {
+
+    static final ValidationMessages MESSAGES = (id, formatArgs) -> id + Arrays.toString(formatArgs);
+
+    @Test
+    public void requiredInputRejectsEmptyValues() {
+        WidgetValidator validator = compile("{\"type\":\"input\",\"id\":\"name\",\"validator\":{\"required\":true}}");
+
+        assertEquals(message(R.string.native_sdk_validation_required), validator.validate(null));
+        assertEquals(message(R.string.native_sdk_validation_required), validator.validate(""));
+        assertNull(validator.validate("Jane"));
+    }
+
+    @Test
+    public void optionalInputAcceptsEmptyValues() {
+        WidgetValidator validator = compile("{\"type\":\"input\",\"id\":\"name\",\"validator\":{\"minLength\":3}}");
+
+        assertNull(validator.validate(""));
+        assertEquals(message(R.string.native_sdk_validation_min_length, 3), validator.validate("ab"));
+    }
+
+    @Test
+    public void checksInputLength() {
+        WidgetValidator validator = compile(
+            "{\"type\":\"input\",\"id\":\"code\",\"validator\":{\"minLength\":2,\"maxLength\":4}}"
+        );
+
+        assertEquals(message(R.string.native_sdk_validation_min_length, 2), validator.validate("a"));
+        assertNull(validator.validate("ab"));
+        assertNull(validator.validate("abcd"));
+        assertEquals(message(R.string.native_sdk_validation_max_length, 4), validator.validate("abcde"));
+    }
+
+    @Test
+    public void checksInputPattern() {
+        WidgetValidator validator = compile(
+            "{\"type\":\"input\",\"id\":\"code\",\"validator\":{\"regexp\":\"^[a-z]+$\"}}"
+        );
+
+        assertNull(validator.validate("abc"));
+        assertEquals(message(R.string.native_sdk_validation_pattern), validator.validate("abc1"));
+    }
+
+    @Test
+    public void leavesInvalidPatternsToTheServer() {
+        WidgetValidator validator = compile("{\"type\":\"input\",\"id\":\"code\",\"validator\":{\"regexp\":\"[a-\"}}");
+
+        assertNull(validator.validate("anything"));
+    }
+
+    @Test
+    public void checksMultiSelectCount() {
+        WidgetValidator validator = compile(
+            "{\"type\":\"multiSelect\",\"id\":\"topics\",\"validator\":{\"minSelectable\":1,\"maxSelectable\":2}}"
+        );
+
+        assertEquals(
+            message(R.string.native_sdk_validation_min_selectable, 1),
+            validator.validate(Collections.emptyList())
+        );
+        assertNull(validator.validate(Arrays.asList("a", "b")));
+        assertEquals(
+            message(R.string.native_sdk_validation_max_selectable, 2),
+            validator.validate(Arrays.asList("a", "b", "c"))
+        );
+    }
+
+    @Test
+    public void checksPasscodeLength() {
+        WidgetValidator validator = compile("{\"type\":\"passcode\",\"id\":\"otp\",\"validator\":{\"length\":6}}");
+
+        assertEquals(message(R.string.native_sdk_validation_passcode_length, 6), validator.validate("12345"));
+        assertEquals(message(R.string.native_sdk_validation_passcode_length, 6), validator.validate(null));
+        assertNull(validator.validate("123456"));
+    }
+
+    @Test
+    public void requiredCheckboxMustBeChecked() {
+        WidgetValidator validator = compile(
+            "{\"type\":\"checkbox\",\"id\":\"terms\",\"validator\":{\"required\":true}," +
+            "\"render\":{\"type\":\"checkboxShown\"}}"
+        );
+
+        assertEquals(message(R.string.native_sdk_validation_required), validator.validate(false));
+        assertNull(validator.validate(true));
+    }
+
+    @Test
+    public void checksPhoneNumbersWhenTheServerAsksForIt() {
+        WidgetValidator validator = compile("{\"type\":\"phone\",\"id\":\"phone\",\"validator\":{\"required\":true}}");
+
+        assertEquals(message(R.string.native_sdk_validation_required), validator.validate(""));
+        assertEquals(message(R.string.native_sdk_validation_phone_too_short), validator.validate("+36 20 12"));
+        assertNull(validator.validate("+36 20 123 4567"));
+    }
+
+    @Test
+    public void widgetsWithoutValidatorsAreNotCompiled() {
+        assertNull(compile("{\"type\":\"input\",\"id\":\"name\"}"));
+        assertNull(compile("{\"type\":\"phone\",\"id\":\"phone\"}"));
+        assertNull(compile("{\"type\":\"passcode\",\"id\":\"otp\",\"validator\":{}}"));
+    }
+
+    static String message(int id, Object... formatArgs) {
+        return MESSAGES.get(id, formatArgs);
+    }
+
+    static WidgetModel widget(String json) {
+        try {
+            return WidgetModel.fromJson(new JSON(new JSONObject(json)));
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static WidgetValidator compile(String json) {
+        return Validators.compile(MESSAGES, widget(json));
+    }
+}
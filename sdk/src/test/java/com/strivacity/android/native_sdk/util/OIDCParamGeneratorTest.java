@@ -0,0 +1,48 @@
+package com.strivacity.android.native_sdk.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Set;
+
+public class OIDCParamGeneratorTest {
+
+    @Test
+    public void codeChallengeMatchesRfc7636Example() throws NoSuchAlgorithmException {
+        Assert.assertEquals(
+            "E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM",
+            OIDCParamGenerator.generateCodeChallenge("dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk")
+        );
+    }
+
+    @Test
+    public void codeChallengeIsTheSameOnEveryCall() throws NoSuchAlgorithmException {
+        String first = OIDCParamGenerator.generateCodeChallenge("verifier");
+        OIDCParamGenerator.generateCodeChallenge("another verifier");
+
+        Assert.assertEquals(first, OIDCParamGenerator.generateCodeChallenge("verifier"));
+    }
+
+    @Test
+    public void randomStringIsUnpaddedBase64Url() {
+        for (int i = 0; i < 100; i++) {
+            String verifier = OIDCParamGenerator.generateRandomString(32);
+            Assert.assertEquals(43, verifier.length());
+            Assert.assertTrue(verifier, verifier.matches("[A-Za-z0-9_-]+"));
+
+            Assert.assertEquals(22, OIDCParamGenerator.generateRandomString(16).length());
+        }
+    }
+
+    @Test
+    public void randomStringsDiffer() {
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(OIDCParamGenerator.generateRandomString(16));
+        }
+
+        Assert.assertEquals(100, values.size());
+    }
+}
@@ -0,0 +1,201 @@
+package com.strivacity.android.native_sdk.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class TaskSchedulerTest {
+
+    private final TaskScheduler scheduler = new TaskScheduler();
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void blockedBackgroundLaneDoesNotDelayInteractiveLane() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch interactiveDone = new CountDownLatch(1);
+
+        scheduler.execute(TaskScheduler.Lane.BACKGROUND, () -> await(release));
+        scheduler.execute(TaskScheduler.Lane.INTERACTIVE, interactiveDone::countDown);
+
+        assertTrue(interactiveDone.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void runsTasksOfASerialExecutorInOrder() throws Exception {
+        TaskScheduler.SerialExecutor first = scheduler.serialExecutor(TaskScheduler.Lane.INTERACTIVE, 1000);
+        TaskScheduler.SerialExecutor second = scheduler.serialExecutor(TaskScheduler.Lane.INTERACTIVE, 1000);
+        List<Integer> firstOrder = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> secondOrder = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 500; i++) {
+            int task = i;
+            first.execute(() -> firstOrder.add(task));
+            second.execute(() -> secondOrder.add(task));
+        }
+
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, (int) firstOrder.get(i));
+            assertEquals(i, (int) secondOrder.get(i));
+        }
+        assertEquals(0, scheduler.getMetrics(TaskScheduler.Lane.INTERACTIVE).getQueueDepth());
+    }
+
+    @Test
+    public void serialExecutorsTakeTurns() throws Exception {
+        TaskScheduler.SerialExecutor busy = scheduler.serialExecutor(TaskScheduler.Lane.BACKGROUND, 100);
+        TaskScheduler.SerialExecutor other = scheduler.serialExecutor(TaskScheduler.Lane.BACKGROUND, 100);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+
+        busy.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        busy.execute(() -> order.add("busy"));
+        busy.execute(() -> order.add("busy"));
+        other.execute(() -> order.add("other"));
+        busy.execute(done::countDown);
+        busy.execute(done::countDown);
+        other.execute(done::countDown);
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("other", order.get(0));
+        assertEquals("busy", order.get(1));
+        assertEquals("busy", order.get(2));
+    }
+
+    @Test
+    public void rejectsTasksOverTheQuota() throws Exception {
+        TaskScheduler.SerialExecutor executor = scheduler.serialExecutor(TaskScheduler.Lane.BACKGROUND, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> {});
+        executor.execute(() -> {});
+
+        try {
+            executor.execute(() -> {});
+            fail();
+        } catch (RejectedExecutionException expected) {} finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void boundsTheQueueOfTheIoLane() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            scheduler.execute(TaskScheduler.Lane.IO, () -> {
+                started.countDown();
+                await(release);
+            });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < TaskScheduler.IO_QUEUE_CAPACITY; i++) {
+            scheduler.execute(TaskScheduler.Lane.IO, () -> {});
+        }
+
+        try {
+            scheduler.execute(TaskScheduler.Lane.IO, () -> {});
+            fail();
+        } catch (RejectedExecutionException expected) {
+            assertEquals(TaskScheduler.IO_QUEUE_CAPACITY, scheduler.getMetrics(TaskScheduler.Lane.IO).getQueueDepth());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void runsWaitingTasksOfASerialExecutorAfterShutdown() throws Exception {
+        TaskScheduler.SerialExecutor executor = scheduler.serialExecutor(TaskScheduler.Lane.BACKGROUND, 100);
+        List<Integer> done = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        for (int i = 0; i < 10; i++) {
+            int task = i;
+            executor.execute(() -> done.add(task));
+        }
+
+        executor.shutdown();
+        scheduler.shutdown();
+        release.countDown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(10, done.size());
+        assertEquals(0, scheduler.getMetrics(TaskScheduler.Lane.BACKGROUND).getQueueDepth());
+    }
+
+    @Test
+    public void countsQueuedAndCompletedTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        scheduler.execute(TaskScheduler.Lane.BACKGROUND, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        scheduler.execute(TaskScheduler.Lane.BACKGROUND, () -> {});
+        scheduler.execute(TaskScheduler.Lane.BACKGROUND, () -> {});
+
+        TaskScheduler.Metrics metrics = scheduler.getMetrics(TaskScheduler.Lane.BACKGROUND);
+        assertEquals(TaskScheduler.Lane.BACKGROUND, metrics.getLane());
+        assertEquals(2, metrics.getQueueDepth());
+        assertEquals(2, metrics.getPeakQueueDepth());
+
+        release.countDown();
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+
+        metrics = scheduler.getMetrics(TaskScheduler.Lane.BACKGROUND);
+        assertEquals(0, metrics.getQueueDepth());
+        assertEquals(2, metrics.getPeakQueueDepth());
+        assertEquals(3, metrics.getCompletedTasks());
+    }
+
+    @Test
+    public void rejectsTasksAfterShutdown() {
+        scheduler.shutdown();
+        assertTrue(scheduler.isShutdown());
+
+        try {
+            scheduler.execute(TaskScheduler.Lane.IO, () -> {});
+            fail();
+        } catch (RejectedExecutionException expected) {}
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}